@@ -0,0 +1,93 @@
+package console;
+
+import org.fisco.bcos.sdk.v3.client.Client;
+import org.fisco.bcos.sdk.v3.contract.precompiled.bfs.BFSService;
+import org.fisco.bcos.sdk.v3.contract.precompiled.consensus.ConsensusService;
+import org.fisco.bcos.sdk.v3.contract.precompiled.crud.KVTableService;
+import org.fisco.bcos.sdk.v3.contract.precompiled.crud.TableCRUDService;
+import org.fisco.bcos.sdk.v3.contract.precompiled.sysconfig.SystemConfigService;
+import org.fisco.bcos.sdk.v3.crypto.keypair.CryptoKeyPair;
+import org.fisco.bcos.sdk.v3.transaction.manager.AssembleTransactionProcessor;
+import org.fisco.bcos.sdk.v3.transaction.manager.TransactionProcessorFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The SDK services of a client and the account loaded when it is created. The services are built
+ * on first use and shared by the command implementations, a new instance is needed after switching
+ * the group or loading another account.
+ */
+public class ClientServices {
+    private static final Logger logger = LoggerFactory.getLogger(ClientServices.class);
+
+    private final Client client;
+    private final CryptoKeyPair cryptoKeyPair;
+    private AssembleTransactionProcessor assembleTransactionProcessor;
+    private BFSService bfsService;
+    private ConsensusService consensusService;
+    private SystemConfigService systemConfigService;
+    private TableCRUDService tableCRUDService;
+    private KVTableService kvTableService;
+
+    public ClientServices(Client client) {
+        this.client = client;
+        this.cryptoKeyPair = client.getCryptoSuite().getCryptoKeyPair();
+    }
+
+    public Client getClient() {
+        return client;
+    }
+
+    public CryptoKeyPair getCryptoKeyPair() {
+        return cryptoKeyPair;
+    }
+
+    public synchronized AssembleTransactionProcessor getAssembleTransactionProcessor() {
+        if (assembleTransactionProcessor == null) {
+            long startTime = System.currentTimeMillis();
+            assembleTransactionProcessor =
+                    TransactionProcessorFactory.createAssembleTransactionProcessor(
+                            client, cryptoKeyPair);
+            logger.debug(
+                    "create the transaction processor of group {}, cost: {}ms",
+                    client.getGroup(),
+                    System.currentTimeMillis() - startTime);
+        }
+        return assembleTransactionProcessor;
+    }
+
+    public synchronized BFSService getBfsService() {
+        if (bfsService == null) {
+            bfsService = new BFSService(client, cryptoKeyPair);
+        }
+        return bfsService;
+    }
+
+    public synchronized ConsensusService getConsensusService() {
+        if (consensusService == null) {
+            consensusService = new ConsensusService(client, cryptoKeyPair);
+        }
+        return consensusService;
+    }
+
+    public synchronized SystemConfigService getSystemConfigService() {
+        if (systemConfigService == null) {
+            systemConfigService = new SystemConfigService(client, cryptoKeyPair);
+        }
+        return systemConfigService;
+    }
+
+    public synchronized TableCRUDService getTableCRUDService() {
+        if (tableCRUDService == null) {
+            tableCRUDService = new TableCRUDService(client, cryptoKeyPair);
+        }
+        return tableCRUDService;
+    }
+
+    public synchronized KVTableService getKvTableService() {
+        if (kvTableService == null) {
+            kvTableService = new KVTableService(client, cryptoKeyPair);
+        }
+        return kvTableService;
+    }
+}
@@ -4,10 +4,13 @@ import console.command.JlineUtils;
 import console.command.SupportedCommand;
 import console.command.model.CommandInfo;
 import console.command.model.WelcomeInfo;
+import console.common.ConsoleOutput;
 import console.common.ConsoleUtils;
 import java.io.IOException;
 import java.lang.reflect.InvocationTargetException;
+import java.util.Arrays;
 import java.util.Scanner;
+import org.fisco.bcos.sdk.v3.client.Client;
 import org.fisco.bcos.sdk.v3.client.exceptions.ClientException;
 import org.fisco.bcos.sdk.v3.crypto.exceptions.SignatureException;
 import org.fisco.bcos.sdk.v3.model.CryptoType;
@@ -26,6 +29,8 @@ public class Console {
     private static final Logger logger = LoggerFactory.getLogger(Console.class);
 
     public static int INPUT_FLAG = 0;
+    // "@group command" runs the command against another group without switching to it
+    public static final String GROUP_PREFIX = "@";
 
     public static LineReader createLineReader(ConsoleInitializer consoleInitializer)
             throws IOException {
@@ -44,7 +49,9 @@ public class Console {
         try {
             consoleInitializer = new ConsoleInitializer();
             consoleInitializer.init(args);
+            long startTime = System.currentTimeMillis();
             lineReader = createLineReader(consoleInitializer);
+            consoleInitializer.recordStartupPhase("line reader", startTime);
             sc = new Scanner(System.in);
             if (!consoleInitializer.isDisableAutoCompleter() && lineReader != null) {
                 KeyMap<Binding> keymap = lineReader.getKeyMaps().get(LineReader.MAIN);
@@ -58,13 +65,12 @@ public class Console {
         }
 
         WelcomeInfo.welcome();
+        consoleInitializer.logStartupTiming();
         String pwd = consoleInitializer.getPrecompiledFace().getPwd();
-        SupportedCommand.setIsAuthOpen(
-                consoleInitializer.getClient().isAuthCheck()
-                        && !consoleInitializer.getClient().isWASM());
-        SupportedCommand.setIsWasm(consoleInitializer.getClient().isWASM());
+        setCommandFlags(consoleInitializer.getClient());
 
         while (true) {
+            GroupContext previousContext = null;
             try {
                 if (lineReader == null && !consoleInitializer.isDisableAutoCompleter()) {
                     System.out.println("Console can not read commands.");
@@ -89,6 +95,7 @@ public class Console {
                     sc = new Scanner(System.in);
                     request = sc.nextLine();
                 }
+                ConsoleOutput.begin();
                 String[] params;
                 params = ConsoleUtils.tokenizeCommand(request);
                 if (params.length < 1) {
@@ -97,22 +104,46 @@ public class Console {
                 if ("".equals(params[0].trim())) {
                     continue;
                 }
+                String commandPwd = pwd;
+                if (params[0].startsWith(GROUP_PREFIX)) {
+                    String group = params[0].substring(GROUP_PREFIX.length());
+                    if (params.length < 2) {
+                        System.out.println("Please provide the command to run in group " + group);
+                        continue;
+                    }
+                    GroupContext groupContext = consoleInitializer.getGroupContext(group);
+                    if (groupContext == null) {
+                        System.out.println("Group " + group + " doesn't exist!");
+                        continue;
+                    }
+                    request = request.trim().substring(params[0].length()).trim();
+                    params = Arrays.copyOfRange(params, 1, params.length);
+                    previousContext = consoleInitializer.getCurrentGroupContext();
+                    consoleInitializer.setCurrentGroupContext(groupContext);
+                    setCommandFlags(groupContext.getClient());
+                    commandPwd = consoleInitializer.getPrecompiledFace().getPwd();
+                }
                 // execute the command
                 CommandInfo commandInfo =
                         SupportedCommand.getCommandInfo(
                                 params[0],
                                 consoleInitializer.getClient().isWASM(),
                                 consoleInitializer.getClient().isAuthCheck());
+                if (commandInfo == SupportedCommand.SWITCH && previousContext != null) {
+                    System.out.println("Can not switch group with the " + GROUP_PREFIX + "group.");
+                    continue;
+                }
                 if (commandInfo != null) {
                     if (SupportedCommand.CRUD_COMMANDS.contains(params[0])) {
                         String[] inputParamString = new String[1];
                         inputParamString[0] = request;
                         commandInfo.callCommand(consoleInitializer, inputParamString, null);
                     } else if (SupportedCommand.BFS_COMMANDS.contains(params[0])) {
-                        commandInfo.callCommand(consoleInitializer, params, pwd);
-                        if (commandInfo
-                                .getCommand()
-                                .equals(SupportedCommand.CHANGE_DIR.getCommand())) {
+                        commandInfo.callCommand(consoleInitializer, params, commandPwd);
+                        if (previousContext == null
+                                && commandInfo
+                                        .getCommand()
+                                        .equals(SupportedCommand.CHANGE_DIR.getCommand())) {
                             pwd = consoleInitializer.getPrecompiledFace().getPwd();
                             JlineUtils.switchPwd(pwd);
                         }
@@ -130,15 +161,16 @@ public class Console {
                         }
 
                         String cmd = commandInfo.getCommand();
-                        commandInfo.callCommand(consoleInitializer, paramWithoutQuotation, pwd);
+                        commandInfo.callCommand(
+                                consoleInitializer, paramWithoutQuotation, commandPwd);
 
                         if (cmd.equals(SupportedCommand.SWITCH.getCommand())) {
                             // update the client when switch group
                             JlineUtils.switchGroup(consoleInitializer.getClient());
-                            SupportedCommand.setIsAuthOpen(
-                                    consoleInitializer.getClient().isAuthCheck()
-                                            && !consoleInitializer.getClient().isWASM());
-                            SupportedCommand.setIsWasm(consoleInitializer.getClient().isWASM());
+                            setCommandFlags(consoleInitializer.getClient());
+                            // the pooled group keeps its current directory
+                            pwd = consoleInitializer.getPrecompiledFace().getPwd();
+                            JlineUtils.switchPwd(pwd);
                         }
                     }
                 } else {
@@ -149,24 +181,10 @@ public class Console {
                 if (e.getErrorMessage() != null) {
                     errorMessage = e.getErrorMessage();
                 }
-                ConsoleUtils.printJson(
-                        "{\"code\":"
-                                + e.getErrorCode()
-                                + ", \"msg\":"
-                                + "\""
-                                + errorMessage
-                                + "\"}");
-                System.out.println();
+                ConsoleOutput.printError(e.getErrorCode(), errorMessage);
                 logger.error("ClientException, e: ", e);
             } catch (ContractException e) {
-                ConsoleUtils.printJson(
-                        "{\"code\":"
-                                + e.getErrorCode()
-                                + ", \"msg\":"
-                                + "\""
-                                + e.getMessage()
-                                + "\"}");
-                System.out.println();
+                ConsoleOutput.printError(e.getErrorCode(), e.getMessage());
                 logger.error("ContractException, e: ", e);
             } catch (SignatureException e) {
                 System.out.println("\nSignatureException for " + e.getMessage());
@@ -206,10 +224,22 @@ public class Console {
                 logger.error("EndOfFileException, e:", e);
                 break;
             } catch (Exception e) {
+                ConsoleOutput.error(null, e.getMessage());
                 System.out.println(e.getMessage());
                 System.out.println();
                 logger.error("Exception, e:", e);
+            } finally {
+                ConsoleOutput.end();
+                if (previousContext != null) {
+                    consoleInitializer.setCurrentGroupContext(previousContext);
+                    setCommandFlags(previousContext.getClient());
+                }
             }
         }
     }
+
+    private static void setCommandFlags(Client client) {
+        SupportedCommand.setIsAuthOpen(client.isAuthCheck() && !client.isWASM());
+        SupportedCommand.setIsWasm(client.isWASM());
+    }
 }
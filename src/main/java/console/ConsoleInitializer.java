@@ -1,23 +1,24 @@
 package console;
 
 import console.auth.AuthFace;
-import console.auth.AuthImpl;
 import console.client.ConsoleClientFace;
-import console.client.ConsoleClientImpl;
 import console.collaboration.CollaborationFace;
-import console.collaboration.CollaborationImpl;
+import console.common.ConsoleOutput;
 import console.common.ConsoleUtils;
 import console.contract.ConsoleContractFace;
-import console.contract.ConsoleContractImpl;
 import console.precompiled.PrecompiledFace;
-import console.precompiled.PrecompiledImpl;
+import console.precompiled.model.TableSchemaCache;
 import java.io.Console;
 import java.io.File;
 import java.net.URL;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 import org.fisco.bcos.sdk.v3.BcosSDK;
 import org.fisco.bcos.sdk.v3.client.Client;
+import org.fisco.bcos.sdk.v3.config.Config;
 import org.fisco.bcos.sdk.v3.config.ConfigOption;
 import org.fisco.bcos.sdk.v3.config.exceptions.ConfigException;
 import org.fisco.bcos.sdk.v3.crypto.CryptoSuite;
@@ -34,14 +35,15 @@ public class ConsoleInitializer {
     public static final String ACCOUNT_DIR1 = "accounts/";
     public static final String ACCOUNT_DIR2 = "./accounts/";
 
+    public static final String STARTUP_TIMING_PROPERTY = "console.startup.timing";
+
     private BcosSDK bcosSDK;
-    private Client client;
-    private ConsoleClientFace consoleClientFace;
-    private PrecompiledFace precompiledFace;
-    private ConsoleContractFace consoleContractFace;
-    private AuthFace authFace;
-    private CollaborationFace collaborationFace;
+    // the context of the current group
+    private GroupContext groupContext;
+    // the contexts of the groups switched to before, reused when switching back
+    private final Map<String, GroupContext> groupContexts = new ConcurrentHashMap<>();
     private boolean disableAutoCompleter = false;
+    private final Map<String, Long> startupTimings = new LinkedHashMap<>();
 
     public void init(String[] args) throws ConfigException {
         AccountInfo accountInfo = null;
@@ -57,12 +59,35 @@ public class ConsoleInitializer {
         }
 
         accountInfo = loadConfig(args);
-        loadAccountInfo(accountInfo, groupID);
-        this.consoleClientFace = new ConsoleClientImpl(client);
-        this.precompiledFace = new PrecompiledImpl(client);
-        this.consoleContractFace = new ConsoleContractImpl(client);
-        this.collaborationFace = new CollaborationImpl(client);
-        this.authFace = new AuthImpl(client);
+        Client client = loadAccountInfo(accountInfo, groupID);
+        long startTime = System.currentTimeMillis();
+        this.groupContext = new GroupContext(client);
+        groupContexts.put(client.getGroup(), groupContext);
+        recordStartupPhase("service construction", startTime);
+    }
+
+    /** record the cost of a startup phase which starts at startTime */
+    public void recordStartupPhase(String phase, long startTime) {
+        startupTimings.put(phase, System.currentTimeMillis() - startTime);
+    }
+
+    /**
+     * log the cost of the startup phases, and print them if the system property {@link
+     * #STARTUP_TIMING_PROPERTY} is true
+     */
+    public void logStartupTiming() {
+        long total = 0;
+        StringBuilder timing = new StringBuilder("startup timing:");
+        for (Map.Entry<String, Long> phase : startupTimings.entrySet()) {
+            timing.append(" ").append(phase.getKey()).append(": ");
+            timing.append(phase.getValue()).append("ms,");
+            total += phase.getValue();
+        }
+        timing.append(" total: ").append(total).append("ms");
+        logger.info(timing.toString());
+        if (Boolean.getBoolean(STARTUP_TIMING_PROPERTY)) {
+            System.out.println(timing);
+        }
     }
 
     private class AccountInfo {
@@ -114,8 +139,12 @@ public class ConsoleInitializer {
                                 + ".");
             }
             String configFile = configUrl.getPath();
-            bcosSDK = BcosSDK.build(configFile);
-            ConfigOption config = bcosSDK.getConfig();
+            long startTime = System.currentTimeMillis();
+            ConfigOption config = Config.load(configFile);
+            recordStartupPhase("config load", startTime);
+            startTime = System.currentTimeMillis();
+            bcosSDK = new BcosSDK(config);
+            recordStartupPhase("SDK init", startTime);
             List<String> peers = config.getNetworkConfig().getPeers();
             if (peers.isEmpty()) {
                 System.out.println(
@@ -136,12 +165,16 @@ public class ConsoleInitializer {
         return null;
     }
 
-    private void loadAccountInfo(AccountInfo accountInfo, String groupID) {
+    private Client loadAccountInfo(AccountInfo accountInfo, String groupID) {
+        Client client = null;
         try {
-            this.client = groupID == null ? bcosSDK.getClient() : bcosSDK.getClient(groupID);
+            long startTime = System.currentTimeMillis();
+            // connect to the nodes and fetch the group info
+            client = groupID == null ? bcosSDK.getClient() : bcosSDK.getClient(groupID);
+            recordStartupPhase("handshake", startTime);
+            startTime = System.currentTimeMillis();
             if (accountInfo != null) {
-                this.client
-                        .getCryptoSuite()
+                client.getCryptoSuite()
                         .loadAccount(
                                 accountInfo.accountFileFormat,
                                 accountInfo.accountFile,
@@ -152,8 +185,7 @@ public class ConsoleInitializer {
                     .isAccountConfigured()) {
                 accountInfo = loadAccountRandomly(bcosSDK, client);
                 if (accountInfo != null) {
-                    this.client
-                            .getCryptoSuite()
+                    client.getCryptoSuite()
                             .loadAccount(
                                     accountInfo.accountFileFormat,
                                     accountInfo.accountFile,
@@ -164,6 +196,7 @@ public class ConsoleInitializer {
                     client.getCryptoSuite().getCryptoKeyPair().storeKeyPairWithPemFormat();
                 }
             }
+            recordStartupPhase("account load", startTime);
         } catch (LoadKeyStoreException e) {
             logger.warn(
                     "loadAccountRandomly failed, try to generate and load the random account, error info: {}",
@@ -176,6 +209,7 @@ public class ConsoleInitializer {
             logger.error(" message: {}, e: {}", e.getMessage(), e);
             System.exit(0);
         }
+        return client;
     }
 
     private AccountInfo loadAccountRandomly(BcosSDK bcosSDK, Client client) {
@@ -242,23 +276,14 @@ public class ConsoleInitializer {
     public void switchGroup(String[] params) {
         String group = params[1];
         try {
-            Integer cryptoType = client.getCryptoType();
-            CryptoKeyPair cryptoKeyPair = this.client.getCryptoSuite().getCryptoKeyPair();
-            this.client = bcosSDK.getClient(group);
-            if (this.client == null) {
+            GroupContext context = getGroupContext(group);
+            if (context == null) {
                 System.out.println("Switch to the group " + group + " failed");
                 System.exit(0);
             }
-            if (Objects.equals(client.getCryptoType(), cryptoType)) {
-                // switch group will change crypto type
-                // if same crypto type, then load the original account
-                this.client.getCryptoSuite().setCryptoKeyPair(cryptoKeyPair);
-            }
-            this.consoleClientFace = new ConsoleClientImpl(client);
-            this.precompiledFace = new PrecompiledImpl(client);
-            this.consoleContractFace = new ConsoleContractImpl(client);
-            this.collaborationFace = new CollaborationImpl(client);
-            this.authFace = new AuthImpl(client);
+            this.groupContext = context;
+            // reload the table schemas of the group, they may change while switched away
+            TableSchemaCache.invalidateGroup(group);
             System.out.println("Switched to group " + group + ".");
             System.out.println();
         } catch (Exception e) {
@@ -272,7 +297,50 @@ public class ConsoleInitializer {
         }
     }
 
+    /**
+     * get the context of the group from the pool, or create it if the console has not used the
+     * group before; the context uses the account of the current group if the crypto types are the
+     * same
+     *
+     * @return the context, or null if the group doesn't exist
+     */
+    public GroupContext getGroupContext(String group) {
+        Client currentClient = getClient();
+        Integer cryptoType = currentClient.getCryptoType();
+        CryptoKeyPair cryptoKeyPair = currentClient.getCryptoSuite().getCryptoKeyPair();
+        GroupContext context = groupContexts.get(group);
+        if (context == null) {
+            Client client = bcosSDK.getClient(group);
+            if (client == null) {
+                return null;
+            }
+            if (Objects.equals(client.getCryptoType(), cryptoType)) {
+                // switch group will change crypto type
+                // if same crypto type, then load the original account
+                client.getCryptoSuite().setCryptoKeyPair(cryptoKeyPair);
+            }
+            context = groupContexts.computeIfAbsent(group, key -> new GroupContext(client));
+            logger.info("create the context of group {}", group);
+        } else if (Objects.equals(context.getClient().getCryptoType(), cryptoType)
+                && context.getClient().getCryptoSuite().getCryptoKeyPair() != cryptoKeyPair) {
+            // another account has been loaded since the context was used
+            context.getClient().getCryptoSuite().setCryptoKeyPair(cryptoKeyPair);
+            context.reset();
+        }
+        return context;
+    }
+
+    public GroupContext getCurrentGroupContext() {
+        return groupContext;
+    }
+
+    /** run the following commands against the context, used by the "@group command" prefix */
+    public void setCurrentGroupContext(GroupContext groupContext) {
+        this.groupContext = groupContext;
+    }
+
     public void loadAccount(String[] params) {
+        Client client = getClient();
         String accountPath = params[1];
         String accountFormat = "pem";
         if (params.length >= 3) {
@@ -319,6 +387,7 @@ public class ConsoleInitializer {
         String accountPassword = null;
         if (accountFormat.equals("p12")) {
             System.out.print("Enter p12 Password:");
+            ConsoleOutput.flush();
             Console cons = System.console();
             char[] passwd = cons.readPassword();
             accountPassword = new String(passwd);
@@ -326,11 +395,7 @@ public class ConsoleInitializer {
         CryptoSuite cryptoSuite = client.getCryptoSuite();
         // update the objects with new CryptoKeyPair
         cryptoSuite.loadAccount(accountFormat, accountPath, accountPassword);
-        this.consoleClientFace = new ConsoleClientImpl(client);
-        this.precompiledFace = new PrecompiledImpl(client);
-        this.consoleContractFace = new ConsoleContractImpl(client);
-        this.collaborationFace = new CollaborationImpl(client);
-        this.authFace = new AuthImpl(client);
+        groupContext.reset();
         System.out.println("Load account " + params[1] + " success!");
     }
 
@@ -341,7 +406,7 @@ public class ConsoleInitializer {
     }
 
     public Client getClient() {
-        return client;
+        return groupContext.getClient();
     }
 
     public BcosSDK getBcosSDK() {
@@ -349,27 +414,31 @@ public class ConsoleInitializer {
     }
 
     public String getGroupID() {
-        return this.client.getGroup();
+        return getClient().getGroup();
+    }
+
+    public ClientServices getClientServices() {
+        return groupContext.getServices();
     }
 
     public ConsoleClientFace getConsoleClientFace() {
-        return consoleClientFace;
+        return groupContext.getConsoleClientFace();
     }
 
     public PrecompiledFace getPrecompiledFace() {
-        return precompiledFace;
+        return groupContext.getPrecompiledFace();
     }
 
     public ConsoleContractFace getConsoleContractFace() {
-        return consoleContractFace;
+        return groupContext.getConsoleContractFace();
     }
 
     public CollaborationFace getCollaborationFace() {
-        return collaborationFace;
+        return groupContext.getCollaborationFace();
     }
 
     public AuthFace getAuthFace() {
-        return authFace;
+        return groupContext.getAuthFace();
     }
 
     public boolean isDisableAutoCompleter() {
@@ -0,0 +1,97 @@
+package console;
+
+import console.auth.AuthFace;
+import console.auth.AuthImpl;
+import console.client.ConsoleClientFace;
+import console.client.ConsoleClientImpl;
+import console.collaboration.CollaborationFace;
+import console.collaboration.CollaborationImpl;
+import console.contract.ConsoleContractFace;
+import console.contract.ConsoleContractImpl;
+import console.precompiled.PrecompiledFace;
+import console.precompiled.PrecompiledImpl;
+import org.fisco.bcos.sdk.v3.client.Client;
+
+/**
+ * The client of a group and the command facades built on it. The facades are built on first use
+ * and kept while the console is switched to other groups, so that switching back reuses them
+ * together with the current BFS directory.
+ */
+public class GroupContext {
+    private final Client client;
+    private ClientServices services;
+    private ConsoleClientFace consoleClientFace;
+    private PrecompiledFace precompiledFace;
+    private ConsoleContractFace consoleContractFace;
+    private CollaborationFace collaborationFace;
+    private AuthFace authFace;
+    // the BFS directory of the group, kept when the facades are rebuilt
+    private String pwd;
+
+    public GroupContext(Client client) {
+        this.client = client;
+        reset();
+    }
+
+    /**
+     * rebuild the services and the facades, it should be called after loading an account; the BFS
+     * directory is carried over to the new facade
+     */
+    public synchronized void reset() {
+        if (precompiledFace != null) {
+            this.pwd = precompiledFace.getPwd();
+        }
+        this.services = new ClientServices(client);
+        this.consoleClientFace = null;
+        this.precompiledFace = null;
+        this.consoleContractFace = null;
+        this.collaborationFace = null;
+        this.authFace = null;
+    }
+
+    public Client getClient() {
+        return client;
+    }
+
+    public synchronized ClientServices getServices() {
+        return services;
+    }
+
+    public synchronized ConsoleClientFace getConsoleClientFace() {
+        if (consoleClientFace == null) {
+            consoleClientFace = new ConsoleClientImpl(client);
+        }
+        return consoleClientFace;
+    }
+
+    public synchronized PrecompiledFace getPrecompiledFace() {
+        if (precompiledFace == null) {
+            precompiledFace =
+                    pwd == null
+                            ? new PrecompiledImpl(services)
+                            : new PrecompiledImpl(services, pwd);
+        }
+        return precompiledFace;
+    }
+
+    public synchronized ConsoleContractFace getConsoleContractFace() {
+        if (consoleContractFace == null) {
+            consoleContractFace = new ConsoleContractImpl(services);
+        }
+        return consoleContractFace;
+    }
+
+    public synchronized CollaborationFace getCollaborationFace() {
+        if (collaborationFace == null) {
+            collaborationFace = new CollaborationImpl(services);
+        }
+        return collaborationFace;
+    }
+
+    public synchronized AuthFace getAuthFace() {
+        if (authFace == null) {
+            authFace = new AuthImpl(client);
+        }
+        return authFace;
+    }
+}
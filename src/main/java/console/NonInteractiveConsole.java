@@ -2,9 +2,16 @@ package console;
 
 import console.command.SupportedCommand;
 import console.command.model.CommandInfo;
+import console.common.ConsoleOutput;
 import console.common.ConsoleUtils;
+import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.InputStreamReader;
 import java.lang.reflect.InvocationTargetException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Arrays;
 import org.fisco.bcos.sdk.v3.client.exceptions.ClientException;
 import org.fisco.bcos.sdk.v3.transaction.model.exception.ContractException;
 import org.jline.reader.EndOfFileException;
@@ -15,6 +22,13 @@ import org.slf4j.LoggerFactory;
 public class NonInteractiveConsole {
     private static final Logger logger = LoggerFactory.getLogger(NonInteractiveConsole.class);
 
+    private static final String BATCH_FILE_OPTION = "-f";
+    private static final String BATCH_FILE_LONG_OPTION = "--file";
+    private static final String KEEP_GOING_OPTION = "--keep-going";
+    private static final String STOP_ON_ERROR_OPTION = "--stop-on-error";
+    private static final String COMPACT_OPTION = "--compact";
+    private static final String OUTPUT_OPTION = "--output";
+
     public static boolean isNumeric(String str) {
         try {
             new Integer(str);
@@ -53,8 +67,196 @@ public class NonInteractiveConsole {
             return;
         }
 
+        // the output options before the subcommand
+        while (params.length > 0) {
+            if (COMPACT_OPTION.equals(params[0])) {
+                ConsoleUtils.setCompactJson(true);
+                params = Arrays.copyOfRange(params, 1, params.length);
+            } else if (OUTPUT_OPTION.equals(params[0]) && params.length > 1) {
+                ConsoleOutput.Format format = ConsoleOutput.Format.of(params[1]);
+                if (format == null) {
+                    System.out.println(
+                            "Unknown output format: " + params[1] + ", use table, json or csv.");
+                    System.exit(1);
+                }
+                ConsoleOutput.setFormat(format);
+                params = Arrays.copyOfRange(params, 2, params.length);
+            } else {
+                break;
+            }
+        }
+        if (params.length == 0) {
+            System.out.println("Please provide the subcommand.");
+            System.exit(1);
+        }
+        consoleInitializer.logStartupTiming();
         SupportedCommand.isWasm = consoleInitializer.getClient().isWASM();
         SupportedCommand.isAuthOpen = consoleInitializer.getClient().isAuthCheck();
+        if (params.length > 0 && isBatchOption(params[0])) {
+            int exitCode = runBatch(consoleInitializer, params);
+            System.exit(exitCode);
+        }
+        try {
+            executeCommand(consoleInitializer, params, null);
+        } finally {
+            System.exit(0);
+        }
+    }
+
+    private static boolean isBatchOption(String param) {
+        return BATCH_FILE_OPTION.equals(param) || BATCH_FILE_LONG_OPTION.equals(param);
+    }
+
+    /**
+     * run the commands in the batch file (or stdin if the file is "-") over one console
+     *
+     * @return the exit code, 0 if all the commands succeeded
+     */
+    private static int runBatch(ConsoleInitializer consoleInitializer, String[] params) {
+        if (params.length < 2) {
+            System.out.println("Please provide the batch file, or \"-\" to read from stdin.");
+            return 1;
+        }
+        boolean keepGoing = false;
+        for (int i = 2; i < params.length; i++) {
+            if (KEEP_GOING_OPTION.equals(params[i])) {
+                keepGoing = true;
+            } else if (STOP_ON_ERROR_OPTION.equals(params[i])) {
+                keepGoing = false;
+            } else {
+                System.out.println("Unknown batch option: " + params[i]);
+                return 1;
+            }
+        }
+        String pwd = consoleInitializer.getPrecompiledFace().getPwd();
+        // one JSON line per command, without the progress of the batch
+        boolean json = ConsoleOutput.getFormat() == ConsoleOutput.Format.JSON;
+        int lineNumber = 0;
+        int succeeded = 0;
+        int failed = 0;
+        long batchStartTime = System.currentTimeMillis();
+        try (BufferedReader reader =
+                "-".equals(params[1])
+                        ? new BufferedReader(
+                                new InputStreamReader(System.in, StandardCharsets.UTF_8))
+                        : Files.newBufferedReader(Paths.get(params[1]), StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                String request = line.trim();
+                if (request.isEmpty() || request.startsWith("#")) {
+                    continue;
+                }
+                if (!json) {
+                    System.out.println("[line " + lineNumber + "] " + request);
+                }
+                long startTime = System.currentTimeMillis();
+                boolean success;
+                String[] command;
+                try {
+                    command = ConsoleUtils.tokenizeCommand(request);
+                } catch (Exception e) {
+                    command = new String[0];
+                    printBatchError("Invalid command: " + e.getMessage());
+                }
+                GroupContext previousContext = null;
+                String commandPwd = pwd;
+                try {
+                    if (command.length > 1 && command[0].startsWith(Console.GROUP_PREFIX)) {
+                        // run the line in another group, like the interactive console
+                        String group = command[0].substring(Console.GROUP_PREFIX.length());
+                        GroupContext groupContext = consoleInitializer.getGroupContext(group);
+                        if (groupContext == null) {
+                            printBatchError("Group " + group + " doesn't exist!");
+                            command = new String[0];
+                        } else {
+                            request = request.substring(command[0].length()).trim();
+                            command = Arrays.copyOfRange(command, 1, command.length);
+                            previousContext = consoleInitializer.getCurrentGroupContext();
+                            consoleInitializer.setCurrentGroupContext(groupContext);
+                            commandPwd = consoleInitializer.getPrecompiledFace().getPwd();
+                        }
+                    }
+                    if (command.length == 0) {
+                        success = false;
+                    } else if (SupportedCommand.CRUD_COMMANDS.contains(command[0])) {
+                        success =
+                                executeCommand(
+                                        consoleInitializer, new String[] {request}, commandPwd);
+                    } else {
+                        success = executeCommand(consoleInitializer, command, commandPwd);
+                        if (previousContext == null
+                                && SupportedCommand.CHANGE_DIR.getCommand().equals(command[0])) {
+                            pwd = consoleInitializer.getPrecompiledFace().getPwd();
+                        }
+                    }
+                } catch (Exception e) {
+                    printBatchError(e.getMessage());
+                    logger.error(" message: {}, e: {}", e.getMessage(), e);
+                    success = false;
+                } finally {
+                    if (previousContext != null) {
+                        consoleInitializer.setCurrentGroupContext(previousContext);
+                    }
+                }
+                long costTime = System.currentTimeMillis() - startTime;
+                if (!json) {
+                    System.out.println(
+                            "[line "
+                                    + lineNumber
+                                    + "] "
+                                    + (success ? "OK" : "FAILED")
+                                    + ", time cost: "
+                                    + costTime
+                                    + " ms");
+                }
+                if (success) {
+                    succeeded++;
+                } else {
+                    failed++;
+                    if (!keepGoing) {
+                        if (!json) {
+                            System.out.println("Stop the batch at line " + lineNumber + ".");
+                        }
+                        break;
+                    }
+                }
+            }
+        } catch (IOException e) {
+            System.out.println("Read the batch file " + params[1] + " failed: " + e.getMessage());
+            logger.error(" message: {}, e: {}", e.getMessage(), e);
+            return 1;
+        }
+        if (json) {
+            return failed == 0 ? 0 : 1;
+        }
+        System.out.println(
+                "Batch finished, succeeded: "
+                        + succeeded
+                        + ", failed: "
+                        + failed
+                        + ", total time cost: "
+                        + (System.currentTimeMillis() - batchStartTime)
+                        + " ms");
+        return failed == 0 ? 0 : 1;
+    }
+
+    /** print the failure of a batch line out of the commands, in the current output format */
+    private static void printBatchError(String message) {
+        ConsoleOutput.begin();
+        System.out.println(message);
+        ConsoleOutput.end(false);
+    }
+
+    /**
+     * execute one command
+     *
+     * @return false if the command is undefined, failed with exception or recorded an error
+     */
+    private static boolean executeCommand(
+            ConsoleInitializer consoleInitializer, String[] params, String pwd) {
+        ConsoleOutput.begin();
+        boolean success = false;
         try {
             String[] command = params[0].split(" ");
             CommandInfo commandInfo = null;
@@ -92,8 +294,9 @@ public class NonInteractiveConsole {
                             paramWithoutQuotation[i] = param.substring(1, param.length() - 1);
                         }
                     }
-                    commandInfo.callCommand(consoleInitializer, paramWithoutQuotation, null);
+                    commandInfo.callCommand(consoleInitializer, paramWithoutQuotation, pwd);
                 }
+                success = true;
             } else {
                 System.out.println("Undefined command: \"" + params[0] + "\". Try \"help\".\n");
             }
@@ -102,14 +305,10 @@ public class NonInteractiveConsole {
             if (e.getErrorMessage() != null) {
                 errorMessage = e.getErrorMessage();
             }
-            ConsoleUtils.printJson(
-                    "{\"code\":" + e.getErrorCode() + ", \"msg\":" + "\"" + errorMessage + "\"}");
-            System.out.println();
+            ConsoleOutput.printError(e.getErrorCode(), errorMessage);
             logger.error(" message: {}, e: {}", e.getMessage(), e);
         } catch (ContractException e) {
-            ConsoleUtils.printJson(
-                    "{\"code\":" + e.getErrorCode() + ", \"msg\":" + "\"" + e.getMessage() + "\"}");
-            System.out.println();
+            ConsoleOutput.printError(e.getErrorCode(), e.getMessage());
             logger.error(" message: {}, e: {}", e.getMessage(), e);
         } catch (ClassNotFoundException e) {
             System.out.println(e.getMessage() + " does not exist.");
@@ -145,7 +344,8 @@ public class NonInteractiveConsole {
             System.out.println();
             logger.error(" message: {}, e: {}", e.getMessage(), e);
         } finally {
-            System.exit(0);
+            success = ConsoleOutput.end(success);
         }
+        return success;
     }
 }
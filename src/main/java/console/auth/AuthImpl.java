@@ -1,10 +1,15 @@
 package console.auth;
 
 import console.ConsoleInitializer;
+import console.common.ConsoleOutput;
 import console.common.ConsoleUtils;
 import java.math.BigInteger;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import org.fisco.bcos.sdk.v3.client.Client;
 import org.fisco.bcos.sdk.v3.contract.auth.manager.AuthManager;
@@ -65,13 +70,14 @@ public class AuthImpl implements AuthFace {
                                 + ", can not add new governor.");
             }
             BigInteger proposalId = authManager.updateGovernor(account, weight);
+            ConsoleOutput.result("proposalId", proposalId);
             System.out.println("Update governor proposal created, ID is: " + proposalId);
             showProposalInfo(proposalId);
         } catch (NumberFormatException e) {
-            System.out.println("Number convert error, please check number you input");
+            ConsoleOutput.printFailure("Number convert error, please check number you input");
         } catch (TransactionException e) {
             logger.error("createUpdateGovernorProposal, e:", e);
-            System.out.println("Error: " + e.getMessage());
+            ConsoleOutput.printFailure("Error: " + e.getMessage());
         }
     }
 
@@ -83,12 +89,13 @@ public class AuthImpl implements AuthFace {
             checkValidRate(participatesRate, "participatesRate");
             checkValidRate(winRate, "winRate");
             BigInteger proposalId = authManager.setRate(participatesRate, winRate);
+            ConsoleOutput.result("proposalId", proposalId);
             System.out.println("Set rate proposal created, ID is: " + proposalId);
             showProposalInfo(proposalId);
         } catch (NumberFormatException e) {
-            System.out.println("Number convert error, please check number you input");
+            ConsoleOutput.printFailure("Number convert error, please check number you input");
         } catch (TransactionException e) {
-            System.out.println("Error: " + e.getMessage());
+            ConsoleOutput.printFailure("Error: " + e.getMessage());
         }
     }
 
@@ -104,10 +111,11 @@ public class AuthImpl implements AuthFace {
             } else {
                 throw new Exception("Error authType, auth type is white_list or black_list");
             }
+            ConsoleOutput.result("proposalId", proposalId);
             System.out.println("Set deploy auth type proposal created, ID is: " + proposalId);
             showProposalInfo(proposalId);
         } catch (TransactionException e) {
-            System.out.println("Error: " + e.getMessage());
+            ConsoleOutput.printFailure("Error: " + e.getMessage());
         }
     }
 
@@ -117,10 +125,11 @@ public class AuthImpl implements AuthFace {
             String account = params[1];
             checkValidAddress(account, account);
             BigInteger proposalId = authManager.modifyDeployAuth(account, true);
+            ConsoleOutput.result("proposalId", proposalId);
             System.out.println("Open deploy auth proposal created, ID is: " + proposalId);
             showProposalInfo(proposalId);
         } catch (TransactionException e) {
-            System.out.println("Error: " + e.getMessage());
+            ConsoleOutput.printFailure("Error: " + e.getMessage());
         }
     }
 
@@ -130,10 +139,11 @@ public class AuthImpl implements AuthFace {
             String account = params[1];
             checkValidAddress(account, account);
             BigInteger proposalId = authManager.modifyDeployAuth(account, false);
+            ConsoleOutput.result("proposalId", proposalId);
             System.out.println("Close deploy auth proposal created, ID is: " + proposalId);
             showProposalInfo(proposalId);
         } catch (TransactionException e) {
-            System.out.println("Error: " + e.getMessage());
+            ConsoleOutput.printFailure("Error: " + e.getMessage());
         }
     }
 
@@ -145,10 +155,11 @@ public class AuthImpl implements AuthFace {
             checkValidAddress(newAdmin, "newAdmin");
             checkValidAddress(contractAddr, "contractAddress");
             BigInteger proposalId = authManager.resetAdmin(newAdmin, contractAddr);
+            ConsoleOutput.result("proposalId", proposalId);
             System.out.println("Reset contract admin proposal created, ID is: " + proposalId);
             showProposalInfo(proposalId);
         } catch (TransactionException e) {
-            System.out.println("Error: " + e.getMessage());
+            ConsoleOutput.printFailure("Error: " + e.getMessage());
         }
     }
 
@@ -161,11 +172,11 @@ public class AuthImpl implements AuthFace {
             if (retCode.code == 0) {
                 System.out.println("Revoke proposal success.");
             } else {
-                System.out.println("Revoke proposal failed, msg: " + retCode.getMessage());
+                ConsoleOutput.printFailure("Revoke proposal failed, msg: " + retCode.getMessage());
             }
             showProposalInfo(proposalId);
         } catch (NumberFormatException e) {
-            System.out.println("Number convert error, please check number you input");
+            ConsoleOutput.printFailure("Number convert error, please check number you input");
         }
     }
 
@@ -180,7 +191,8 @@ public class AuthImpl implements AuthFace {
                 } else if ("false".equals(params[2])) {
                     agree = false;
                 } else {
-                    System.out.println("Please provide true or false for the second parameter.");
+                    ConsoleOutput.printFailure(
+                            "Please provide true or false for the second parameter.");
                     return;
                 }
             }
@@ -189,11 +201,11 @@ public class AuthImpl implements AuthFace {
             if (retCode.code == 0) {
                 System.out.println("Vote proposal success.");
             } else {
-                System.out.println("Vote proposal failed, msg: " + retCode.getMessage());
+                ConsoleOutput.printFailure("Vote proposal failed, msg: " + retCode.getMessage());
             }
             showProposalInfo(proposalId);
         } catch (NumberFormatException e) {
-            System.out.println("Number convert error, please check number you input");
+            ConsoleOutput.printFailure("Number convert error, please check number you input");
         }
     }
 
@@ -203,16 +215,46 @@ public class AuthImpl implements AuthFace {
             BigInteger proposalId = BigInteger.valueOf(Long.parseLong(params[1]));
             showProposalInfo(proposalId);
         } catch (NumberFormatException e) {
-            System.out.println("Number convert error, please check proposal id you input.");
+            ConsoleOutput.printFailure(
+                    "Number convert error, please check proposal id you input.");
         }
     }
 
     private void showProposalInfo(BigInteger proposalId) throws ContractException {
         ProposalInfo proposalInfo = authManager.getProposalInfo(proposalId);
         if (proposalInfo.getProposalType() == 0 && proposalInfo.getStatus() == 0) {
+            ConsoleOutput.result("proposal", null);
             System.out.println("Proposal not found in committee, please check id: " + proposalId);
             return;
         }
+        if (ConsoleOutput.isCapturing()) {
+            Map<String, Object> proposal = new LinkedHashMap<>();
+            proposal.put("proposalId", proposalId);
+            proposal.put("proposer", proposalInfo.getProposer());
+            proposal.put("type", proposalInfo.getProposalTypeString());
+            proposal.put("status", proposalInfo.getStatusString());
+            proposal.put("agreeVoters", proposalInfo.getAgreeVoters());
+            proposal.put("againstVoters", proposalInfo.getAgainstVoters());
+            ConsoleOutput.result("proposal", proposal);
+            return;
+        }
+        if (ConsoleOutput.getFormat() != ConsoleOutput.Format.TABLE) {
+            ConsoleOutput.printTable(
+                    "proposal",
+                    new String[] {
+                        "proposalId", "proposer", "type", "status", "agreeVoters", "againstVoters"
+                    },
+                    Collections.singletonList(
+                            new String[] {
+                                proposalId.toString(),
+                                proposalInfo.getProposer(),
+                                proposalInfo.getProposalTypeString(),
+                                proposalInfo.getStatusString(),
+                                String.join(" ", proposalInfo.getAgreeVoters()),
+                                String.join(" ", proposalInfo.getAgainstVoters())
+                            }));
+            return;
+        }
         ConsoleUtils.singleLine();
         System.out.println("Proposer: " + proposalInfo.getProposer());
         System.out.println("Proposal Type   : " + proposalInfo.getProposalTypeString());
@@ -231,6 +273,22 @@ public class AuthImpl implements AuthFace {
 
     @Override
     public void getCommitteeInfo(String[] params) throws Exception {
+        if (ConsoleOutput.isCapturing()) {
+            CommitteeInfo committeeInfo = authManager.getCommitteeInfo();
+            List<Map<String, Object>> governors = new ArrayList<>();
+            for (GovernorInfo governorInfo : committeeInfo.getGovernorList()) {
+                Map<String, Object> governor = new LinkedHashMap<>();
+                governor.put("governorAddress", governorInfo.getGovernorAddress());
+                governor.put("weight", governorInfo.getWeight());
+                governors.add(governor);
+            }
+            ConsoleOutput.result("committeeAddress", authManager.getCommitteeAddress());
+            ConsoleOutput.result("proposalMgrAddress", authManager.getProposalManagerAddress());
+            ConsoleOutput.result("participatesRate", committeeInfo.getParticipatesRate());
+            ConsoleOutput.result("winRate", committeeInfo.getWinRate());
+            ConsoleOutput.result("governors", governors);
+            return;
+        }
         ConsoleUtils.singleLine();
         System.out.println("Committee address   : " + authManager.getCommitteeAddress());
         System.out.println("ProposalMgr address : " + authManager.getProposalManagerAddress());
@@ -263,19 +321,22 @@ public class AuthImpl implements AuthFace {
             checkValidAddress(contractAddress, "");
             String admin = authManager.getAdmin(contractAddress);
             if (admin.equals(ConsoleUtils.EMPTY_ADDRESS)) {
+                ConsoleOutput.result("admin", null);
                 System.out.println(
                         "Contract address not exist, please check address: " + contractAddress);
                 return;
             }
+            ConsoleOutput.result("admin", admin);
             System.out.println("Admin for contract " + contractAddress + " is: " + admin);
         } catch (TransactionException e) {
-            System.out.println("Error: " + e.getMessage());
+            ConsoleOutput.printFailure("Error: " + e.getMessage());
         }
     }
 
     @Override
     public void getDeployStrategy(String[] params) throws Exception {
         BigInteger deployAuthType = authManager.getDeployAuthType();
+        ConsoleOutput.result("deployAuthType", deployAuthType);
         if (Objects.equals(deployAuthType, BigInteger.ZERO)) {
             System.out.println("There is no deploy strategy, everyone can deploy contracts.");
         } else if (Objects.equals(deployAuthType, BigInteger.ONE)) {
@@ -302,6 +363,8 @@ public class AuthImpl implements AuthFace {
         try {
             checkValidAddress(accountAddress, "accountAddress");
             Boolean hasDeployAuth = authManager.checkDeployAuth(accountAddress);
+            ConsoleOutput.result("deployAuth", hasDeployAuth);
+            ConsoleOutput.result("account", accountAddress);
             System.out.println(
                     "Deploy : "
                             + ((hasDeployAuth)
@@ -309,7 +372,7 @@ public class AuthImpl implements AuthFace {
                                     : "\033[31m" + "PERMISSION DENIED" + "\033[m"));
             System.out.println("Account: " + accountAddress);
         } catch (TransactionException e) {
-            System.out.println("Error: " + e.getMessage());
+            ConsoleOutput.printFailure("Error: " + e.getMessage());
         }
     }
 
@@ -330,20 +393,15 @@ public class AuthImpl implements AuthFace {
             } else if (type.equals("black_list")) {
                 setResult = authManager.setMethodAuthType(address, func, AuthType.BLACK_LIST);
             } else {
-                System.out.println("Error authType, auth type is white_list or black_list.");
+                ConsoleOutput.printFailure(
+                        "Error authType, auth type is white_list or black_list.");
                 return;
             }
             RetCode precompiledResponse =
                     PrecompiledRetCode.getPrecompiledResponse(setResult.intValue(), "Success");
-            ConsoleUtils.printJson(
-                    "{\"code\":"
-                            + precompiledResponse.getCode()
-                            + ", \"msg\":"
-                            + "\""
-                            + precompiledResponse.getMessage()
-                            + "\"}");
+            printRetCode(precompiledResponse);
         } catch (TransactionException e) {
-            System.out.println("Error: " + e.getMessage());
+            ConsoleOutput.printFailure("Error: " + e.getMessage());
         }
     }
 
@@ -362,15 +420,9 @@ public class AuthImpl implements AuthFace {
             BigInteger openResult = authManager.setMethodAuth(contract, func, account, true);
             RetCode precompiledResponse =
                     PrecompiledRetCode.getPrecompiledResponse(openResult.intValue(), "Success");
-            ConsoleUtils.printJson(
-                    "{\"code\":"
-                            + precompiledResponse.getCode()
-                            + ", \"msg\":"
-                            + "\""
-                            + precompiledResponse.getMessage()
-                            + "\"}");
+            printRetCode(precompiledResponse);
         } catch (TransactionException e) {
-            System.out.println("Error: " + e.getMessage());
+            ConsoleOutput.printFailure("Error: " + e.getMessage());
         }
     }
 
@@ -389,15 +441,9 @@ public class AuthImpl implements AuthFace {
             BigInteger closeResult = authManager.setMethodAuth(contract, func, account, false);
             RetCode precompiledResponse =
                     PrecompiledRetCode.getPrecompiledResponse(closeResult.intValue(), "Success");
-            ConsoleUtils.printJson(
-                    "{\"code\":"
-                            + precompiledResponse.getCode()
-                            + ", \"msg\":"
-                            + "\""
-                            + precompiledResponse.getMessage()
-                            + "\"}");
+            printRetCode(precompiledResponse);
         } catch (TransactionException e) {
-            System.out.println("Error: " + e.getMessage());
+            ConsoleOutput.printFailure("Error: " + e.getMessage());
         }
     }
 
@@ -421,6 +467,10 @@ public class AuthImpl implements AuthFace {
             checkValidAddress(contract, "contractAddress");
             checkValidAddress(account, "accountAddress");
             Boolean hasAuth = authManager.checkMethodAuth(contract, func, account);
+            ConsoleOutput.result("methodAuth", hasAuth);
+            ConsoleOutput.result("account", account);
+            ConsoleOutput.result("interface", funcStr);
+            ConsoleOutput.result("contract", contract);
             logger.debug(
                     "checkMethodAuth: account:{}, funcStr:{}, func:{}, contract:{}",
                     account,
@@ -436,7 +486,7 @@ public class AuthImpl implements AuthFace {
             System.out.println("Interface: " + funcStr);
             System.out.println("Contract : " + contract);
         } catch (TransactionException e) {
-            System.out.println("Error: " + e.getMessage());
+            ConsoleOutput.printFailure("Error: " + e.getMessage());
         }
     }
 
@@ -444,15 +494,31 @@ public class AuthImpl implements AuthFace {
     public void getLatestProposal(String[] params) throws Exception {
         BigInteger proposalId = this.authManager.proposalCount();
         if (proposalId.equals(BigInteger.ZERO)) {
+            ConsoleOutput.result("proposalId", null);
             System.out.println("No proposal exists currently, try to propose one.");
             return;
         }
+        ConsoleOutput.result("proposalId", proposalId);
         System.out.println("Latest proposal ID: " + proposalId.toString());
         if (proposalId.compareTo(BigInteger.ZERO) > 0) {
             showProposalInfo(proposalId);
         }
     }
 
+    private static void printRetCode(RetCode retCode) {
+        if (ConsoleOutput.isCapturing()) {
+            ConsoleOutput.retCode(retCode.getCode(), retCode.getMessage());
+            return;
+        }
+        ConsoleUtils.printJson(
+                "{\"code\":"
+                        + retCode.getCode()
+                        + ", \"msg\":"
+                        + "\""
+                        + retCode.getMessage()
+                        + "\"}");
+    }
+
     void checkValidAddress(String address, String valueName) throws TransactionException {
         if (!ConsoleUtils.isValidAddress(address)) {
             throw new TransactionException(
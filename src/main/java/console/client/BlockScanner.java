@@ -0,0 +1,403 @@
+package console.client;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import console.ConsoleInitializer;
+import console.command.model.HelpInfo;
+import console.common.Common;
+import console.common.ConsoleOutput;
+import console.common.ConsoleUtils;
+import console.common.OrderedTaskPipeline;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.fisco.bcos.sdk.v3.client.Client;
+import org.fisco.bcos.sdk.v3.client.protocol.response.BcosBlock;
+import org.fisco.bcos.sdk.v3.model.TransactionReceipt;
+import org.fisco.bcos.sdk.v3.utils.ObjectMapperFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Fetches a range of blocks with bounded parallelism and writes them to a JSON lines file in the
+ * block order, one block per line, or one matched transaction per line when a filter is set. The
+ * progress is saved to a checkpoint file next to the output, so that an interrupted scan can be
+ * resumed from the last saved block.
+ */
+public class BlockScanner {
+    private static final Logger logger = LoggerFactory.getLogger(BlockScanner.class);
+
+    public static final int DEFAULT_PARALLELISM = 8;
+    public static final int MAX_PARALLELISM = 32;
+    public static final String CHECKPOINT_SUFFIX = ".checkpoint";
+    private static final int CHECKPOINT_INTERVAL = 1000;
+    private static final int PROGRESS_INTERVAL = 10000;
+
+    private static final ExecutorService scanExecutor =
+            Executors.newFixedThreadPool(
+                    MAX_PARALLELISM,
+                    runnable -> {
+                        Thread thread = new Thread(runnable, "scanBlocks");
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+
+    private final ConsoleInitializer consoleInitializer;
+    private final ObjectMapper objectMapper = ObjectMapperFactory.getObjectMapper();
+
+    public BlockScanner(ConsoleInitializer consoleInitializer) {
+        this.consoleInitializer = consoleInitializer;
+    }
+
+    public void scanBlocks(String[] params) throws Exception {
+        long from = ConsoleUtils.processLong("from", params[1], 0, Long.MAX_VALUE);
+        long to = ConsoleUtils.processLong("to", params[2], 0, Long.MAX_VALUE);
+        if (from == Common.InvalidLongValue || to == Common.InvalidLongValue) {
+            return;
+        }
+        if (from > to) {
+            System.out.println("Please provide \"from\" not larger than \"to\".");
+            return;
+        }
+        Client client = consoleInitializer.getClient();
+        String outputFile = null;
+        int parallelism = DEFAULT_PARALLELISM;
+        Filter filter = new Filter();
+        boolean resume = false;
+        for (int i = 3; i < params.length; i++) {
+            String option = params[i];
+            if ("--failed".equals(option)) {
+                filter.failed = true;
+                continue;
+            }
+            if ("--resume".equals(option)) {
+                resume = true;
+                continue;
+            }
+            if (i + 1 >= params.length) {
+                HelpInfo.promptHelp("scanBlocks");
+                return;
+            }
+            String value = params[++i];
+            if ("-o".equals(option) || "--output".equals(option)) {
+                outputFile = value;
+            } else if ("-p".equals(option) || "--parallel".equals(option)) {
+                parallelism =
+                        ConsoleUtils.processNonNegativeNumber(
+                                "parallel", value, 1, MAX_PARALLELISM);
+                if (parallelism == Common.InvalidReturnNumber) {
+                    return;
+                }
+            } else if ("--to".equals(option)) {
+                if (!ConsoleUtils.isValidAddress(value)) {
+                    System.out.println("Invalid address: " + value);
+                    return;
+                }
+                filter.to = toLowerHex(value);
+            } else if ("--selector".equals(option)) {
+                if (!value.matches("^(0x)?[0-9a-fA-F]{8}$")) {
+                    System.out.println(
+                            "Invalid selector: " + value + ", it should be 4 bytes in hex.");
+                    return;
+                }
+                filter.selector = toLowerHex(value);
+            } else {
+                HelpInfo.promptHelp("scanBlocks");
+                return;
+            }
+        }
+        if (outputFile == null) {
+            outputFile = "scan_" + client.getGroup() + "_" + from + "_" + to + ".jsonl";
+        }
+        // the checkpoint keeps the requested range, so a resumed scan can reach a later block,
+        // and the filter, so a resumed scan writes the records of the same shape
+        Checkpoint checkpoint =
+                new Checkpoint(new File(outputFile + CHECKPOINT_SUFFIX), from, to, filter);
+        long start = from;
+        if (resume) {
+            if (!checkpoint.load() || !truncate(new File(outputFile), checkpoint.outputLength)) {
+                return;
+            }
+            start = checkpoint.nextBlock;
+        } else {
+            // the checkpoint of a previous scan doesn't match the output rewritten by this one
+            Files.deleteIfExists(checkpoint.file.toPath());
+        }
+        long end = Math.min(to, client.getBlockNumber().getBlockNumber().longValue());
+        if (start > end) {
+            System.out.println(
+                    "No blocks to scan, the next block is "
+                            + start
+                            + " and the latest block is "
+                            + end
+                            + ".");
+            return;
+        }
+        if (end < to) {
+            System.out.println(
+                    "The block " + to + " is not produced yet, scan to the latest block " + end);
+        }
+        if (resume) {
+            System.out.println("Resume the scan from block " + start);
+        }
+        scan(client, start, end, parallelism, filter, new File(outputFile), resume, checkpoint);
+    }
+
+    private void scan(
+            Client client,
+            long start,
+            long end,
+            int parallelism,
+            Filter filter,
+            File outputFile,
+            boolean append,
+            Checkpoint checkpoint)
+            throws Exception {
+        long startTime = System.currentTimeMillis();
+        long[] records = new long[1];
+        long[] scanned = new long[1];
+        OrderedTaskPipeline<Long, List<String>> pipeline =
+                new OrderedTaskPipeline<>(scanExecutor, parallelism);
+        try (OutputStream out =
+                new BufferedOutputStream(new FileOutputStream(outputFile, append))) {
+            pipeline.run(
+                    range(start, end),
+                    number -> fetch(client, number, filter),
+                    (number, lines) -> {
+                        for (String line : lines) {
+                            byte[] bytes = (line + "\n").getBytes(StandardCharsets.UTF_8);
+                            out.write(bytes);
+                            checkpoint.outputLength += bytes.length;
+                        }
+                        records[0] += lines.size();
+                        scanned[0]++;
+                        checkpoint.nextBlock = number + 1;
+                        if (scanned[0] % CHECKPOINT_INTERVAL == 0 || number == end) {
+                            out.flush();
+                            checkpoint.save();
+                        }
+                        if (scanned[0] % PROGRESS_INTERVAL == 0) {
+                            System.out.println(
+                                    "scanned to block " + number + ", " + records[0] + " records");
+                            ConsoleOutput.flush();
+                        }
+                    });
+        } catch (Exception e) {
+            System.out.println(
+                    "Scan failed before block "
+                            + checkpoint.nextBlock
+                            + ", error: "
+                            + e.getMessage()
+                            + (checkpoint.savedNextBlock < 0
+                                    ? ", no checkpoint is saved yet, please scan again."
+                                    : ", use --resume to continue from the checkpoint at block "
+                                            + checkpoint.savedNextBlock
+                                            + "."));
+            logger.error("scan blocks failed, e: ", e);
+            return;
+        }
+        long timeCost = Math.max(System.currentTimeMillis() - startTime, 1);
+        System.out.println(
+                "Scan "
+                        + scanned[0]
+                        + " blocks, write "
+                        + records[0]
+                        + " records to "
+                        + outputFile
+                        + ", time cost: "
+                        + timeCost
+                        + " ms, "
+                        + String.format("%.2f", scanned[0] * 1000.0 / timeCost)
+                        + " blocks/s");
+    }
+
+    /** @return the output lines of the block */
+    private List<String> fetch(Client client, long number, Filter filter) throws Exception {
+        BcosBlock.Block block =
+                client.getBlockByNumber(BigInteger.valueOf(number), false, false).getBlock();
+        if (block == null) {
+            throw new IOException("block " + number + " is not found");
+        }
+        List<String> lines = new ArrayList<>();
+        if (!filter.isSet()) {
+            lines.add(objectMapper.writeValueAsString(block));
+            return lines;
+        }
+        JsonNode transactions = objectMapper.valueToTree(block).path("transactions");
+        for (JsonNode transaction : transactions) {
+            if (!filter.matchTransaction(transaction)) {
+                continue;
+            }
+            ObjectNode record = objectMapper.createObjectNode();
+            record.put("blockNumber", number);
+            record.set("transaction", transaction);
+            if (filter.failed) {
+                TransactionReceipt receipt =
+                        client.getTransactionReceipt(transaction.path("hash").asText(), false)
+                                .getTransactionReceipt();
+                if (receipt == null || receipt.getStatus() == 0) {
+                    continue;
+                }
+                record.set("receipt", objectMapper.valueToTree(receipt));
+            }
+            lines.add(objectMapper.writeValueAsString(record));
+        }
+        return lines;
+    }
+
+    private static Iterator<Long> range(long start, long end) {
+        return new Iterator<Long>() {
+            private long next = start;
+
+            @Override
+            public boolean hasNext() {
+                return next <= end;
+            }
+
+            @Override
+            public Long next() {
+                if (next > end) {
+                    throw new NoSuchElementException();
+                }
+                return next++;
+            }
+        };
+    }
+
+    /**
+     * drop the records written after the checkpoint
+     *
+     * @return false if the output is shorter than the checkpoint
+     */
+    private static boolean truncate(File file, long length) throws IOException {
+        long fileLength = file.exists() ? file.length() : 0;
+        if (fileLength < length) {
+            System.out.println(
+                    "The output "
+                            + file
+                            + " is shorter than its checkpoint, please scan again without"
+                            + " --resume.");
+            return false;
+        }
+        try (RandomAccessFile output = new RandomAccessFile(file, "rw")) {
+            output.setLength(length);
+        }
+        return true;
+    }
+
+    private static String toLowerHex(String hex) {
+        String lowerCase = hex.toLowerCase();
+        return lowerCase.startsWith("0x") ? lowerCase : "0x" + lowerCase;
+    }
+
+    private static class Filter {
+        private String to;
+        private String selector;
+        private boolean failed;
+
+        private boolean isSet() {
+            return to != null || selector != null || failed;
+        }
+
+        /** @return the filter in the checkpoint: to selector failed, "-" for an unset value */
+        private String describe() {
+            return (to == null ? "-" : to)
+                    + " "
+                    + (selector == null ? "-" : selector)
+                    + " "
+                    + failed;
+        }
+
+        private boolean matchTransaction(JsonNode transaction) {
+            if (to != null && !to.equals(transaction.path("to").asText("").toLowerCase())) {
+                return false;
+            }
+            return selector == null
+                    || transaction.path("input").asText("").toLowerCase().startsWith(selector);
+        }
+    }
+
+    /**
+     * The progress of a scan: the range, the filter, the next block to fetch and the length of the
+     * output that holds the records before it.
+     */
+    private static class Checkpoint {
+        private final File file;
+        // from to filter, a scan resumes only the checkpoint of the same scan
+        private final String scan;
+        private long nextBlock;
+        private long outputLength;
+        // the next block of the saved checkpoint, -1 if it is not saved yet
+        private long savedNextBlock = -1;
+
+        private Checkpoint(File file, long from, long to, Filter filter) {
+            this.file = file;
+            this.scan = from + " " + to + " " + filter.describe();
+            this.nextBlock = from;
+        }
+
+        /** @return false if there is no checkpoint of the same range and filter */
+        private boolean load() throws IOException {
+            if (!file.exists()) {
+                System.out.println("The checkpoint " + file + " doesn't exist.");
+                return false;
+            }
+            // from to filterTo filterSelector filterFailed nextBlock outputLength
+            String[] items =
+                    new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8)
+                            .trim()
+                            .split("\\s+");
+            if (items.length != 7) {
+                System.out.println("The checkpoint " + file + " is invalid.");
+                return false;
+            }
+            String savedScan = String.join(" ", Arrays.asList(items).subList(0, 5));
+            if (!scan.equals(savedScan)) {
+                System.out.println(
+                        "The checkpoint "
+                                + file
+                                + " is of another scan, \""
+                                + savedScan
+                                + "\" (from to --to --selector --failed), please resume it with"
+                                + " the same range and options, or scan again without --resume.");
+                return false;
+            }
+            try {
+                nextBlock = Long.parseLong(items[5]);
+                outputLength = Long.parseLong(items[6]);
+            } catch (NumberFormatException e) {
+                System.out.println("The checkpoint " + file + " is invalid.");
+                return false;
+            }
+            savedNextBlock = nextBlock;
+            return true;
+        }
+
+        private void save() throws IOException {
+            File tmpFile = new File(file.getPath() + ".tmp");
+            String content = scan + " " + nextBlock + " " + outputLength + "\n";
+            Files.write(tmpFile.toPath(), content.getBytes(StandardCharsets.UTF_8));
+            Files.move(
+                    tmpFile.toPath(),
+                    file.toPath(),
+                    StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+            savedNextBlock = nextBlock;
+        }
+    }
+}
@@ -0,0 +1,398 @@
+package console.client;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import console.ConsoleInitializer;
+import console.command.model.HelpInfo;
+import console.common.Common;
+import console.common.ConsoleOutput;
+import console.common.ConsoleUtils;
+import console.contract.utils.DeployLogStore;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.fisco.bcos.sdk.v3.client.Client;
+import org.fisco.bcos.sdk.v3.client.protocol.response.BcosGroupNodeInfo;
+import org.fisco.bcos.sdk.v3.client.protocol.response.TotalTransactionCount;
+import org.fisco.bcos.sdk.v3.utils.Numeric;
+import org.fisco.bcos.sdk.v3.utils.ObjectMapperFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Polls the block number of each node, the total transaction count, the pending pool size and the
+ * sync status of the current group on a fixed interval, and shows the rates derived from the
+ * deltas of two samples. The samples can be exported to a CSV or JSON lines file.
+ */
+public class ChainMonitor {
+    private static final Logger logger = LoggerFactory.getLogger(ChainMonitor.class);
+
+    public static final int DEFAULT_INTERVAL_SECONDS = 2;
+    private static final int MONITOR_THREAD_COUNT = 8;
+    private static final String CLEAR_SCREEN = "\033[H\033[2J";
+    private static final String[] CSV_HEADER = {
+        "time",
+        "blockNumber",
+        "blocksPerSecond",
+        "txSum",
+        "tps",
+        "pendingTxSize",
+        "nodeHeightSkew",
+        "isSyncing"
+    };
+
+    private static final ExecutorService monitorExecutor =
+            Executors.newFixedThreadPool(
+                    MONITOR_THREAD_COUNT,
+                    runnable -> {
+                        Thread thread = new Thread(runnable, "monitor");
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+
+    private final ConsoleInitializer consoleInitializer;
+
+    public ChainMonitor(ConsoleInitializer consoleInitializer) {
+        this.consoleInitializer = consoleInitializer;
+    }
+
+    public void monitor(String[] params) throws Exception {
+        int intervalSeconds = DEFAULT_INTERVAL_SECONDS;
+        int count = 0;
+        String exportFile = null;
+        boolean json = false;
+        for (int i = 1; i < params.length; i++) {
+            String option = params[i];
+            if (i + 1 >= params.length) {
+                HelpInfo.promptHelp(params[0]);
+                return;
+            }
+            String value = params[++i];
+            if ("-i".equals(option) || "--interval".equals(option)) {
+                intervalSeconds =
+                        ConsoleUtils.processNonNegativeNumber("interval", value, 1, 3600);
+                if (intervalSeconds == Common.InvalidReturnNumber) {
+                    return;
+                }
+            } else if ("-c".equals(option) || "--count".equals(option)) {
+                count = ConsoleUtils.processNonNegativeNumber("count", value);
+                if (count == Common.InvalidReturnNumber) {
+                    return;
+                }
+            } else if ("--csv".equals(option) || "--json".equals(option)) {
+                exportFile = value;
+                json = "--json".equals(option);
+            } else {
+                HelpInfo.promptHelp(params[0]);
+                return;
+            }
+        }
+
+        Client client = consoleInitializer.getClient();
+        List<String> nodes = new ArrayList<>();
+        for (BcosGroupNodeInfo.GroupNodeInfo node :
+                client.getGroupInfo().getResult().getNodeList()) {
+            nodes.add(node.getName());
+        }
+        // the dashboard is redrawn and stopped by Enter only on a terminal
+        boolean terminal = System.console() != null;
+        // the samples are streamed to stdout, one JSON line each in the JSON format
+        boolean jsonOutput = ConsoleOutput.getFormat() == ConsoleOutput.Format.JSON;
+        PrintStream out = ConsoleOutput.rawStream();
+        int samples = 0;
+        BufferedWriter exportWriter = null;
+        try {
+            if (exportFile != null) {
+                exportWriter =
+                        Files.newBufferedWriter(Paths.get(exportFile), StandardCharsets.UTF_8);
+                if (!json) {
+                    exportWriter.write(String.join(",", CSV_HEADER));
+                    exportWriter.newLine();
+                }
+            }
+            if (terminal && !jsonOutput) {
+                out.println("Press Enter to stop the monitor.");
+                out.flush();
+            }
+            Sample first = null;
+            Sample previous = null;
+            for (int i = 0; count == 0 || i < count; i++) {
+                if (i > 0 && waitNext(intervalSeconds, terminal)) {
+                    break;
+                }
+                Sample sample = sample(client, nodes, intervalSeconds);
+                if (first == null) {
+                    first = sample;
+                }
+                if (jsonOutput) {
+                    out.println(toJson(previous, sample));
+                } else if (terminal) {
+                    out.print(CLEAR_SCREEN);
+                    printDashboard(out, client.getGroup(), first, previous, sample);
+                } else {
+                    out.println(formatLine(previous, sample));
+                }
+                out.flush();
+                samples++;
+                if (exportWriter != null) {
+                    exportWriter.write(json ? toJson(previous, sample) : toCsv(previous, sample));
+                    exportWriter.newLine();
+                    exportWriter.flush();
+                }
+                previous = sample;
+            }
+        } finally {
+            ConsoleOutput.result("samples", samples);
+            if (exportWriter != null) {
+                exportWriter.close();
+                System.out.println("Export the samples to " + exportFile);
+            }
+        }
+    }
+
+    /** @return true if the monitor is stopped by Enter */
+    static boolean waitNext(int intervalSeconds, boolean terminal)
+            throws IOException, InterruptedException {
+        long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(intervalSeconds);
+        while (System.currentTimeMillis() < deadline) {
+            if (terminal && System.in.available() > 0) {
+                // drop the line so that it is not read as a command
+                while (System.in.available() > 0) {
+                    System.in.read();
+                }
+                return true;
+            }
+            Thread.sleep(Math.min(100, Math.max(deadline - System.currentTimeMillis(), 1)));
+        }
+        return false;
+    }
+
+    private static Sample sample(Client client, List<String> nodes, int intervalSeconds) {
+        Sample sample = new Sample(System.currentTimeMillis());
+        Map<String, CompletableFuture<BigInteger>> nodeFutures = new LinkedHashMap<>();
+        for (String node : nodes) {
+            nodeFutures.put(
+                    node,
+                    CompletableFuture.supplyAsync(
+                            () -> client.getBlockNumber(node).getBlockNumber(), monitorExecutor));
+        }
+        CompletableFuture<TotalTransactionCount.TransactionCountInfo> txCountFuture =
+                CompletableFuture.supplyAsync(
+                        () -> client.getTotalTransactionCount().getTotalTransactionCount(),
+                        monitorExecutor);
+        CompletableFuture<String> pendingFuture =
+                CompletableFuture.supplyAsync(
+                        () -> client.getPendingTxSize().getResult(), monitorExecutor);
+        CompletableFuture<String> syncStatusFuture =
+                CompletableFuture.supplyAsync(
+                        () -> client.getSyncStatus().getSyncStatus().toString(), monitorExecutor);
+
+        // a slow node should not delay the next sample for long
+        long deadline = sample.time + TimeUnit.SECONDS.toMillis(Math.max(intervalSeconds, 5));
+        for (Map.Entry<String, CompletableFuture<BigInteger>> entry : nodeFutures.entrySet()) {
+            sample.nodeHeights.put(entry.getKey(), await(entry.getValue(), deadline));
+        }
+        TotalTransactionCount.TransactionCountInfo txCount = await(txCountFuture, deadline);
+        if (txCount != null) {
+            sample.txSum = Numeric.decodeQuantity(txCount.getTransactionCount());
+            sample.blockNumber = Numeric.decodeQuantity(txCount.getBlockNumber());
+        }
+        String pendingTxSize = await(pendingFuture, deadline);
+        if (pendingTxSize != null) {
+            sample.pendingTxSize = Numeric.decodeQuantity(pendingTxSize);
+        }
+        String syncStatusJson = await(syncStatusFuture, deadline);
+        if (syncStatusJson != null) {
+            try {
+                JsonNode syncStatus =
+                        ObjectMapperFactory.getObjectMapper().readTree(syncStatusJson);
+                sample.isSyncing = syncStatus.path("isSyncing").asText(null);
+            } catch (IOException e) {
+                logger.debug("parse the sync status failed, e: ", e);
+            }
+        }
+        for (BigInteger height : sample.nodeHeights.values()) {
+            if (height != null && sample.blockNumber != null) {
+                sample.blockNumber = sample.blockNumber.max(height);
+            } else if (height != null) {
+                sample.blockNumber = height;
+            }
+        }
+        return sample;
+    }
+
+    private static <T> T await(CompletableFuture<T> future, long deadline) {
+        try {
+            return future.get(
+                    Math.max(deadline - System.currentTimeMillis(), 0), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            logger.debug("the monitor query timeout");
+            return null;
+        } catch (ExecutionException e) {
+            logger.debug("the monitor query failed, e: ", e.getCause());
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    private static void printDashboard(
+            PrintStream out, String group, Sample first, Sample previous, Sample sample) {
+        out.println(
+                "group: "
+                        + group
+                        + "    time: "
+                        + DeployLogStore.formatTime(sample.time)
+                        + "    samples since: "
+                        + DeployLogStore.formatTime(first.time));
+        out.println();
+        out.println("block height      : " + valueOf(sample.blockNumber));
+        out.println(
+                "blocks/s          : "
+                        + formatRate(blocksPerSecond(previous, sample))
+                        + "  (avg "
+                        + formatRate(blocksPerSecond(first, sample))
+                        + ")");
+        out.println("total transactions: " + valueOf(sample.txSum));
+        out.println(
+                "tps               : "
+                        + formatRate(tps(previous, sample))
+                        + "  (avg "
+                        + formatRate(tps(first, sample))
+                        + ")");
+        out.println("pending tx size   : " + valueOf(sample.pendingTxSize));
+        out.println("syncing           : " + valueOf(sample.isSyncing));
+        out.println("node height skew  : " + valueOf(sample.skew()));
+        out.println();
+        int width = "node".length();
+        for (String node : sample.nodeHeights.keySet()) {
+            width = Math.max(width, node.length());
+        }
+        out.println(String.format("%-" + width + "s  %-12s  %s", "node", "height", "lag"));
+        for (Map.Entry<String, BigInteger> entry : sample.nodeHeights.entrySet()) {
+            BigInteger height = entry.getValue();
+            String lag =
+                    height == null || sample.blockNumber == null
+                            ? "-"
+                            : sample.blockNumber.subtract(height).toString();
+            out.println(
+                    String.format(
+                            "%-" + width + "s  %-12s  %s",
+                            entry.getKey(),
+                            height == null ? "error" : height.toString(),
+                            lag));
+        }
+    }
+
+    private static String formatLine(Sample previous, Sample sample) {
+        return DeployLogStore.formatTime(sample.time)
+                + "  height: "
+                + valueOf(sample.blockNumber)
+                + ", blocks/s: "
+                + formatRate(blocksPerSecond(previous, sample))
+                + ", tps: "
+                + formatRate(tps(previous, sample))
+                + ", pending: "
+                + valueOf(sample.pendingTxSize)
+                + ", skew: "
+                + valueOf(sample.skew());
+    }
+
+    private static String toCsv(Sample previous, Sample sample) {
+        return String.join(",", values(previous, sample).values());
+    }
+
+    private static String toJson(Sample previous, Sample sample) throws IOException {
+        Map<String, Object> values = new LinkedHashMap<>(values(previous, sample));
+        values.put("nodeHeights", sample.nodeHeights);
+        return ObjectMapperFactory.getObjectMapper().writeValueAsString(values);
+    }
+
+    /** @return the exported values in the order of {@link #CSV_HEADER} */
+    private static Map<String, String> values(Sample previous, Sample sample) {
+        Map<String, String> values = new LinkedHashMap<>();
+        values.put(CSV_HEADER[0], DeployLogStore.formatTime(sample.time));
+        values.put(CSV_HEADER[1], exportValue(sample.blockNumber));
+        values.put(CSV_HEADER[2], exportRate(blocksPerSecond(previous, sample)));
+        values.put(CSV_HEADER[3], exportValue(sample.txSum));
+        values.put(CSV_HEADER[4], exportRate(tps(previous, sample)));
+        values.put(CSV_HEADER[5], exportValue(sample.pendingTxSize));
+        values.put(CSV_HEADER[6], exportValue(sample.skew()));
+        values.put(CSV_HEADER[7], exportValue(sample.isSyncing));
+        return values;
+    }
+
+    private static Double blocksPerSecond(Sample from, Sample to) {
+        return from == null ? null : rate(from.blockNumber, to.blockNumber, to.time - from.time);
+    }
+
+    private static Double tps(Sample from, Sample to) {
+        return from == null ? null : rate(from.txSum, to.txSum, to.time - from.time);
+    }
+
+    private static Double rate(BigInteger from, BigInteger to, long millis) {
+        if (from == null || to == null || millis <= 0) {
+            return null;
+        }
+        return to.subtract(from).doubleValue() * 1000 / millis;
+    }
+
+    private static String formatRate(Double rate) {
+        return rate == null ? "-" : String.format("%.2f", rate);
+    }
+
+    private static String exportRate(Double rate) {
+        return rate == null ? "" : String.format("%.2f", rate);
+    }
+
+    private static String valueOf(Object value) {
+        return value == null ? "-" : value.toString();
+    }
+
+    private static String exportValue(Object value) {
+        return value == null ? "" : value.toString();
+    }
+
+    private static class Sample {
+        private final long time;
+        // node name -> block number, null if the query failed
+        private final Map<String, BigInteger> nodeHeights = new LinkedHashMap<>();
+        private BigInteger blockNumber;
+        private BigInteger txSum;
+        private BigInteger pendingTxSize;
+        private String isSyncing;
+
+        private Sample(long time) {
+            this.time = time;
+        }
+
+        /** @return the difference between the highest and the lowest node */
+        private BigInteger skew() {
+            BigInteger highest = null;
+            BigInteger lowest = null;
+            for (BigInteger height : nodeHeights.values()) {
+                if (height == null) {
+                    continue;
+                }
+                highest = highest == null ? height : highest.max(height);
+                lowest = lowest == null ? height : lowest.min(height);
+            }
+            return highest == null ? null : highest.subtract(lowest);
+        }
+    }
+}
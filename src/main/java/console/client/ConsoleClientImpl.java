@@ -3,6 +3,7 @@ package console.client;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import console.client.model.TotalTransactionCountResult;
 import console.common.Common;
+import console.common.ConsoleOutput;
 import console.common.ConsoleUtils;
 import console.contract.ConsoleContractImpl;
 import java.io.File;
@@ -16,7 +17,12 @@ import org.fisco.bcos.sdk.v3.client.Client;
 import org.fisco.bcos.sdk.v3.client.exceptions.ClientException;
 import org.fisco.bcos.sdk.v3.client.protocol.model.JsonTransactionResponse;
 import org.fisco.bcos.sdk.v3.client.protocol.response.BcosBlock;
+import org.fisco.bcos.sdk.v3.client.protocol.response.BcosGroupInfo;
 import org.fisco.bcos.sdk.v3.client.protocol.response.BcosGroupNodeInfo;
+import org.fisco.bcos.sdk.v3.client.protocol.response.ConsensusStatus;
+import org.fisco.bcos.sdk.v3.client.protocol.response.Peers;
+import org.fisco.bcos.sdk.v3.client.protocol.response.SealerList;
+import org.fisco.bcos.sdk.v3.client.protocol.response.SyncStatus;
 import org.fisco.bcos.sdk.v3.client.protocol.response.SystemConfig;
 import org.fisco.bcos.sdk.v3.client.protocol.response.TotalTransactionCount;
 import org.fisco.bcos.sdk.v3.config.ConfigOption;
@@ -47,17 +53,23 @@ public class ConsoleClientImpl implements ConsoleClientFace {
 
     @Override
     public void getBlockNumber(String[] params) throws IOException {
-        System.out.println(client.getBlockNumber(nodeName).getBlockNumber());
+        BigInteger blockNumber = client.getBlockNumber(nodeName).getBlockNumber();
+        ConsoleOutput.result("blockNumber", blockNumber);
+        System.out.println(blockNumber);
     }
 
     @Override
     public void getPbftView(String[] params) throws IOException {
-        System.out.println(client.getPbftView(nodeName).getPbftView());
+        BigInteger pbftView = client.getPbftView(nodeName).getPbftView();
+        ConsoleOutput.result("pbftView", pbftView);
+        System.out.println(pbftView);
     }
 
     @Override
     public void getObserverList(String[] params) throws IOException {
-        String observers = client.getObserverList(nodeName).getObserverList().toString();
+        List<String> observerList = client.getObserverList(nodeName).getObserverList();
+        ConsoleOutput.result("observerList", observerList);
+        String observers = observerList.toString();
         if ("[]".equals(observers)) {
             System.out.println("[]");
         } else {
@@ -67,7 +79,9 @@ public class ConsoleClientImpl implements ConsoleClientFace {
 
     @Override
     public void getSealerList(String[] params) throws IOException {
-        String sealers = client.getSealerList(nodeName).getSealerList().toString();
+        List<SealerList.Sealer> sealerList = client.getSealerList(nodeName).getSealerList();
+        ConsoleOutput.result("sealerList", sealerList);
+        String sealers = sealerList.toString();
         if ("[]".equals(sealers)) {
             System.out.println("[]");
         } else {
@@ -77,17 +91,21 @@ public class ConsoleClientImpl implements ConsoleClientFace {
 
     @Override
     public void getSyncStatus(String[] params) throws IOException {
-        ConsoleUtils.printJson(client.getSyncStatus(nodeName).getSyncStatus().toString());
+        SyncStatus.SyncStatusInfo syncStatus = client.getSyncStatus(nodeName).getSyncStatus();
+        ConsoleUtils.printJson("syncStatus", syncStatus, syncStatus.toString());
     }
 
     @Override
     public void getConsensusStatus(String[] params) throws IOException {
-        ConsoleUtils.printJson(client.getConsensusStatus().getConsensusStatus().toString());
+        ConsensusStatus.ConsensusStatusInfo consensusStatus =
+                client.getConsensusStatus().getConsensusStatus();
+        ConsoleUtils.printJson("consensusStatus", consensusStatus, consensusStatus.toString());
     }
 
     @Override
     public void getPeers(String[] params) throws IOException {
-        ConsoleUtils.printJson(client.getPeers().getPeers().toString());
+        Peers.PeersInfo peers = client.getPeers().getPeers();
+        ConsoleUtils.printJson("peers", peers, peers.toString());
     }
 
     @Override
@@ -101,16 +119,18 @@ public class ConsoleClientImpl implements ConsoleClientFace {
             } else if ("false".equals(params[2])) {
                 flag = false;
             } else {
-                System.out.println("Please provide true or false for the second parameter.");
+                ConsoleOutput.printFailure(
+                        "Please provide true or false for the second parameter.");
                 return;
             }
         }
         BcosBlock.Block block = client.getBlockByHash(nodeName, blockHash, false, flag).getBlock();
         if (block == null) {
+            ConsoleOutput.result("block", null);
             System.out.println("Block can not ne found, please check hash: " + blockHash);
             return;
         }
-        ConsoleUtils.printJson(block.toString());
+        ConsoleUtils.printJson("block", block, block.toString());
     }
 
     @Override
@@ -127,19 +147,21 @@ public class ConsoleClientImpl implements ConsoleClientFace {
             } else if ("false".equals(params[2])) {
                 flag = false;
             } else {
-                System.out.println("Please provide true or false for the second parameter.");
+                ConsoleOutput.printFailure(
+                        "Please provide true or false for the second parameter.");
                 return;
             }
         }
         BcosBlock blockByNumber =
                 client.getBlockByNumber(nodeName, BigInteger.valueOf(blockNumber), false, flag);
         if (blockByNumber.getBlock() == null) {
+            ConsoleOutput.result("block", null);
             System.out.println("Block not found, please check number: " + blockNumber);
         } else {
-            ConsoleUtils.printJson(
+            BcosBlock.Block block =
                     client.getBlockByNumber(nodeName, BigInteger.valueOf(blockNumber), false, flag)
-                            .getBlock()
-                            .toString());
+                            .getBlock();
+            ConsoleUtils.printJson("block", block, block.toString());
         }
     }
 
@@ -147,8 +169,9 @@ public class ConsoleClientImpl implements ConsoleClientFace {
     public void getBlockHeaderByHash(String[] params) throws IOException {
         String blockHash = params[1];
         if (ConsoleUtils.isInvalidHash(blockHash)) return;
-        ConsoleUtils.printJson(
-                client.getBlockByHash(nodeName, blockHash, true, false).getBlock().toString());
+        BcosBlock.Block blockHeader =
+                client.getBlockByHash(nodeName, blockHash, true, false).getBlock();
+        ConsoleUtils.printJson("blockHeader", blockHeader, blockHeader.toString());
     }
 
     @Override
@@ -163,9 +186,11 @@ public class ConsoleClientImpl implements ConsoleClientFace {
         if (blockHashByNumber.equals(EMPTY_HASH_HEX)) {
             System.out.println("BlockHash is empty, please check block number exists.");
         }
-        System.out.println(
+        String blockHash =
                 client.getBlockHashByNumber(BigInteger.valueOf(blockNumber))
-                        .getBlockHashByNumber());
+                        .getBlockHashByNumber();
+        ConsoleOutput.result("blockHash", blockHash);
+        System.out.println(blockHash);
     }
 
     @Override
@@ -175,10 +200,10 @@ public class ConsoleClientImpl implements ConsoleClientFace {
         if (blockNumber == Common.InvalidReturnNumber) {
             return;
         }
-        ConsoleUtils.printJson(
+        BcosBlock.Block blockHeader =
                 client.getBlockByNumber(nodeName, BigInteger.valueOf(blockNumber), true, false)
-                        .getBlock()
-                        .toString());
+                        .getBlock();
+        ConsoleUtils.printJson("blockHeader", blockHeader, blockHeader.toString());
     }
 
     @Override
@@ -188,10 +213,11 @@ public class ConsoleClientImpl implements ConsoleClientFace {
         JsonTransactionResponse transaction =
                 client.getTransaction(nodeName, transactionHash, false).getTransaction().get();
         if (transaction == null) {
+            ConsoleOutput.result("transaction", null);
             System.out.println("This transaction hash doesn't exist.");
             return;
         }
-        ConsoleUtils.printJson(transaction.toString());
+        ConsoleUtils.printJson("transaction", transaction, transaction.toString());
     }
 
     @Override
@@ -204,59 +230,65 @@ public class ConsoleClientImpl implements ConsoleClientFace {
                     client.getTransactionReceipt(nodeName, transactionHash, false)
                             .getTransactionReceipt();
         } catch (ClientException e) {
-            System.out.println(
+            ConsoleOutput.printFailure(
                     "This transaction hash doesn't exist, errorMsg:" + e.getErrorMessage());
             return;
         }
 
         if (Objects.isNull(receipt) || Objects.isNull(receipt.getTransactionHash())) {
+            ConsoleOutput.result("receipt", null);
             System.out.println("This transaction hash doesn't exist.");
             return;
         }
-        ConsoleUtils.printJson(ObjectMapperFactory.getObjectMapper().writeValueAsString(receipt));
+        ConsoleUtils.printJson(
+                "receipt",
+                receipt,
+                ObjectMapperFactory.getObjectMapper().writeValueAsString(receipt));
     }
 
     @Override
     public void getTransactionByHashWithProof(String[] params) throws Exception {
         String transactionHash = params[1];
         if (ConsoleUtils.isInvalidHash(transactionHash)) return;
-        String transactionWithProof =
-                client.getTransaction(nodeName, transactionHash, true).getResult().toString();
+        JsonTransactionResponse transaction =
+                client.getTransaction(nodeName, transactionHash, true).getResult();
+        String transactionWithProof = transaction.toString();
 
         if (Objects.isNull(transactionWithProof) || "".equals(transactionWithProof)) {
+            ConsoleOutput.result("transaction", null);
             System.out.println("This transaction hash doesn't exist.");
             return;
         }
-        ConsoleUtils.printJson(transactionWithProof);
+        ConsoleUtils.printJson("transaction", transaction, transactionWithProof);
     }
 
     @Override
     public void getTransactionReceiptByHashWithProof(String[] params) throws Exception {
         String transactionHash = params[1];
         if (ConsoleUtils.isInvalidHash(transactionHash)) return;
-        String transactionReceiptWithProof;
+        TransactionReceipt receipt;
         try {
-            transactionReceiptWithProof =
-                    client.getTransactionReceipt(nodeName, transactionHash, true)
-                            .getResult()
-                            .toString();
+            receipt = client.getTransactionReceipt(nodeName, transactionHash, true).getResult();
         } catch (ClientException e) {
-            System.out.println(
+            ConsoleOutput.printFailure(
                     "This transaction hash doesn't exist, errorMsg:" + e.getErrorMessage());
             return;
         }
+        String transactionReceiptWithProof = receipt.toString();
 
         if (Objects.isNull(transactionReceiptWithProof) || "".equals(transactionReceiptWithProof)) {
+            ConsoleOutput.result("receipt", null);
             System.out.println("This transaction hash doesn't exist.");
             return;
         }
-        ConsoleUtils.printJson(transactionReceiptWithProof);
+        ConsoleUtils.printJson("receipt", receipt, transactionReceiptWithProof);
     }
 
     @Override
     public void getPendingTxSize(String[] params) throws IOException {
-        String size = client.getPendingTxSize(nodeName).getResult();
-        System.out.println(Numeric.decodeQuantity(size));
+        BigInteger size = Numeric.decodeQuantity(client.getPendingTxSize(nodeName).getResult());
+        ConsoleOutput.result("pendingTxSize", size);
+        System.out.println(size);
     }
 
     @Override
@@ -264,23 +296,24 @@ public class ConsoleClientImpl implements ConsoleClientFace {
         String address = params[1];
         if (!isWasm) {
             if (!ConsoleUtils.isValidAddress(address)) {
-                System.out.println("This address is invalid.");
+                ConsoleOutput.printFailure("This address is invalid.");
                 return;
             }
         } else {
             try {
                 address = ConsoleUtils.fixedBfsParam(address, pwd).substring("/apps".length());
             } catch (Exception e) {
-                System.out.println("Path is error: " + address);
+                ConsoleOutput.printFailure("Path is error: " + address);
                 return;
             }
         }
         String code = client.getCode(nodeName, address).getCode();
         if ("0x".equals(code) || code.isEmpty()) {
+            ConsoleOutput.result("code", null);
             System.out.println("This address doesn't exist.");
             return;
         }
-        ConsoleUtils.printJson(code);
+        ConsoleUtils.printJson("code", code, code);
     }
 
     @Override
@@ -302,6 +335,8 @@ public class ConsoleClientImpl implements ConsoleClientFace {
         }
 
         ConsoleUtils.printJson(
+                "totalTransactionCount",
+                innerTotalTransactionCountResult,
                 ObjectMapperFactory.getObjectMapper()
                         .writeValueAsString(innerTotalTransactionCountResult));
     }
@@ -311,9 +346,11 @@ public class ConsoleClientImpl implements ConsoleClientFace {
         String key = params[1];
         SystemConfig systemConfigByKey = client.getSystemConfigByKey(nodeName, key);
         if (systemConfigByKey.getSystemConfig() == null) {
+            ConsoleOutput.result(key, null);
             System.out.println("System config not found, please check key: " + key);
         } else {
             String value = client.getSystemConfigByKey(nodeName, key).getSystemConfig().getValue();
+            ConsoleOutput.result(key, value);
             System.out.println(value);
         }
     }
@@ -325,7 +362,7 @@ public class ConsoleClientImpl implements ConsoleClientFace {
             accountFormat = params[1];
         }
         if (!accountFormat.equals("pem") && !accountFormat.equals("p12")) {
-            System.out.println(
+            ConsoleOutput.printFailure(
                     "Invalid account format \""
                             + accountFormat
                             + "\" only support \"pem\" and \"p12\" now!");
@@ -338,32 +375,37 @@ public class ConsoleClientImpl implements ConsoleClientFace {
         CryptoSuite cryptoSuite = client.getCryptoSuite();
         CryptoKeyPair cryptoKeyPair = cryptoSuite.getKeyPairFactory().generateKeyPair();
         cryptoSuite.setConfig(cryptoSuite.getConfig());
+        String accountPath;
         if (accountFormat.equals("pem")) {
             // save the account
             cryptoKeyPair.storeKeyPairWithPemFormat();
-            System.out.println("AccountPath: " + cryptoKeyPair.getPemKeyStoreFilePath());
+            accountPath = cryptoKeyPair.getPemKeyStoreFilePath();
         } else {
             cryptoKeyPair.storeKeyPairWithP12Format(password);
-            System.out.println("AccountPath: " + cryptoKeyPair.getP12KeyStoreFilePath());
-        }
+            accountPath = cryptoKeyPair.getP12KeyStoreFilePath();
+        }
+        String accountType =
+                cryptoSuite.getCryptoTypeConfig() == CryptoType.ECDSA_TYPE ? "ecdsa" : "sm";
+        ConsoleOutput.result("accountPath", accountPath);
+        ConsoleOutput.result("address", cryptoKeyPair.getAddress());
+        ConsoleOutput.result("accountType", accountType);
+        System.out.println("AccountPath: " + accountPath);
         System.out.println(
                 "Note: This operation does not create an account in the blockchain, but only creates a local account, and deploying a contract through this account will create an account in the blockchain");
         System.out.println("newAccount: " + cryptoKeyPair.getAddress());
-        System.out.println(
-                "AccountType: "
-                        + (cryptoSuite.getCryptoTypeConfig() == CryptoType.ECDSA_TYPE
-                                ? "ecdsa"
-                                : "sm"));
+        System.out.println("AccountType: " + accountType);
     }
 
     @Override
     public void listAccount(String[] params) {
         List<String> accountList = listAccount(this.client);
+        ConsoleOutput.result("accounts", accountList);
         if (accountList.size() == 0) {
             System.out.println("Empty set");
             return;
         }
         String currentAccount = client.getCryptoSuite().getCryptoKeyPair().getAddress();
+        ConsoleOutput.result("currentAccount", currentAccount);
         System.out.println(currentAccount + "(current account) <=");
         for (int i = 0; i < accountList.size(); i++) {
             if (!accountList.get(i).equals(currentAccount)) {
@@ -419,37 +461,46 @@ public class ConsoleClientImpl implements ConsoleClientFace {
 
     @Override
     public void getGroupList(String[] params) {
-        ConsoleUtils.printJson(client.getGroupList().getResult().getGroupList().toString());
+        List<String> groupList = client.getGroupList().getResult().getGroupList();
+        ConsoleUtils.printJson("groupList", groupList, groupList.toString());
     }
 
     @Override
     public void getGroupPeers(String[] params) {
+        List<String> groupPeers = client.getGroupPeers().getGroupPeers();
+        ConsoleOutput.result("groupPeers", groupPeers);
         int i = 0;
-        for (String groupPeer : client.getGroupPeers().getGroupPeers()) {
+        for (String groupPeer : groupPeers) {
             System.out.println("peer" + (i++) + ": " + groupPeer);
         }
     }
 
     @Override
     public void getGroupInfo(String[] params) throws IOException {
+        BcosGroupInfo.GroupInfo groupInfo = client.getGroupInfo().getResult();
         ConsoleUtils.printJson(
-                ObjectMapperFactory.getObjectMapper()
-                        .writeValueAsString(client.getGroupInfo().getResult()));
+                "groupInfo",
+                groupInfo,
+                ObjectMapperFactory.getObjectMapper().writeValueAsString(groupInfo));
     }
 
     @Override
     public void getGroupInfoList(String[] params) throws JsonProcessingException {
+        List<BcosGroupInfo.GroupInfo> groupInfoList = client.getGroupInfoList().getResult();
         ConsoleUtils.printJson(
-                ObjectMapperFactory.getObjectMapper()
-                        .writeValueAsString(client.getGroupInfoList().getResult()));
+                "groupInfoList",
+                groupInfoList,
+                ObjectMapperFactory.getObjectMapper().writeValueAsString(groupInfoList));
     }
 
     @Override
     public void getGroupNodeInfo(String[] params) throws JsonProcessingException {
         String node = params[1];
+        BcosGroupNodeInfo.GroupNodeInfo groupNodeInfo = client.getGroupNodeInfo(node).getResult();
         ConsoleUtils.printJson(
-                ObjectMapperFactory.getObjectMapper()
-                        .writeValueAsString(client.getGroupNodeInfo(node).getResult()));
+                "groupNodeInfo",
+                groupNodeInfo,
+                ObjectMapperFactory.getObjectMapper().writeValueAsString(groupNodeInfo));
     }
 
     @Override
@@ -465,7 +516,7 @@ public class ConsoleClientImpl implements ConsoleClientFace {
                     }
                 });
         if (!findFlag.get()) {
-            System.out.println(
+            ConsoleOutput.printFailure(
                     "Invalid nodeName: "
                             + newNodeName
                             + ", node not contains in node list, check command 'getGroupInfo'.");
@@ -477,12 +528,14 @@ public class ConsoleClientImpl implements ConsoleClientFace {
 
     @Override
     public void clearNodeName() {
+        ConsoleOutput.result("nodeName", "");
         System.out.println("Clear nodeName to empty.");
         this.nodeName = "";
     }
 
     @Override
     public void getNodeName() {
+        ConsoleOutput.result("nodeName", this.nodeName);
         if (this.nodeName.isEmpty()) {
             System.out.println(
                     "Current default node name is empty, RPC will send request to node randomly.");
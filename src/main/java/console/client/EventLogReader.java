@@ -0,0 +1,501 @@
+package console.client;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import console.ConsoleInitializer;
+import console.command.model.HelpInfo;
+import console.common.Common;
+import console.common.ConsoleOutput;
+import console.common.ConsoleUtils;
+import console.common.OrderedTaskPipeline;
+import console.contract.utils.AbiRegistry;
+import console.contract.utils.ContractAddressIndex;
+import console.contract.utils.ContractCompiler;
+import console.contract.utils.RemoteAbiCache;
+import java.io.IOException;
+import java.io.Writer;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.fisco.bcos.sdk.v3.client.Client;
+import org.fisco.bcos.sdk.v3.codec.ContractCodec;
+import org.fisco.bcos.sdk.v3.codec.EventEncoder;
+import org.fisco.bcos.sdk.v3.codec.wrapper.ABIDefinition;
+import org.fisco.bcos.sdk.v3.codec.wrapper.ContractABIDefinition;
+import org.fisco.bcos.sdk.v3.model.EventLog;
+import org.fisco.bcos.sdk.v3.model.TransactionReceipt;
+import org.fisco.bcos.sdk.v3.utils.ObjectMapperFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Reads the event logs of a contract from the receipts of the blocks, and decodes them with the
+ * abi of the contract. The tail mode polls the new blocks from a given block, the range mode
+ * fetches a range of blocks in parallel. The blocks are fetched with a bounded number in flight
+ * and the events are written in the block order, so a slow reader or a long range doesn't pile up
+ * the fetched blocks in memory. The receipts of a block are fetched in parallel too, on their own
+ * pool, with the same bound per block.
+ */
+public class EventLogReader {
+    private static final Logger logger = LoggerFactory.getLogger(EventLogReader.class);
+
+    public static final int DEFAULT_PARALLELISM = 8;
+    public static final int MAX_PARALLELISM = 32;
+    public static final int DEFAULT_INTERVAL_SECONDS = 1;
+    private static final String TAIL = "tail";
+    private static final String RANGE = "range";
+
+    private static final ExecutorService eventExecutor =
+            Executors.newFixedThreadPool(
+                    MAX_PARALLELISM,
+                    runnable -> {
+                        Thread thread = new Thread(runnable, "events");
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+    // the block tasks wait for the receipt tasks, so they don't share a pool
+    private static final ExecutorService receiptExecutor =
+            Executors.newFixedThreadPool(
+                    MAX_PARALLELISM,
+                    runnable -> {
+                        Thread thread = new Thread(runnable, "eventReceipts");
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+
+    private final ConsoleInitializer consoleInitializer;
+    private final ObjectMapper objectMapper = ObjectMapperFactory.getObjectMapper();
+
+    public EventLogReader(ConsoleInitializer consoleInitializer) {
+        this.consoleInitializer = consoleInitializer;
+    }
+
+    public void events(String[] params, String pwd) throws Exception {
+        String mode = params[1];
+        if (!TAIL.equals(mode) && !RANGE.equals(mode)) {
+            HelpInfo.promptHelp(params[0]);
+            return;
+        }
+        boolean tail = TAIL.equals(mode);
+        // events range contract from to [event] [options]
+        int positionals = tail ? 3 : 5;
+        if (params.length < positionals) {
+            HelpInfo.promptHelp(params[0]);
+            return;
+        }
+        Client client = consoleInitializer.getClient();
+        long from = -1;
+        long to = -1;
+        if (!tail) {
+            from = ConsoleUtils.processLong("from", params[3], 0, Long.MAX_VALUE);
+            to = ConsoleUtils.processLong("to", params[4], 0, Long.MAX_VALUE);
+            if (from == Common.InvalidLongValue || to == Common.InvalidLongValue) {
+                return;
+            }
+            if (from > to) {
+                System.out.println("Please provide \"from\" not larger than \"to\".");
+                return;
+            }
+        }
+        String event = null;
+        if (params.length > positionals && !params[positionals].startsWith("-")) {
+            event = params[positionals++];
+        }
+        int parallelism = DEFAULT_PARALLELISM;
+        int intervalSeconds = DEFAULT_INTERVAL_SECONDS;
+        int count = 0;
+        String outputFile = null;
+        for (int i = positionals; i < params.length; i++) {
+            String option = params[i];
+            if (i + 1 >= params.length) {
+                HelpInfo.promptHelp(params[0]);
+                return;
+            }
+            String value = params[++i];
+            if ("-p".equals(option) || "--parallel".equals(option)) {
+                parallelism =
+                        ConsoleUtils.processNonNegativeNumber(
+                                "parallel", value, 1, MAX_PARALLELISM);
+                if (parallelism == Common.InvalidReturnNumber) {
+                    return;
+                }
+            } else if ("-o".equals(option) || "--output".equals(option)) {
+                outputFile = value;
+            } else if (tail && "--from".equals(option)) {
+                from = ConsoleUtils.processLong("from", value, 0, Long.MAX_VALUE);
+                if (from == Common.InvalidLongValue) {
+                    return;
+                }
+            } else if (tail && ("-i".equals(option) || "--interval".equals(option))) {
+                intervalSeconds =
+                        ConsoleUtils.processNonNegativeNumber("interval", value, 1, 3600);
+                if (intervalSeconds == Common.InvalidReturnNumber) {
+                    return;
+                }
+            } else if (tail && ("-c".equals(option) || "--count".equals(option))) {
+                count = ConsoleUtils.processNonNegativeNumber("count", value);
+                if (count == Common.InvalidReturnNumber) {
+                    return;
+                }
+            } else {
+                HelpInfo.promptHelp(params[0]);
+                return;
+            }
+        }
+
+        Filter filter = resolveFilter(client, params[2], event, pwd);
+        if (filter == null) {
+            return;
+        }
+        long latest = client.getBlockNumber().getBlockNumber().longValue();
+        // the events are streamed to stdout as they are read, not held by the command output
+        Writer writer =
+                outputFile == null
+                        ? ConsoleOutput.rawWriter()
+                        : Files.newBufferedWriter(Paths.get(outputFile), StandardCharsets.UTF_8);
+        EventSink sink = new EventSink(writer);
+        try {
+            if (tail) {
+                long start = from < 0 ? latest + 1 : from;
+                tail(client, filter, start, parallelism, intervalSeconds, count, sink);
+            } else {
+                long end = Math.min(to, latest);
+                if (end < to) {
+                    System.out.println(
+                            "The block "
+                                    + to
+                                    + " is not produced yet, read to the latest block "
+                                    + end);
+                }
+                ConsoleOutput.flush();
+                long startTime = System.currentTimeMillis();
+                if (from <= end) {
+                    fetch(client, filter, from, end, parallelism, sink);
+                }
+                sink.flush();
+                ConsoleOutput.result("events", sink.events);
+                ConsoleOutput.result("nextBlock", Math.max(from, end + 1));
+                System.out.println(
+                        "Read "
+                                + sink.events
+                                + " events from block "
+                                + from
+                                + " to "
+                                + end
+                                + (outputFile == null ? "" : " to " + outputFile)
+                                + ", time cost: "
+                                + (System.currentTimeMillis() - startTime)
+                                + " ms");
+            }
+        } finally {
+            writer.close();
+        }
+    }
+
+    private void tail(
+            Client client,
+            Filter filter,
+            long start,
+            int parallelism,
+            int intervalSeconds,
+            int count,
+            EventSink sink)
+            throws Exception {
+        // the tail is stopped by Enter only on a terminal
+        boolean terminal = System.console() != null;
+        System.out.println(
+                "Tail the events of "
+                        + filter.address
+                        + " from block "
+                        + start
+                        + (terminal ? ", press Enter to stop." : "."));
+        ConsoleOutput.flush();
+        sink.limit = count;
+        sink.follow = true;
+        long next = start;
+        while (true) {
+            long latest = client.getBlockNumber().getBlockNumber().longValue();
+            if (next <= latest) {
+                next = fetch(client, filter, next, latest, parallelism, sink);
+                sink.flush();
+            }
+            if (sink.isFull() || ChainMonitor.waitNext(intervalSeconds, terminal)) {
+                break;
+            }
+        }
+        ConsoleOutput.result("events", sink.events);
+        ConsoleOutput.result("nextBlock", next);
+        System.out.println("Read " + sink.events + " events, the next block is " + next);
+    }
+
+    /** @return the block after the last one handed to the sink */
+    private long fetch(
+            Client client, Filter filter, long start, long end, int parallelism, EventSink sink)
+            throws Exception {
+        long[] next = {start};
+        OrderedTaskPipeline<Long, List<ObjectNode>> pipeline =
+                new OrderedTaskPipeline<>(eventExecutor, parallelism);
+        try {
+            pipeline.run(
+                    range(start, end, sink),
+                    number -> readBlock(client, filter, number, parallelism),
+                    (number, events) -> {
+                        sink.write(events);
+                        next[0] = number + 1;
+                    });
+        } catch (Exception e) {
+            logger.error("read the events of block {} failed, e: ", next[0], e);
+            throw new IOException(
+                    "read the events of block " + next[0] + " failed: " + e.getMessage(), e);
+        }
+        return next[0];
+    }
+
+    /**
+     * @param parallelism the max number of receipts of the block fetched at the same time
+     * @return the events of the contract in the block, in the order of the receipts
+     */
+    private List<ObjectNode> readBlock(
+            Client client, Filter filter, long number, int parallelism) throws Exception {
+        JsonNode transactions =
+                objectMapper
+                        .valueToTree(
+                                client.getBlockByNumber(BigInteger.valueOf(number), false, false)
+                                        .getBlock())
+                        .path("transactions");
+        List<String> hashes = new ArrayList<>(transactions.size());
+        for (JsonNode transaction : transactions) {
+            hashes.add(transaction.path("hash").asText());
+        }
+        List<ObjectNode> events = new ArrayList<>();
+        if (hashes.size() == 1) {
+            events.addAll(readReceipt(client, filter, number, hashes.get(0)));
+            return events;
+        }
+        new OrderedTaskPipeline<String, List<ObjectNode>>(receiptExecutor, parallelism)
+                .run(
+                        hashes.iterator(),
+                        hash -> readReceipt(client, filter, number, hash),
+                        (hash, receiptEvents) -> events.addAll(receiptEvents));
+        return events;
+    }
+
+    /** @return the events of the contract in the receipt of the transaction */
+    private List<ObjectNode> readReceipt(Client client, Filter filter, long number, String hash)
+            throws Exception {
+        TransactionReceipt receipt =
+                client.getTransactionReceipt(hash, false).getTransactionReceipt();
+        if (receipt == null || receipt.getLogEntries() == null) {
+            return Collections.emptyList();
+        }
+        List<ObjectNode> events = new ArrayList<>();
+        List<TransactionReceipt.Logs> logs = receipt.getLogEntries();
+        for (int i = 0; i < logs.size(); i++) {
+            // only the logs of the events are decoded
+            ABIDefinition definition = filter.match(logs.get(i));
+            if (definition == null) {
+                continue;
+            }
+            ObjectNode record = objectMapper.createObjectNode();
+            record.put("blockNumber", number);
+            record.put("transactionHash", hash);
+            record.put("logIndex", i);
+            record.setAll(filter.decode(logs.get(i), definition));
+            events.add(record);
+        }
+        return events;
+    }
+
+    /** the blocks to fetch, it stops early when the sink has got enough events */
+    private static Iterator<Long> range(long start, long end, EventSink sink) {
+        return new Iterator<Long>() {
+            private long next = start;
+
+            @Override
+            public boolean hasNext() {
+                return next <= end && !sink.isFull();
+            }
+
+            @Override
+            public Long next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return next++;
+            }
+        };
+    }
+
+    /**
+     * resolve the contract, an address, the name of a contract deployed by the console or a BFS
+     * link, and the event, a name, a signature or a topic
+     *
+     * @return null if the contract or the event is not found
+     */
+    private Filter resolveFilter(Client client, String contract, String event, String pwd)
+            throws Exception {
+        String address = null;
+        String contractName = null;
+        if (ConsoleUtils.isValidAddress(contract)) {
+            address = contract;
+        } else if (contract.contains("/")) {
+            address =
+                    RemoteAbiCache.readlink(
+                            client,
+                            consoleInitializer.getClientServices().getBfsService(),
+                            ConsoleUtils.fixedBfsParam(contract, pwd));
+        } else {
+            contractName = ConsoleUtils.getContractName(ConsoleUtils.resolvePath(contract));
+            address = ContractAddressIndex.latest(client.getGroup(), contractName);
+        }
+        if (address == null
+                || address.isEmpty()
+                || address.equals(Common.EMPTY_CONTRACT_ADDRESS)) {
+            System.out.println("Can not find the address of the contract " + contract + ".");
+            return null;
+        }
+        String abi = RemoteAbiCache.getAbi(client, address);
+        if (abi.isEmpty() && contractName != null) {
+            abi = ContractCompiler.loadAbi(client.getGroup(), contractName, address).getAbi();
+        }
+        ContractABIDefinition contractABIDefinition =
+                abi == null || abi.isEmpty()
+                        ? null
+                        : AbiRegistry.getContractABIDefinition(client.getCryptoSuite(), abi);
+        if (contractABIDefinition == null) {
+            System.out.println("Can not find the abi of the contract " + address + ".");
+            return null;
+        }
+
+        Filter filter = new Filter(client, address, abi);
+        EventEncoder eventEncoder = new EventEncoder(client.getCryptoSuite());
+        for (List<ABIDefinition> definitions : contractABIDefinition.getEvents().values()) {
+            for (ABIDefinition definition : definitions) {
+                String signature = definition.getMethodSignatureAsString();
+                String topic = eventEncoder.buildEventSignature(signature).toLowerCase();
+                if (event == null
+                        || event.equals(definition.getName())
+                        || event.replaceAll("\\s", "").equals(signature)
+                        || event.equalsIgnoreCase(topic)) {
+                    filter.events.put(topic, definition);
+                }
+            }
+        }
+        if (filter.events.isEmpty()) {
+            System.out.println(
+                    event == null
+                            ? "The contract " + address + " has no event."
+                            : "Can not find the event " + event + " of the contract " + address);
+            return null;
+        }
+        return filter;
+    }
+
+    /** the events of a contract, keyed by the topic */
+    private class Filter {
+        private final String address;
+        private final String abi;
+        private final ContractCodec contractCodec;
+        private final Map<String, ABIDefinition> events = new HashMap<>();
+
+        private Filter(Client client, String address, String abi) {
+            this.address = address.toLowerCase();
+            this.abi = abi;
+            this.contractCodec = new ContractCodec(client.getCryptoSuite(), client.isWASM());
+        }
+
+        /**
+         * @return the event of the log by the address and the topic, or null if the log is not one
+         *     of the events
+         */
+        private ABIDefinition match(TransactionReceipt.Logs log) {
+            List<String> topics = log.getTopics();
+            if (log.getAddress() == null
+                    || !address.equals(log.getAddress().toLowerCase())
+                    || topics == null
+                    || topics.isEmpty()) {
+                return null;
+            }
+            return events.get(topics.get(0).toLowerCase());
+        }
+
+        /** @return the decoded event of a log matched by {@link #match} */
+        private ObjectNode decode(TransactionReceipt.Logs log, ABIDefinition definition) {
+            List<String> topics = log.getTopics();
+            String topic = topics.get(0).toLowerCase();
+            ObjectNode event = objectMapper.createObjectNode();
+            event.put("event", definition.getMethodSignatureAsString());
+            try {
+                List<String> values =
+                        contractCodec.decodeEventByTopicToString(
+                                abi, topic, new EventLog(log.getData(), topics));
+                ObjectNode args = event.putObject("args");
+                List<ABIDefinition.NamedType> inputs = definition.getInputs();
+                for (int i = 0; i < values.size(); i++) {
+                    String name = i < inputs.size() ? inputs.get(i).getName() : "";
+                    args.put(
+                            name == null || name.isEmpty() ? String.valueOf(i) : name,
+                            values.get(i));
+                }
+            } catch (Exception e) {
+                // keep the raw log, the other events are still decoded
+                logger.debug("decode the event {} failed, e: ", topic, e);
+                event.put("error", String.valueOf(e.getMessage()));
+                ArrayNode rawTopics = event.putArray("topics");
+                topics.forEach(rawTopics::add);
+                event.put("data", log.getData());
+            }
+            return event;
+        }
+    }
+
+    /**
+     * writes one compact JSON line per event, flushed after each block with events in the tail
+     * mode and at the end of the range mode; a slow stdout blocks the writes and so the fetching
+     */
+    private class EventSink {
+        private final Writer writer;
+        private long events;
+        private long limit;
+        // flush the events of each block as soon as they are read
+        private boolean follow;
+
+        private EventSink(Writer writer) {
+            this.writer = writer;
+        }
+
+        private boolean isFull() {
+            return limit > 0 && events >= limit;
+        }
+
+        private void write(List<ObjectNode> records) throws IOException {
+            for (ObjectNode record : records) {
+                if (isFull()) {
+                    return;
+                }
+                writer.write(objectMapper.writeValueAsString(record));
+                writer.write(System.lineSeparator());
+                events++;
+            }
+            if (follow && !records.isEmpty()) {
+                flush();
+            }
+        }
+
+        private void flush() throws IOException {
+            writer.flush();
+        }
+    }
+}
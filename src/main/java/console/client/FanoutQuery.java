@@ -0,0 +1,300 @@
+package console.client;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import console.ConsoleInitializer;
+import console.GroupContext;
+import console.command.model.HelpInfo;
+import console.common.ConsoleOutput;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.fisco.bcos.sdk.v3.client.Client;
+import org.fisco.bcos.sdk.v3.client.protocol.response.BcosGroupNodeInfo;
+import org.fisco.bcos.sdk.v3.client.protocol.response.TotalTransactionCount;
+import org.fisco.bcos.sdk.v3.utils.Numeric;
+import org.fisco.bcos.sdk.v3.utils.ObjectMapperFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Runs a read only query against all the nodes of the group and/or all the groups concurrently,
+ * and prints the results in one table with the latency of each target and the block lag of each
+ * node behind the highest node of its group.
+ */
+public class FanoutQuery {
+    private static final Logger logger = LoggerFactory.getLogger(FanoutQuery.class);
+
+    public static final long TIMEOUT_SECONDS = 30;
+    private static final int FANOUT_THREAD_COUNT = 16;
+    // the node name of a group level target, the request is sent to a random node
+    private static final String ANY_NODE = "";
+
+    private static final ExecutorService fanoutExecutor =
+            Executors.newFixedThreadPool(
+                    FANOUT_THREAD_COUNT,
+                    runnable -> {
+                        Thread thread = new Thread(runnable, "fanout");
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+
+    private static final Map<String, Query> queries = new LinkedHashMap<>();
+
+    static {
+        queries.put(
+                "getBlockNumber",
+                (client, node) -> {
+                    BigInteger blockNumber = client.getBlockNumber(node).getBlockNumber();
+                    return new QueryResult(blockNumber.toString(), blockNumber);
+                });
+        queries.put(
+                "getSyncStatus",
+                (client, node) -> {
+                    String syncStatusJson = client.getSyncStatus(node).getSyncStatus().toString();
+                    JsonNode syncStatus =
+                            ObjectMapperFactory.getObjectMapper().readTree(syncStatusJson);
+                    JsonNode blockNumberNode = syncStatus.path("blockNumber");
+                    BigInteger blockNumber =
+                            blockNumberNode.isNumber() ? blockNumberNode.bigIntegerValue() : null;
+                    return new QueryResult(
+                            "blockNumber: "
+                                    + blockNumber
+                                    + ", knownHighestNumber: "
+                                    + syncStatus.path("knownHighestNumber").asText()
+                                    + ", isSyncing: "
+                                    + syncStatus.path("isSyncing").asText(),
+                            blockNumber);
+                });
+        queries.put(
+                "getPendingTxSize",
+                (client, node) ->
+                        new QueryResult(
+                                Numeric.decodeQuantity(client.getPendingTxSize(node).getResult())
+                                        .toString(),
+                                null));
+        queries.put(
+                "getTotalTransactionCount",
+                (client, node) -> {
+                    TotalTransactionCount.TransactionCountInfo transactionCount =
+                            client.getTotalTransactionCount(node).getTotalTransactionCount();
+                    BigInteger blockNumber =
+                            Numeric.decodeQuantity(transactionCount.getBlockNumber());
+                    String failedTxSum =
+                            transactionCount.getFailedTransactionCount() == null
+                                    ? "0"
+                                    : Numeric.decodeQuantity(
+                                                    transactionCount.getFailedTransactionCount())
+                                            .toString();
+                    return new QueryResult(
+                            "blockNumber: "
+                                    + blockNumber
+                                    + ", txSum: "
+                                    + Numeric.decodeQuantity(transactionCount.getTransactionCount())
+                                    + ", failedTxSum: "
+                                    + failedTxSum,
+                            blockNumber);
+                });
+        queries.put(
+                "getPbftView",
+                (client, node) ->
+                        new QueryResult(client.getPbftView(node).getPbftView().toString(), null));
+    }
+
+    private final ConsoleInitializer consoleInitializer;
+
+    public FanoutQuery(ConsoleInitializer consoleInitializer) {
+        this.consoleInitializer = consoleInitializer;
+    }
+
+    public void fanout(String[] params) throws Exception {
+        boolean allGroups = false;
+        boolean allNodes = false;
+        String command = null;
+        for (int i = 1; i < params.length; i++) {
+            if ("-g".equals(params[i]) || "--all-groups".equals(params[i])) {
+                allGroups = true;
+            } else if ("-n".equals(params[i]) || "--all-nodes".equals(params[i])) {
+                allNodes = true;
+            } else if (command == null) {
+                command = params[i];
+            } else {
+                HelpInfo.promptHelp("fanout");
+                return;
+            }
+        }
+        Query query = command == null ? null : queries.get(command);
+        if (query == null) {
+            System.out.println(
+                    "Please provide one of the commands: " + String.join(", ", queries.keySet()));
+            return;
+        }
+        if (!allGroups) {
+            // the nodes of the current group by default
+            allNodes = true;
+        }
+
+        List<Target> targets = listTargets(allGroups, allNodes);
+        long startTime = System.currentTimeMillis();
+        List<CompletableFuture<QueryResult>> futures = new ArrayList<>();
+        for (Target target : targets) {
+            futures.add(CompletableFuture.supplyAsync(() -> target.query(query), fanoutExecutor));
+        }
+        List<QueryResult> results = new ArrayList<>();
+        long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(TIMEOUT_SECONDS);
+        for (int i = 0; i < targets.size(); i++) {
+            long timeoutMillis = deadline - System.currentTimeMillis();
+            results.add(waitResult(futures.get(i), timeoutMillis, targets.get(i)));
+        }
+        printResults(targets, results);
+        if (ConsoleOutput.getFormat() == ConsoleOutput.Format.TABLE) {
+            System.out.println(
+                    targets.size()
+                            + " targets, time cost: "
+                            + (System.currentTimeMillis() - startTime)
+                            + " ms");
+        }
+    }
+
+    private List<Target> listTargets(boolean allGroups, boolean allNodes) {
+        List<String> groups =
+                allGroups
+                        ? consoleInitializer
+                                .getClient()
+                                .getGroupList()
+                                .getResult()
+                                .getGroupList()
+                        : Collections.singletonList(consoleInitializer.getGroupID());
+        List<Target> targets = new ArrayList<>();
+        for (String group : groups) {
+            GroupContext groupContext = consoleInitializer.getGroupContext(group);
+            if (groupContext == null) {
+                logger.warn("skip the group {} which can not be connected", group);
+                continue;
+            }
+            Client client = groupContext.getClient();
+            if (!allNodes) {
+                targets.add(new Target(client, ANY_NODE));
+                continue;
+            }
+            List<BcosGroupNodeInfo.GroupNodeInfo> nodes =
+                    client.getGroupInfo().getResult().getNodeList();
+            for (BcosGroupNodeInfo.GroupNodeInfo node : nodes) {
+                targets.add(new Target(client, node.getName()));
+            }
+        }
+        return targets;
+    }
+
+    private static QueryResult waitResult(
+            CompletableFuture<QueryResult> future, long timeoutMillis, Target target) {
+        try {
+            return future.get(Math.max(timeoutMillis, 0), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            return QueryResult.failed("timeout", TimeUnit.SECONDS.toMillis(TIMEOUT_SECONDS));
+        } catch (ExecutionException e) {
+            logger.debug("query {} failed, e: ", target, e);
+            return QueryResult.failed(String.valueOf(e.getCause().getMessage()), 0);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return QueryResult.failed("interrupted", 0);
+        }
+    }
+
+    private static void printResults(List<Target> targets, List<QueryResult> results) {
+        // the lag is counted from the highest block number of the group
+        Map<String, BigInteger> highestBlocks = new HashMap<>();
+        for (int i = 0; i < targets.size(); i++) {
+            BigInteger blockNumber = results.get(i).blockNumber;
+            if (blockNumber != null) {
+                highestBlocks.merge(targets.get(i).getGroup(), blockNumber, BigInteger::max);
+            }
+        }
+        List<String[]> rows = new ArrayList<>();
+        for (int i = 0; i < targets.size(); i++) {
+            Target target = targets.get(i);
+            QueryResult result = results.get(i);
+            String lag = "";
+            if (result.blockNumber != null) {
+                lag = highestBlocks.get(target.getGroup()).subtract(result.blockNumber).toString();
+            }
+            rows.add(
+                    new String[] {
+                        target.getGroup(),
+                        target.node.isEmpty() ? "-" : target.node,
+                        result.error != null ? "error: " + result.error : result.value,
+                        lag,
+                        String.valueOf(result.latency)
+                    });
+        }
+        ConsoleOutput.printTable(
+                new String[] {"group", "node", "result", "lag", "latency(ms)"}, rows);
+    }
+
+    @FunctionalInterface
+    private interface Query {
+        QueryResult query(Client client, String node) throws Exception;
+    }
+
+    private static class Target {
+        private final Client client;
+        private final String node;
+
+        private Target(Client client, String node) {
+            this.client = client;
+            this.node = node;
+        }
+
+        private String getGroup() {
+            return client.getGroup();
+        }
+
+        private QueryResult query(Query query) {
+            long startTime = System.currentTimeMillis();
+            QueryResult result;
+            try {
+                result = query.query(client, node);
+            } catch (Exception e) {
+                logger.debug("query {} failed, e: ", this, e);
+                result = QueryResult.failed(String.valueOf(e.getMessage()), 0);
+            }
+            result.latency = System.currentTimeMillis() - startTime;
+            return result;
+        }
+
+        @Override
+        public String toString() {
+            return getGroup() + (node.isEmpty() ? "" : "/" + node);
+        }
+    }
+
+    private static class QueryResult {
+        private final String value;
+        // the block number of the node, used to count the lag
+        private final BigInteger blockNumber;
+        private String error;
+        private long latency;
+
+        private QueryResult(String value, BigInteger blockNumber) {
+            this.value = value;
+            this.blockNumber = blockNumber;
+        }
+
+        private static QueryResult failed(String error, long latency) {
+            QueryResult result = new QueryResult("", null);
+            result.error = error;
+            result.latency = latency;
+            return result;
+        }
+    }
+}
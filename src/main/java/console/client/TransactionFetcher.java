@@ -0,0 +1,272 @@
+package console.client;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import console.ConsoleInitializer;
+import console.command.model.HelpInfo;
+import console.common.Common;
+import console.common.ConsoleUtils;
+import console.common.OrderedTaskPipeline;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.fisco.bcos.sdk.v3.client.Client;
+import org.fisco.bcos.sdk.v3.client.exceptions.ClientException;
+import org.fisco.bcos.sdk.v3.utils.ObjectMapperFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Reads transaction hashes from a file, one per line, fetches the transactions and the receipts
+ * with a bounded number of requests in flight, and writes one compact JSON line per hash in the
+ * order of the file, followed by a summary of the receipt status codes.
+ */
+public class TransactionFetcher {
+    private static final Logger logger = LoggerFactory.getLogger(TransactionFetcher.class);
+
+    public static final int DEFAULT_PARALLELISM = 16;
+    public static final int MAX_PARALLELISM = 64;
+    public static final String OUTPUT_SUFFIX = ".result.jsonl";
+    private static final String ONLY_TRANSACTION = "tx";
+    private static final String ONLY_RECEIPT = "receipt";
+
+    private static final ExecutorService fetchExecutor =
+            Executors.newFixedThreadPool(
+                    MAX_PARALLELISM,
+                    runnable -> {
+                        Thread thread = new Thread(runnable, "fetchTransactions");
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+
+    private final ConsoleInitializer consoleInitializer;
+    private final ObjectMapper objectMapper = ObjectMapperFactory.getObjectMapper();
+
+    public TransactionFetcher(ConsoleInitializer consoleInitializer) {
+        this.consoleInitializer = consoleInitializer;
+    }
+
+    public void fetchTransactions(String[] params) throws Exception {
+        File hashFile = new File(params[1]);
+        if (!hashFile.isFile()) {
+            System.out.println("The hash file " + hashFile + " doesn't exist.");
+            return;
+        }
+        String outputFile = params[1] + OUTPUT_SUFFIX;
+        int parallelism = DEFAULT_PARALLELISM;
+        boolean withProof = false;
+        boolean fetchTransaction = true;
+        boolean fetchReceipt = true;
+        for (int i = 2; i < params.length; i++) {
+            String option = params[i];
+            if ("--proof".equals(option)) {
+                withProof = true;
+                continue;
+            }
+            if (i + 1 >= params.length) {
+                HelpInfo.promptHelp("fetchTransactions");
+                return;
+            }
+            String value = params[++i];
+            if ("-o".equals(option) || "--output".equals(option)) {
+                outputFile = value;
+            } else if ("-p".equals(option) || "--parallel".equals(option)) {
+                parallelism =
+                        ConsoleUtils.processNonNegativeNumber(
+                                "parallel", value, 1, MAX_PARALLELISM);
+                if (parallelism == Common.InvalidReturnNumber) {
+                    return;
+                }
+            } else if ("--only".equals(option)
+                    && (ONLY_TRANSACTION.equals(value) || ONLY_RECEIPT.equals(value))) {
+                fetchTransaction = ONLY_TRANSACTION.equals(value);
+                fetchReceipt = ONLY_RECEIPT.equals(value);
+            } else {
+                HelpInfo.promptHelp("fetchTransactions");
+                return;
+            }
+        }
+
+        Client client = consoleInitializer.getClient();
+        Request request = new Request(client, withProof, fetchTransaction, fetchReceipt);
+        Summary summary = new Summary();
+        long startTime = System.currentTimeMillis();
+        OrderedTaskPipeline<String, ObjectNode> pipeline =
+                new OrderedTaskPipeline<>(fetchExecutor, parallelism);
+        try (BufferedReader reader =
+                        Files.newBufferedReader(hashFile.toPath(), StandardCharsets.UTF_8);
+                BufferedWriter writer =
+                        Files.newBufferedWriter(
+                                new File(outputFile).toPath(), StandardCharsets.UTF_8)) {
+            pipeline.run(
+                    hashes(reader),
+                    request::fetch,
+                    (hash, record) -> {
+                        summary.count(record);
+                        writer.write(objectMapper.writeValueAsString(record));
+                        writer.newLine();
+                    });
+        }
+        summary.print(outputFile, System.currentTimeMillis() - startTime);
+    }
+
+    /** @return the non empty lines of the file, the lines start with # are skipped */
+    private static Iterator<String> hashes(BufferedReader reader) {
+        return new Iterator<String>() {
+            private String next = readNext();
+
+            private String readNext() {
+                try {
+                    String line;
+                    while ((line = reader.readLine()) != null) {
+                        line = line.trim();
+                        if (!line.isEmpty() && !line.startsWith("#")) {
+                            return line;
+                        }
+                    }
+                    return null;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+
+            @Override
+            public boolean hasNext() {
+                return next != null;
+            }
+
+            @Override
+            public String next() {
+                if (next == null) {
+                    throw new NoSuchElementException();
+                }
+                String hash = next;
+                next = readNext();
+                return hash;
+            }
+        };
+    }
+
+    private class Request {
+        private final Client client;
+        private final boolean withProof;
+        private final boolean fetchTransaction;
+        private final boolean fetchReceipt;
+
+        private Request(
+                Client client, boolean withProof, boolean fetchTransaction, boolean fetchReceipt) {
+            this.client = client;
+            this.withProof = withProof;
+            this.fetchTransaction = fetchTransaction;
+            this.fetchReceipt = fetchReceipt;
+        }
+
+        /** the failure of a hash is recorded in its line, it doesn't stop the others */
+        private ObjectNode fetch(String hash) {
+            ObjectNode record = objectMapper.createObjectNode();
+            record.put("hash", hash);
+            if (!hash.matches("^0x[0-9a-fA-F]{64}$")) {
+                record.put("error", "invalid hash");
+                return record;
+            }
+            try {
+                if (fetchTransaction) {
+                    Object transaction = client.getTransaction(hash, withProof).getResult();
+                    record.set(
+                            "transaction",
+                            transaction == null
+                                    ? objectMapper.nullNode()
+                                    : objectMapper.valueToTree(transaction));
+                }
+                if (fetchReceipt) {
+                    Object receipt = client.getTransactionReceipt(hash, withProof).getResult();
+                    record.set(
+                            "receipt",
+                            receipt == null
+                                    ? objectMapper.nullNode()
+                                    : objectMapper.valueToTree(receipt));
+                }
+            } catch (ClientException e) {
+                // the node returns an error for an unknown hash
+                logger.debug("fetch {} failed, e: ", hash, e);
+                record.put("error", String.valueOf(e.getErrorMessage()));
+            } catch (Exception e) {
+                logger.debug("fetch {} failed, e: ", hash, e);
+                record.put("error", String.valueOf(e.getMessage()));
+            }
+            return record;
+        }
+    }
+
+    private static class Summary {
+        private long total;
+        private long errors;
+        private long transactionsNotFound;
+        private long receiptsNotFound;
+        // receipt status -> count, and the message of the first receipt of the status
+        private final Map<Integer, Long> statusCounts = new TreeMap<>();
+        private final Map<Integer, String> statusMessages = new TreeMap<>();
+
+        private void count(ObjectNode record) {
+            total++;
+            if (record.has("error")) {
+                errors++;
+                return;
+            }
+            if (record.has("transaction") && record.get("transaction").isNull()) {
+                transactionsNotFound++;
+            }
+            JsonNode receipt = record.get("receipt");
+            if (receipt == null) {
+                return;
+            }
+            if (receipt.isNull() || !receipt.has("status")) {
+                receiptsNotFound++;
+                return;
+            }
+            int status = receipt.get("status").asInt();
+            statusCounts.merge(status, 1L, Long::sum);
+            statusMessages.putIfAbsent(status, receipt.path("message").asText(""));
+        }
+
+        private void print(String outputFile, long timeCost) {
+            System.out.println(
+                    "Fetch "
+                            + total
+                            + " hashes to "
+                            + outputFile
+                            + ", time cost: "
+                            + timeCost
+                            + " ms");
+            for (Map.Entry<Integer, Long> entry : statusCounts.entrySet()) {
+                String message = statusMessages.get(entry.getKey());
+                System.out.println(
+                        "status "
+                                + entry.getKey()
+                                + ": "
+                                + entry.getValue()
+                                + (message.isEmpty() ? "" : "  (" + message + ")"));
+            }
+            if (transactionsNotFound > 0) {
+                System.out.println("transaction not found: " + transactionsNotFound);
+            }
+            if (receiptsNotFound > 0) {
+                System.out.println("receipt not found: " + receiptsNotFound);
+            }
+            if (errors > 0) {
+                System.out.println("error: " + errors + ", see the \"error\" of the lines");
+            }
+        }
+    }
+}
@@ -5,6 +5,7 @@ import static org.fisco.bcos.sdk.v3.client.protocol.model.Transaction.LIQUID_SCA
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import console.ClientServices;
 import console.common.ConsoleUtils;
 import console.exception.ConsoleMessageException;
 import java.io.ByteArrayOutputStream;
@@ -34,13 +35,12 @@ import org.fisco.bcos.sdk.v3.codec.wrapper.ABIDefinition;
 import org.fisco.bcos.sdk.v3.crypto.keypair.CryptoKeyPair;
 import org.fisco.bcos.sdk.v3.model.PrecompiledRetCode;
 import org.fisco.bcos.sdk.v3.transaction.manager.AssembleTransactionProcessor;
-import org.fisco.bcos.sdk.v3.transaction.manager.TransactionProcessorFactory;
 import org.fisco.bcos.sdk.v3.transaction.model.dto.TransactionResponse;
 import org.fisco.bcos.sdk.v3.utils.Hex;
 
 public class CollaborationImpl implements CollaborationFace {
     private final Client client;
-    private final AssembleTransactionProcessor assembleTransactionProcessor;
+    private final ClientServices services;
     private final CryptoKeyPair cryptoKeyPair;
     private final FunctionReturnDecoder functionReturnDecoder;
     private final ObjectMapper objectMapper;
@@ -48,12 +48,13 @@ public class CollaborationImpl implements CollaborationFace {
             "[{\"inputs\":[],\"type\":\"constructor\"},{\"constant\":true,\"inputs\":[],\"name\":\"get\",\"outputs\":[{\"internalType\":\"string\",\"type\":\"string\"}],\"type\":\"function\"}]";
 
     public CollaborationImpl(Client client) {
-        this.client = client;
-        CryptoKeyPair cryptoKeyPair = client.getCryptoSuite().getCryptoKeyPair();
-        this.assembleTransactionProcessor =
-                TransactionProcessorFactory.createAssembleTransactionProcessor(
-                        client, cryptoKeyPair);
-        this.cryptoKeyPair = client.getCryptoSuite().getCryptoKeyPair();
+        this(new ClientServices(client));
+    }
+
+    public CollaborationImpl(ClientServices services) {
+        this.client = services.getClient();
+        this.services = services;
+        this.cryptoKeyPair = services.getCryptoKeyPair();
         this.functionReturnDecoder = new FunctionReturnDecoder();
         this.objectMapper = new ObjectMapper();
     }
@@ -276,12 +277,14 @@ public class CollaborationImpl implements CollaborationFace {
             String path = "collaboration/" + client.getCryptoSuite().hash(binStr + abiStr);
             int txAttribute = LIQUID_CREATE | LIQUID_SCALE_CODEC;
 
+            AssembleTransactionProcessor assembleTransactionProcessor =
+                    services.getAssembleTransactionProcessor();
             TxPair txPair =
-                    this.assembleTransactionProcessor.createSignedTransaction(
+                    assembleTransactionProcessor.createSignedTransaction(
                             path, outputStream.toByteArray(), this.cryptoKeyPair, txAttribute);
 
             TransactionResponse response =
-                    this.assembleTransactionProcessor.deployAndGetResponse(
+                    assembleTransactionProcessor.deployAndGetResponse(
                             FAKE_ABI, txPair.getSignedTx());
             if (response.getReturnCode() != PrecompiledRetCode.CODE_SUCCESS.getCode()) {
                 System.out.println("initialize collaboration failed");
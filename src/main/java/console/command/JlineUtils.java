@@ -50,10 +50,15 @@ public class JlineUtils {
         if (accountCompleter != null) {
             accountCompleter.setClient(client);
         }
+        if (currentPathCompleter != null) {
+            currentPathCompleter.setClient(client);
+        }
     }
 
     public static void switchPwd(String pwd) {
-        currentPathCompleter.setPwd(pwd);
+        if (currentPathCompleter != null) {
+            currentPathCompleter.setPwd(pwd);
+        }
     }
 
     public static LineReader getLineReader(Client client) throws IOException {
@@ -101,7 +106,7 @@ public class JlineUtils {
                 completers.add(
                         new ArgumentCompleter(
                                 new StringsCompleter(command),
-                                new CurrentPathCompleter(client),
+                                currentPathCompleter,
                                 contractMethodCompleter,
                                 new StringsCompleterIgnoreCase()));
             }
@@ -109,7 +114,7 @@ public class JlineUtils {
             completers.add(
                     new ArgumentCompleter(
                             new StringsCompleter(SupportedCommand.LINK.getCommand()),
-                            new CurrentPathCompleter(client),
+                            currentPathCompleter,
                             contractAddressCompleter));
         } else {
             // liquid
@@ -13,18 +13,25 @@
  */
 package console.command;
 
+import console.client.BlockScanner;
+import console.client.ChainMonitor;
+import console.client.EventLogReader;
+import console.client.FanoutQuery;
+import console.client.TransactionFetcher;
 import console.command.model.CommandInfo;
 import console.command.model.HelpInfo;
 import console.common.Common;
+import console.common.ConsoleOutput;
 import console.common.ConsoleUtils;
-import console.contract.utils.ContractCompiler;
-import java.io.File;
+import console.contract.utils.ContractAddressIndex;
+import console.contract.utils.DeployLogStore;
 import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Base64;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -111,6 +118,34 @@ public class SupportedCommand {
                             consoleInitializer.getConsoleContractFace().call(params, pwd),
                     2,
                     -1);
+    public static final CommandInfo RECEIPTS =
+            new CommandInfo(
+                    "receipts",
+                    "Show the receipts of the transactions sent by call --async",
+                    HelpInfo::receiptsHelp,
+                    (consoleInitializer, params, pwd) ->
+                            consoleInitializer.getConsoleContractFace().receipts(params),
+                    0,
+                    1);
+    public static final CommandInfo WAIT =
+            new CommandInfo(
+                    "wait",
+                    "Wait for the transactions sent by call --async",
+                    HelpInfo::waitHelp,
+                    (consoleInitializer, params, pwd) ->
+                            consoleInitializer.getConsoleContractFace().waitReceipts(params),
+                    0,
+                    1);
+    public static final CommandInfo BENCH =
+            new CommandInfo(
+                    "bench",
+                    "Send requests to a contract function concurrently and report the performance",
+                    () -> HelpInfo.benchHelp(isWasm),
+                    (consoleInitializer, params, pwd) ->
+                            consoleInitializer.getConsoleContractFace().bench(params, pwd),
+                    2,
+                    -1,
+                    true);
 
     public static final CommandInfo ADD_OBSERVER =
             new CommandInfo(
@@ -165,7 +200,7 @@ public class SupportedCommand {
                     (consoleInitializer, params, pwd) ->
                             consoleInitializer.getPrecompiledFace().desc(params),
                     1,
-                    1);
+                    2);
     public static final CommandInfo CREATE =
             new CommandInfo(
                     "create",
@@ -200,6 +235,15 @@ public class SupportedCommand {
                        "Remove records by sql",
                        (consoleInitializer, params, pwd) ->
                                consoleInitializer.getPrecompiledFace().remove(params[0]));
+       public static final CommandInfo IMPORT_TABLE =
+               new CommandInfo(
+                       "importTable",
+                       "Import records from a csv or jsonl file into a table",
+                       HelpInfo::importTableHelp,
+                       (consoleInitializer, params, pwd) ->
+                               consoleInitializer.getPrecompiledFace().importTable(params),
+                       2,
+                       3);
     */
 
     // TODO: Liquid collaboration service is not supported in FISCO BCOS 3.0.0 rc1
@@ -245,13 +289,16 @@ public class SupportedCommand {
             new CommandInfo(
                     "getCurrentAccount",
                     "Get the current account info",
-                    (consoleInitializer, params, pwd) ->
-                            System.out.println(
-                                    consoleInitializer
-                                            .getClient()
-                                            .getCryptoSuite()
-                                            .getCryptoKeyPair()
-                                            .getAddress()));
+                    (consoleInitializer, params, pwd) -> {
+                        String address =
+                                consoleInitializer
+                                        .getClient()
+                                        .getCryptoSuite()
+                                        .getCryptoKeyPair()
+                                        .getAddress();
+                        ConsoleOutput.result("currentAccount", address);
+                        System.out.println(address);
+                    });
 
     public static final CommandInfo GET_BLOCK_NUMBER =
             new CommandInfo(
@@ -445,13 +492,6 @@ public class SupportedCommand {
                                 isWasm
                                         ? FilenameUtils.getBaseName(contractNameOrPath)
                                         : ConsoleUtils.getContractName(contractNameOrPath);
-                        File contractFile =
-                                new File(
-                                        ContractCompiler.COMPILED_PATH
-                                                + File.separator
-                                                + consoleInitializer.getClient().getGroup()
-                                                + File.separator
-                                                + contractName);
                         int recordNum = 20;
                         if (params.length == 3) {
                             recordNum =
@@ -461,37 +501,34 @@ public class SupportedCommand {
                                 return;
                             }
                         }
-                        if (!contractFile.exists()) {
+                        List<ContractAddressIndex.Entry> addresses =
+                                ContractAddressIndex.latest(
+                                        consoleInitializer.getClient().getGroup(),
+                                        contractName,
+                                        recordNum);
+                        List<Map<String, String>> deployed = new ArrayList<>();
+                        ConsoleOutput.result("contractAddresses", deployed);
+                        if (addresses.isEmpty()) {
                             System.out.println(
                                     "Contract \"" + contractName + "\" doesn't exist!\n");
                             return;
                         }
-                        int i = 0;
-                        File[] contractFileList = contractFile.listFiles();
-                        if (contractFileList == null || contractFileList.length == 0) {
-                            return;
-                        }
-                        ConsoleUtils.sortFiles(contractFileList);
-                        for (File contractAddressFile : contractFileList) {
-                            if (!isWasm
-                                    && !ConsoleUtils.isValidAddress(
-                                            contractAddressFile.getName())) {
+                        for (ContractAddressIndex.Entry address : addresses) {
+                            if (!isWasm && !ConsoleUtils.isValidAddress(address.getAddress())) {
                                 continue;
                             }
                             String contractAddress =
                                     isWasm
                                             ? new String(
                                                     Base64.getUrlDecoder()
-                                                            .decode(contractAddressFile.getName()))
-                                            : contractAddressFile.getName();
-                            System.out.printf(
-                                    "%s  %s\n",
-                                    contractAddress,
-                                    ConsoleUtils.getFileCreationTime(contractAddressFile));
-                            i++;
-                            if (i == recordNum) {
-                                break;
-                            }
+                                                            .decode(address.getAddress()))
+                                            : address.getAddress();
+                            String deployTime = DeployLogStore.formatTime(address.getDeployTime());
+                            Map<String, String> entry = new LinkedHashMap<>();
+                            entry.put("contractAddress", contractAddress);
+                            entry.put("deployTime", deployTime);
+                            deployed.add(entry);
+                            System.out.printf("%s  %s\n", contractAddress, deployTime);
                         }
                     },
                     1,
@@ -585,6 +622,57 @@ public class SupportedCommand {
                             consoleInitializer.getConsoleClientFace().getGroupNodeInfo(params),
                     1,
                     1);
+    public static final CommandInfo FANOUT =
+            new CommandInfo(
+                    "fanout",
+                    "Run a query against all the nodes and groups concurrently",
+                    HelpInfo::fanoutHelp,
+                    (consoleInitializer, params, pwd) ->
+                            new FanoutQuery(consoleInitializer).fanout(params),
+                    1,
+                    3,
+                    true);
+    public static final CommandInfo SCAN_BLOCKS =
+            new CommandInfo(
+                    "scanBlocks",
+                    "Fetch a range of blocks in parallel and write them to a JSON lines file",
+                    HelpInfo::scanBlocksHelp,
+                    (consoleInitializer, params, pwd) ->
+                            new BlockScanner(consoleInitializer).scanBlocks(params),
+                    2,
+                    12,
+                    true);
+    public static final CommandInfo FETCH_TRANSACTIONS =
+            new CommandInfo(
+                    "fetchTransactions",
+                    "Fetch the transactions and receipts of the hashes in a file concurrently",
+                    HelpInfo::fetchTransactionsHelp,
+                    (consoleInitializer, params, pwd) ->
+                            new TransactionFetcher(consoleInitializer).fetchTransactions(params),
+                    1,
+                    8,
+                    true);
+    public static final CommandInfo MONITOR =
+            new CommandInfo(
+                    "monitor",
+                    "Show the block height, tps, pending size and node height skew of the group",
+                    new ArrayList<>(Arrays.asList("top")),
+                    HelpInfo::monitorHelp,
+                    (consoleInitializer, params, pwd) ->
+                            new ChainMonitor(consoleInitializer).monitor(params),
+                    0,
+                    6,
+                    true);
+    public static final CommandInfo EVENTS =
+            new CommandInfo(
+                    "events",
+                    "Tail or read a range of the decoded event logs of a contract",
+                    HelpInfo::eventsHelp,
+                    (consoleInitializer, params, pwd) ->
+                            new EventLogReader(consoleInitializer).events(params, pwd),
+                    2,
+                    13,
+                    true);
 
     public static final CommandInfo LIST_ABI =
             new CommandInfo(
@@ -652,8 +740,11 @@ public class SupportedCommand {
                     "pwd",
                     "Show absolute path of working directory name",
                     HelpInfo::pwdHelp,
-                    (consoleInitializer, params, pwd) ->
-                            System.out.println(consoleInitializer.getPrecompiledFace().getPwd()),
+                    (consoleInitializer, params, pwd) -> {
+                        String currentPwd = consoleInitializer.getPrecompiledFace().getPwd();
+                        ConsoleOutput.result("pwd", currentPwd);
+                        System.out.println(currentPwd);
+                    },
                     0,
                     0);
 
@@ -1038,6 +1129,18 @@ public class SupportedCommand {
                 "# Subcommand[Required]: The command sent to the node, Please refer to the following for the list of subCommand");
         System.out.println(
                 "use command \"bash console.sh [subCommand] -h\" to get the help of the subcommand.\n");
+        System.out.println(
+                "# bash console.sh [groupId] -f/--file [batchFile] [--keep-going|--stop-on-error]");
+        System.out.println(
+                "# batchFile[Required]: Run the commands in the file line by line over one connection, \"-\" means reading from stdin, empty lines and lines start with \"#\" are skipped");
+        System.out.println(
+                "# --keep-going/--stop-on-error(Optional): Whether to run the rest commands when a command failed, default is --stop-on-error\n");
+        System.out.println(
+                "# bash console.sh [groupId] [--compact] [--output table|json|csv] [Subcommand|-f batchFile]");
+        System.out.println(
+                "# --compact(Optional): Print each JSON result in one line, for piping to the JSON tools");
+        System.out.println(
+                "# --output(Optional): json prints one JSON object per command with the results, the \"error\" if it failed, and the text as \"output\" for the free-form commands help, tree, getDeployLog, listAbi, receipts, wait, bench, scanBlocks, fetchTransactions, switch, loadAccount and the collaboration commands; csv and json also apply to the tables of fanout, ls, select and the proposal info\n");
         System.out.println("# Subcommand list:");
         Set<String> keys = commandToCommandInfo.keySet();
         List<String> commandList = new ArrayList<String>(keys);
@@ -1,8 +1,7 @@
 package console.command.completer;
 
 import console.common.ConsoleUtils;
-import console.contract.utils.ContractCompiler;
-import java.io.File;
+import console.contract.utils.ContractAddressIndex;
 import java.util.List;
 import org.fisco.bcos.sdk.v3.client.Client;
 import org.jline.reader.Candidate;
@@ -30,18 +29,10 @@ public class ContractAddressCompleter extends StringsCompleterIgnoreCase {
             String[] ss = buffer.split(" ");
             if (ss.length >= 2) {
                 String contractName = ConsoleUtils.getContractName(ConsoleUtils.resolvePath(ss[1]));
-                File contractDir =
-                        new File(
-                                ContractCompiler.COMPILED_PATH
-                                        + File.separator
-                                        + client.getGroup()
-                                        + File.separator
-                                        + contractName);
-                if (!contractDir.exists()) {
-                    return;
-                }
-                File[] contractAddressFiles = contractDir.listFiles();
-                if (contractAddressFiles == null || contractAddressFiles.length == 0) {
+                List<ContractAddressIndex.Entry> addresses =
+                        ContractAddressIndex.latest(
+                                client.getGroup(), contractName, defaultRecordNum);
+                if (addresses.isEmpty()) {
                     return;
                 }
                 String contractPrefix = "[ " + contractName + ".";
@@ -54,26 +45,22 @@ public class ContractAddressCompleter extends StringsCompleterIgnoreCase {
                                 null,
                                 null,
                                 true));
-                ConsoleUtils.sortFiles(contractAddressFiles);
                 int recordNum = 0;
 
-                for (File contractAddressFile : contractAddressFiles) {
-                    if (!ConsoleUtils.isValidAddress(contractAddressFile.getName())) {
+                for (ContractAddressIndex.Entry address : addresses) {
+                    if (!ConsoleUtils.isValidAddress(address.getAddress())) {
                         continue;
                     }
                     candidates.add(
                             new Candidate(
-                                    AttributedString.stripAnsi(contractAddressFile.getName()),
-                                    contractAddressFile.getName(),
+                                    AttributedString.stripAnsi(address.getAddress()),
+                                    address.getAddress(),
                                     contractPrefix + String.valueOf(recordNum + 1) + " ]",
                                     null,
                                     null,
                                     null,
                                     true));
                     recordNum++;
-                    if (recordNum == defaultRecordNum) {
-                        break;
-                    }
                 }
             }
             super.complete(reader, commandLine, candidates);
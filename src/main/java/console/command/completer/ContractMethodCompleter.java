@@ -1,11 +1,11 @@
 package console.command.completer;
 
 import console.contract.model.AbiAndBin;
+import console.contract.utils.AbiRegistry;
 import console.contract.utils.ContractCompiler;
 import java.util.List;
 import org.fisco.bcos.sdk.v3.client.Client;
-import org.fisco.bcos.sdk.v3.codec.wrapper.ABIDefinition;
-import org.fisco.bcos.sdk.v3.codegen.CodeGenUtils;
+import org.fisco.bcos.sdk.v3.codec.wrapper.ContractABIDefinition;
 import org.jline.reader.Candidate;
 import org.jline.reader.LineReader;
 import org.jline.reader.ParsedLine;
@@ -35,11 +35,10 @@ public class ContractMethodCompleter extends StringsCompleterIgnoreCase {
                 AbiAndBin abiAndBin =
                         ContractCompiler.loadAbi(
                                 client.getGroup(), contractNameOrPath, contractAddress, true);
-                List<ABIDefinition> abiDefinitions =
-                        CodeGenUtils.loadContractAbiDefinition(abiAndBin.getAbi());
-                for (ABIDefinition definition : abiDefinitions) {
-                    String functionName = definition.getName();
-                    if (functionName == null) continue;
+                ContractABIDefinition contractABIDefinition =
+                        AbiRegistry.getContractABIDefinition(
+                                client.getCryptoSuite(), abiAndBin.getAbi());
+                for (String functionName : contractABIDefinition.getFunctions().keySet()) {
                     candidates.add(
                             new Candidate(
                                     AttributedString.stripAnsi(functionName),
@@ -2,11 +2,10 @@ package console.command.completer;
 
 import console.common.Common;
 import console.common.ConsoleUtils;
+import console.precompiled.BfsListingCache;
 import java.util.List;
 import org.fisco.bcos.sdk.v3.client.Client;
 import org.fisco.bcos.sdk.v3.contract.precompiled.bfs.BFSPrecompiled.BfsInfo;
-import org.fisco.bcos.sdk.v3.contract.precompiled.bfs.BFSService;
-import org.fisco.bcos.sdk.v3.crypto.keypair.CryptoKeyPair;
 import org.jline.reader.Candidate;
 import org.jline.reader.LineReader;
 import org.jline.reader.ParsedLine;
@@ -22,16 +21,21 @@ public class CurrentPathCompleter extends StringsCompleterIgnoreCase {
 
     private String pwd = "/apps";
     private Client client;
-    private BFSService bfsService;
+    private BfsListingCache bfsListingCache;
 
     public CurrentPathCompleter(Client client) {
+        setClient(client);
+    }
+
+    public void setClient(Client client) {
         this.client = client;
-        CryptoKeyPair cryptoKeyPair = client.getCryptoSuite().getCryptoKeyPair();
-        this.bfsService = new BFSService(this.client, cryptoKeyPair);
+        this.bfsListingCache = BfsListingCache.getInstance(client);
+        bfsListingCache.prefetch(pwd);
     }
 
     public void setPwd(String absolutePath) {
         this.pwd = absolutePath;
+        bfsListingCache.prefetch(absolutePath);
     }
 
     protected String getDisplay(Terminal terminal, BfsInfo fileInfo) {
@@ -63,7 +67,7 @@ public class CurrentPathCompleter extends StringsCompleterIgnoreCase {
                 fixedPath = ConsoleUtils.fixedBfsParam(curBuf, pwd);
             }
 
-            List<BfsInfo> listResult = bfsService.list(fixedPath);
+            List<BfsInfo> listResult = bfsListingCache.list(fixedPath);
             for (BfsInfo bfsInfo : listResult) {
                 String relativePath = curBuf + bfsInfo.getFileName();
                 if (bfsInfo.getFileType().equals(Common.BFS_TYPE_DIR)) {
@@ -1,13 +1,19 @@
 package console.command.model;
 
+import console.client.BlockScanner;
+import console.client.EventLogReader;
+import console.client.TransactionFetcher;
 import console.command.SupportedCommand;
 import console.common.Common;
+import console.common.ConsoleOutput;
 import console.common.ConsoleUtils;
+import console.contract.utils.TransactionTracker;
 
 public class HelpInfo {
     public static void promptHelp(String command) {
         System.out.println("Try '" + command + " -h or --help' for more information.");
         System.out.println();
+        ConsoleOutput.error(null, "invalid parameters of " + command);
     }
 
     public static void printHelp(String func, boolean isWasm, boolean isAuthOpen) {
@@ -62,11 +68,16 @@ public class HelpInfo {
 
     public static void getDeployLogHelp() {
         System.out.println("Query the log of deployed contract.");
-        System.out.println("Usage: \ngetDeployLog [recordNumber]");
+        System.out.println(
+                "Usage: \ngetDeployLog [recordNumber] [--name contractName] [--from time] [--to time]");
         System.out.println(
                 "* recordNumber -- (optional) The number of deployed contract records, "
                         + Common.DeployLogIntegerRange
                         + "(default 20).");
+        System.out.println(
+                "* --name -- (optional) Only show the records of the contract with this name.");
+        System.out.println(
+                "* --from/--to -- (optional) Only show the records deployed in the time range, the time is in format yyyy-MM-dd or \"yyyy-MM-dd HH:mm:ss\".");
     }
 
     public static void getBlockNumberHelp() {
@@ -78,6 +89,10 @@ public class HelpInfo {
         System.out.println("Switch to a specific peer by endpoint.");
         System.out.println("Usage: \nswitch groupId");
         System.out.println("* endPoint -- The endPoint of the new peer.");
+        System.out.println(
+                "The groups switched to before are kept, so switching back to them is fast.");
+        System.out.println(
+                "Use \"@groupId command\" to run one command in another group without switching, such as \"@group1 getBlockNumber\".");
     }
 
     public static void getPbftViewHelp() {
@@ -202,6 +217,122 @@ public class HelpInfo {
         System.out.println("Usage: \ngetPendingTxSize");
     }
 
+    public static void fanoutHelp() {
+        System.out.println(
+                "Run a query against all the nodes and/or all the groups concurrently, and show the results with the latency and the block lag of each node.");
+        System.out.println("Usage: \nfanout [-g|--all-groups] [-n|--all-nodes] command");
+        System.out.println(
+                "* command -- One of getBlockNumber, getSyncStatus, getPendingTxSize, getTotalTransactionCount and getPbftView.");
+        System.out.println(
+                "* -g/--all-groups -- [Optional] Query all the groups, one random node of each group unless -n is set.");
+        System.out.println(
+                "* -n/--all-nodes -- [Optional] Query all the nodes of the groups, the default without -g.");
+        System.out.println(
+                "* lag -- The number of blocks behind the highest node of the same group.");
+    }
+
+    public static void scanBlocksHelp() {
+        System.out.println(
+                "Fetch the blocks from \"from\" to \"to\" in parallel, and write them to a JSON lines file in the block order.");
+        System.out.println(
+                "Usage: \nscanBlocks from to [-o|--output file] [-p|--parallel count] [--to address] [--selector selector] [--failed] [--resume]");
+        System.out.println("* from -- The first block number.");
+        System.out.println(
+                "* to -- The last block number, the scan stops at the latest block if it is not produced yet.");
+        System.out.println(
+                "* -o/--output -- [Optional] The output file, default is scan_group_from_to.jsonl.");
+        System.out.println(
+                "* -p/--parallel -- [Optional] The max number of blocks fetched at the same time, default is "
+                        + BlockScanner.DEFAULT_PARALLELISM
+                        + ", at most "
+                        + BlockScanner.MAX_PARALLELISM
+                        + ".");
+        System.out.println(
+                "* --to -- [Optional] Only write the transactions sent to the address.");
+        System.out.println(
+                "* --selector -- [Optional] Only write the transactions calling the method of the 4 bytes selector, e.g. 0xa9059cbb.");
+        System.out.println(
+                "* --failed -- [Optional] Only write the transactions whose receipt status is not 0, the receipts are written too.");
+        System.out.println(
+                "* --resume -- [Optional] Continue the scan from the checkpoint file \"output"
+                        + BlockScanner.CHECKPOINT_SUFFIX
+                        + "\", with the same range and options.");
+        System.out.println(
+                "* With any filter, each line is a matched transaction with its block number, otherwise each line is a block.");
+    }
+
+    public static void fetchTransactionsHelp() {
+        System.out.println(
+                "Fetch the transactions and receipts of the hashes in a file concurrently, write one JSON line per hash in the order of the file, and summarize the receipt status.");
+        System.out.println(
+                "Usage: \nfetchTransactions hashFile [-o|--output file] [-p|--parallel count] [--only tx|receipt] [--proof]");
+        System.out.println(
+                "* hashFile -- The file of the transaction hashes, one per line, the lines start with # are skipped.");
+        System.out.println(
+                "* -o/--output -- [Optional] The output file, default is hashFile"
+                        + TransactionFetcher.OUTPUT_SUFFIX
+                        + ".");
+        System.out.println(
+                "* -p/--parallel -- [Optional] The max number of hashes fetched at the same time, default is "
+                        + TransactionFetcher.DEFAULT_PARALLELISM
+                        + ", at most "
+                        + TransactionFetcher.MAX_PARALLELISM
+                        + ".");
+        System.out.println(
+                "* --only -- [Optional] Only fetch the transactions(tx) or the receipts(receipt).");
+        System.out.println("* --proof -- [Optional] Fetch with the merkle proofs.");
+    }
+
+    public static void monitorHelp() {
+        System.out.println(
+                "Poll the current group on a fixed interval and show the block height, blocks/s, tps, pending tx size and the block height skew of the nodes.");
+        System.out.println(
+                "Usage: \nmonitor [-i|--interval seconds] [-c|--count samples] [--csv file|--json file]");
+        System.out.println(
+                "* -i/--interval -- [Optional] The seconds between two samples, default is 2.");
+        System.out.println(
+                "* -c/--count -- [Optional] Stop after the samples, default is 0 to run until Enter is pressed.");
+        System.out.println(
+                "* --csv/--json -- [Optional] Export the samples to a CSV file or a JSON lines file.");
+        System.out.println(
+                "* blocks/s and tps are counted from the deltas of the block height and the total transaction count.");
+        System.out.println(
+                "* In the JSON output format, each sample is printed as one JSON line as it is taken.");
+        System.out.println("* top -- Alias of monitor.");
+    }
+
+    public static void eventsHelp() {
+        System.out.println(
+                "Read the event logs of a contract from the receipts and decode them with the contract abi, one JSON line per event.");
+        System.out.println(
+                "Usage: \nevents tail contract [event] [--from block] [-i|--interval seconds] [-c|--count events] [-p|--parallel count] [-o|--output file]");
+        System.out.println(
+                "       events range contract from to [event] [-p|--parallel count] [-o|--output file]");
+        System.out.println(
+                "* tail -- Poll the new blocks and print their events, until Enter is pressed or the count is reached.");
+        System.out.println("* range -- Read the events of the blocks from \"from\" to \"to\".");
+        System.out.println(
+                "* contract -- The contract address, the name of a contract deployed by the console (the latest address), or a BFS link.");
+        System.out.println(
+                "* event -- [Optional] The event name, signature like Transfer(address,address,uint256) or topic, default is all the events.");
+        System.out.println(
+                "* --from -- [Optional] The first block to tail, default is the next block.");
+        System.out.println(
+                "* -i/--interval -- [Optional] The seconds between two polls, default is "
+                        + EventLogReader.DEFAULT_INTERVAL_SECONDS
+                        + ".");
+        System.out.println(
+                "* -c/--count -- [Optional] Stop after the events, default is 0 to run until Enter is pressed.");
+        System.out.println(
+                "* -p/--parallel -- [Optional] The max number of blocks, and of receipts of a block, fetched at the same time, default is "
+                        + EventLogReader.DEFAULT_PARALLELISM
+                        + ", at most "
+                        + EventLogReader.MAX_PARALLELISM
+                        + ".");
+        System.out.println(
+                "* -o/--output -- [Optional] Write the events to the file instead of the console.");
+    }
+
     public static void getCodeHelp() {
         System.out.println("Query code at a given address.");
         System.out.println("Usage: \ngetCode address");
@@ -248,13 +379,17 @@ public class HelpInfo {
             System.out.println(
                     "Usage: \ncall contractNameOrPath contractAddress function parameters");
             System.out.println("\ncall link function parameters");
+            System.out.println("\ncall --async contractNameOrPath/link ...");
             System.out.println(
                     "* contractNameOrPath -- The name of a contract or the path of a contract, when set to \"latest\", the contract address is the latest contract address (Default load contract from the \"contracts/solidity\" path when using contractName).");
             System.out.println("* contractAddress -- 20 Bytes - The address of a contract.");
             System.out.println(
                     "* link -- The path of BFS where the contract link located at, such as '/apps/Hello/latest'.");
-            System.out.println("* function -- The function of a contract.");
+            System.out.println(
+                    "* function -- The function of a contract, an overloaded function can be chosen by the signature without spaces, such as 'set(string,uint256)', or by the 4 bytes selector.");
             System.out.println("* parameters -- The parameters(split by a space) of a function.");
+            System.out.println(
+                    "* --async/-a -- Return right after the transaction is submitted, use \"receipts\" or \"wait\" to get the receipt.");
         } else {
             System.out.println("Usage: \ncall path function parameters");
             System.out.println(
@@ -264,6 +399,56 @@ public class HelpInfo {
         }
     }
 
+    public static void benchHelp(boolean isWasm) {
+        System.out.println(
+                "Send requests to a contract function concurrently, and report the TPS, latency and failures.");
+        if (!isWasm) {
+            System.out.println(
+                    "Usage: \nbench [-n count] [-c concurrency] [-r rate] contractNameOrPath contractAddress function parameters");
+            System.out.println(
+                    "\nbench [-n count] [-c concurrency] [-r rate] link function parameters");
+        } else {
+            System.out.println(
+                    "Usage: \nbench [-n count] [-c concurrency] [-r rate] path function parameters");
+        }
+        System.out.println("* count -- The number of requests to send, default is 100.");
+        System.out.println(
+                "* concurrency -- The number of requests in flight at the same time, default is 10.");
+        System.out.println(
+                "* rate -- The max number of requests sent per second, default is 0 (unlimited).");
+        System.out.println(
+                "* Other parameters -- The same as the call command, constant functions are sent as calls and others as transactions.");
+        System.out.println("Example: \nbench -n 1000 -c 50 HelloWorld latest set \"Hello\"");
+    }
+
+    public static void importTableHelp() {
+        System.out.println("Import records from a csv or jsonl file into a table.");
+        System.out.println("Usage: \nimportTable tableName filePath [window]");
+        System.out.println("* tableName -- The name of the table.");
+        System.out.println(
+                "* filePath -- The csv file with the field names in the first line, or the jsonl file with one json object per line.");
+        System.out.println(
+                "* window -- [Optional] The max number of insert transactions in flight, default is 64.");
+    }
+
+    public static void receiptsHelp() {
+        System.out.println("Show the receipts of the transactions sent by call --async.");
+        System.out.println("Usage: \nreceipts [id|-c]");
+        System.out.println(
+                "* id -- [Optional] The id of the async transaction, show the whole receipt of the transaction.");
+        System.out.println("* -c/--clear -- [Optional] Remove the finished transactions.");
+        System.out.println(
+                "Only the last "
+                        + TransactionTracker.MAX_FINISHED_TRANSACTIONS
+                        + " finished transactions are kept.");
+    }
+
+    public static void waitHelp() {
+        System.out.println("Wait for all the transactions sent by call --async, and show them.");
+        System.out.println("Usage: \nwait [timeout]");
+        System.out.println("* timeout -- [Optional] The seconds to wait, default is 60.");
+    }
+
     public static void linkHelp(boolean isWasm) {
         System.out.println("Create a link to access contract more conveniently.");
         if (isWasm) {
@@ -366,7 +551,9 @@ public class HelpInfo {
 
     public static void showDescHelp() {
         System.out.println("Description table information.");
-        System.out.println("Usage: \ndesc tableName");
+        System.out.println("Usage: \ndesc [--refresh] tableName");
+        System.out.println(
+                "* --refresh -- [Optional] Reload the table schema from the chain instead of the console cache.");
         System.out.println("* tableName -- The name of the table.");
     }
 
@@ -465,7 +652,7 @@ public class HelpInfo {
         System.out.println(
                 "relativePath/absolutePath[Required] -- The name or the path of a directory.");
         System.out.println(
-                "limit[Optional] -- The limit deep of tree contents, range in (0,5], default is 3.");
+                "limit[Optional] -- The limit deep of tree contents, range in (0,64], default is 3.");
     }
 
     public static void pwdHelp() {
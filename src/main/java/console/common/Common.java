@@ -3,6 +3,7 @@ package console.common;
 public class Common {
 
     public static final String ContractLogFileName = "deploylog.txt";
+    public static final String DeployLogDir = "deploylog/";
 
     // SystemConfig key
     public static final String TxCountLimit = "tx_count_limit";
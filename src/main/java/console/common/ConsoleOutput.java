@@ -0,0 +1,467 @@
+package console.common;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.fisco.bcos.sdk.v3.utils.ObjectMapperFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The output of the commands. While a command runs, System.out is replaced by a buffered stream
+ * which is flushed when the command ends, so a large listing is written in a few big writes
+ * instead of a flush per line. The commands showing progress call {@link #flush()}. The tables are
+ * printed in the format set by {@link #setFormat(Format)}.
+ *
+ * <p>In the JSON format the text of the command is captured instead, the commands record their
+ * results by {@link #result(String, Object)}, and one JSON line is written when the command ends:
+ * the recorded results, the "error" if it failed, and the captured text as "output" if nothing was
+ * recorded. The streaming commands write their records to {@link #rawWriter()} instead, one JSON
+ * line per record.
+ *
+ * <p>System.out is replaced for the whole process, so while a command runs, whatever any thread
+ * prints goes to the output of the command: the progress printed by the worker threads of the
+ * command, but also the prints of the SDK callbacks or of other background threads, which are
+ * buffered with it or captured into its JSON line. The output printed after the command ends goes
+ * to stdout directly. The commands must not print from threads that outlive them.
+ */
+public class ConsoleOutput {
+    private static final Logger logger = LoggerFactory.getLogger(ConsoleOutput.class);
+
+    /** the format of the tables, e.g. -Dconsole.output.format=csv */
+    public static final String FORMAT_PROPERTY = "console.output.format";
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int WRITER_BUFFER_SIZE = 8192;
+    private static final String VALUE_KEY = "value";
+    private static final String ERROR_KEY = "error";
+    private static final String OUTPUT_KEY = "output";
+
+    public enum Format {
+        TABLE,
+        JSON,
+        CSV;
+
+        /** @return the format of the name, or null if it is unknown */
+        public static Format of(String name) {
+            for (Format format : values()) {
+                if (format.name().equalsIgnoreCase(name)) {
+                    return format;
+                }
+            }
+            return null;
+        }
+    }
+
+    private static volatile Format format = initialFormat();
+    // the stream replaced by the buffer of the command, null if not buffering
+    private static PrintStream stdout;
+    // the text and the results of the command in the JSON format
+    private static ByteArrayOutputStream captured;
+    private static final Map<String, Object> results = new LinkedHashMap<>();
+    // an error is recorded by the command, in any format
+    private static boolean failed;
+
+    static {
+        // the commands like exit don't return to end()
+        Runtime.getRuntime().addShutdownHook(new Thread(ConsoleOutput::end, "flushOutput"));
+    }
+
+    private ConsoleOutput() {}
+
+    private static Format initialFormat() {
+        String name = System.getProperty(FORMAT_PROPERTY);
+        Format initial = name == null ? null : Format.of(name);
+        if (name != null && initial == null) {
+            logger.warn("unknown output format {}, use table", name);
+        }
+        return initial == null ? Format.TABLE : initial;
+    }
+
+    public static Format getFormat() {
+        return format;
+    }
+
+    public static void setFormat(Format outputFormat) {
+        format = outputFormat;
+    }
+
+    /** buffer the output of the command until {@link #end()} */
+    public static synchronized void begin() {
+        if (stdout != null) {
+            return;
+        }
+        stdout = System.out;
+        results.clear();
+        failed = false;
+        OutputStream buffer;
+        if (format == Format.JSON) {
+            captured = new ByteArrayOutputStream();
+            buffer = captured;
+        } else {
+            buffer = new BufferedOutputStream(stdout, BUFFER_SIZE);
+        }
+        System.setOut(
+                new PrintStream(buffer, false) {
+                    @Override
+                    public void close() {
+                        // the commands must not close the console output
+                        flush();
+                    }
+                });
+    }
+
+    /** flush the output of the command and restore System.out */
+    public static void end() {
+        end(true);
+    }
+
+    /**
+     * @param succeeded false to record an error if the command has not recorded one
+     * @return false if the command failed or recorded an error by {@link #error(Integer, String)}
+     */
+    public static synchronized boolean end(boolean succeeded) {
+        boolean result = succeeded && !failed;
+        failed = false;
+        if (stdout == null) {
+            return result;
+        }
+        System.out.flush();
+        System.setOut(stdout);
+        if (captured != null) {
+            printResults(stdout, succeeded);
+            captured = null;
+        }
+        stdout = null;
+        return result;
+    }
+
+    /** @return true if the command output is captured for the JSON format */
+    public static synchronized boolean isCapturing() {
+        return captured != null;
+    }
+
+    /**
+     * record a result of the command, it is ignored unless the output is captured
+     *
+     * @param value a value serialized by jackson
+     */
+    public static synchronized void result(String key, Object value) {
+        if (captured != null) {
+            results.put(key, value);
+        }
+    }
+
+    /**
+     * record the JSON printed by the command, the values printed by one command are kept in a list
+     *
+     * @return false if it is not valid JSON
+     */
+    static synchronized boolean resultJson(String json) {
+        JsonNode value;
+        try {
+            value = ObjectMapperFactory.getObjectMapper().readTree(json);
+        } catch (IOException e) {
+            return false;
+        }
+        if (value == null) {
+            return false;
+        }
+        Object existing = results.get(VALUE_KEY);
+        if (existing instanceof ValueList) {
+            ((ValueList) existing).add(value);
+        } else if (existing != null) {
+            ValueList values = new ValueList();
+            values.add(existing);
+            values.add(value);
+            results.put(VALUE_KEY, values);
+        } else {
+            results.put(VALUE_KEY, value);
+        }
+        return true;
+    }
+
+    /**
+     * record the failure of the command, as the "error" in the JSON format, and as the failure of
+     * the command in the batch mode
+     */
+    public static synchronized void error(Integer code, String message) {
+        failed = true;
+        Map<String, Object> error = new LinkedHashMap<>();
+        if (code != null) {
+            error.put("code", code);
+        }
+        error.put("msg", message);
+        result(ERROR_KEY, error);
+    }
+
+    /**
+     * print the message of a failure, e.g. an invalid parameter, and record it as the error of the
+     * command
+     */
+    public static void printFailure(String message) {
+        System.out.println(message);
+        error(null, message);
+    }
+
+    /**
+     * record the code and the message returned by a precompiled contract, a negative code is
+     * recorded as the error of the command
+     */
+    public static void retCode(int code, String message) {
+        if (code < 0) {
+            error(code, message);
+            return;
+        }
+        result("code", code);
+        result("msg", message);
+    }
+
+    /** print the failure of a command, as the error field in the JSON format */
+    public static void printError(int code, String message) {
+        if (isCapturing()) {
+            error(code, message);
+            return;
+        }
+        ConsoleUtils.printJson("{\"code\":" + code + ", \"msg\":" + "\"" + message + "\"}");
+        System.out.println();
+    }
+
+    private static void printResults(PrintStream out, boolean succeeded) {
+        Map<String, Object> line = new LinkedHashMap<>(results);
+        String text = new String(captured.toByteArray(), Charset.defaultCharset()).trim();
+        String[] lines = text.isEmpty() ? new String[0] : text.split("\\r?\\n");
+        if (!succeeded && !line.containsKey(ERROR_KEY)) {
+            // the last line is the message of the failure
+            Map<String, Object> error = new LinkedHashMap<>();
+            error.put("msg", lines.length == 0 ? "failed" : lines[lines.length - 1].trim());
+            line.put(ERROR_KEY, error);
+        }
+        if (lines.length > 0 && (results.isEmpty() || line.containsKey(ERROR_KEY))) {
+            line.put(OUTPUT_KEY, lines);
+        }
+        try {
+            out.println(ObjectMapperFactory.getObjectMapper().writeValueAsString(line));
+        } catch (IOException e) {
+            logger.warn("print the command results failed, e: ", e);
+            out.println(text);
+        }
+        out.flush();
+        results.clear();
+    }
+
+    /** write the buffered output now, e.g. before waiting for the user */
+    public static void flush() {
+        System.out.flush();
+    }
+
+    public static synchronized boolean isBuffering() {
+        return stdout != null;
+    }
+
+    /**
+     * @return a buffered writer to System.out, whose flush hands the characters to System.out
+     *     without flushing the buffer of the command
+     */
+    public static Writer newWriter() {
+        PrintStream out = System.out;
+        OutputStream target =
+                new FilterOutputStream(out) {
+                    @Override
+                    public void write(byte[] bytes, int offset, int length) {
+                        out.write(bytes, offset, length);
+                    }
+
+                    @Override
+                    public void flush() {
+                        if (!isBuffering()) {
+                            out.flush();
+                        }
+                    }
+                };
+        return new BufferedWriter(
+                new OutputStreamWriter(target, Charset.defaultCharset()), WRITER_BUFFER_SIZE);
+    }
+
+    /**
+     * @return the real stdout, which bypasses the buffer and the capture of the command, for the
+     *     commands streaming their records until they are stopped, like events tail
+     */
+    public static synchronized PrintStream rawStream() {
+        return stdout != null ? stdout : System.out;
+    }
+
+    /**
+     * @return a buffered writer to {@link #rawStream()} whose flush writes to the terminal or the
+     *     pipe at once, closing it doesn't close stdout
+     */
+    public static Writer rawWriter() {
+        PrintStream out = rawStream();
+        OutputStream target =
+                new FilterOutputStream(out) {
+                    @Override
+                    public void write(byte[] bytes, int offset, int length) {
+                        out.write(bytes, offset, length);
+                    }
+
+                    @Override
+                    public void close() {
+                        out.flush();
+                    }
+                };
+        return new BufferedWriter(
+                new OutputStreamWriter(target, Charset.defaultCharset()), WRITER_BUFFER_SIZE);
+    }
+
+    /**
+     * print the rows in the current format: aligned columns, a JSON array of objects keyed by the
+     * header, or CSV with the header line
+     */
+    public static void printTable(String[] header, List<String[]> rows) {
+        printTable(null, header, rows);
+    }
+
+    /**
+     * print the rows like {@link #printTable(String[], List)}, the JSON array is recorded as the
+     * result of the key if the output is captured
+     */
+    public static void printTable(String key, String[] header, List<String[]> rows) {
+        Rows table = rows(key, header);
+        for (String[] row : rows) {
+            table.add(row);
+        }
+        table.end();
+    }
+
+    /**
+     * @param key the key of the rows in the JSON results, null to print them as a JSON value
+     * @return the rows to print in the current format, the CSV rows are printed as they are added
+     *     and the others when the rows end, so a long listing can be streamed as CSV
+     */
+    public static Rows rows(String key, String... header) {
+        return new Rows(format, key, header);
+    }
+
+    private static void printAlignedTable(String[] header, List<String[]> rows) {
+        List<String[]> lines = new ArrayList<>(rows.size() + 1);
+        lines.add(header);
+        lines.addAll(rows);
+        int[] widths = new int[header.length];
+        for (String[] line : lines) {
+            for (int i = 0; i < line.length && i < widths.length; i++) {
+                widths[i] = Math.max(widths[i], valueOf(line[i]).length());
+            }
+        }
+        PrintStream out = System.out;
+        for (String[] line : lines) {
+            StringBuilder text = new StringBuilder();
+            for (int i = 0; i < widths.length; i++) {
+                String value = i < line.length ? valueOf(line[i]) : "";
+                text.append(value);
+                if (i < widths.length - 1) {
+                    for (int pad = value.length(); pad < widths[i] + 2; pad++) {
+                        text.append(' ');
+                    }
+                }
+            }
+            out.println(text.toString().trim());
+        }
+    }
+
+    private static void printJsonTable(String key, String[] header, List<String[]> rows) {
+        List<Map<String, String>> objects = new ArrayList<>(rows.size());
+        for (String[] row : rows) {
+            Map<String, String> object = new LinkedHashMap<>();
+            for (int i = 0; i < header.length; i++) {
+                object.put(header[i], i < row.length ? row[i] : null);
+            }
+            objects.add(object);
+        }
+        if (key != null && isCapturing()) {
+            result(key, objects);
+            return;
+        }
+        try {
+            ConsoleUtils.printJson(
+                    ObjectMapperFactory.getObjectMapper().writeValueAsString(objects));
+        } catch (IOException e) {
+            logger.warn("print the json table failed, e: ", e);
+        }
+    }
+
+    private static String toCsvLine(String[] values) {
+        StringBuilder line = new StringBuilder();
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                line.append(',');
+            }
+            String value = valueOf(values[i]);
+            if (value.indexOf(',') >= 0
+                    || value.indexOf('"') >= 0
+                    || value.indexOf('\n') >= 0
+                    || value.indexOf('\r') >= 0) {
+                line.append('"').append(value.replace("\"", "\"\"")).append('"');
+            } else {
+                line.append(value);
+            }
+        }
+        return line.toString();
+    }
+
+    private static String valueOf(String value) {
+        return value == null ? "" : value;
+    }
+
+    private static class ValueList extends ArrayList<Object> {}
+
+    /** the rows of a table printed in the format when they are created */
+    public static class Rows {
+        private final Format rowsFormat;
+        private final String key;
+        private final String[] header;
+        private final List<String[]> rows = new ArrayList<>();
+
+        private Rows(Format rowsFormat, String key, String[] header) {
+            this.rowsFormat = rowsFormat;
+            this.key = key;
+            this.header = header;
+            if (rowsFormat == Format.CSV) {
+                System.out.println(toCsvLine(header));
+            }
+        }
+
+        public void add(String... row) {
+            if (rowsFormat == Format.CSV) {
+                System.out.println(toCsvLine(row));
+            } else {
+                rows.add(row);
+            }
+        }
+
+        /** print the rows kept until now, the CSV rows have been printed already */
+        public void end() {
+            switch (rowsFormat) {
+                case JSON:
+                    printJsonTable(key, header, rows);
+                    break;
+                case CSV:
+                    break;
+                default:
+                    printAlignedTable(header, rows);
+            }
+            rows.clear();
+        }
+    }
+}
@@ -2,13 +2,19 @@ package console.common;
 
 import console.contract.exceptions.CompileContractException;
 import console.contract.model.AbiAndBin;
+import console.contract.utils.CompileCache;
 import console.contract.utils.ContractCompiler;
 import console.exception.ConsoleMessageException;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
+import java.io.PrintStream;
 import java.io.Reader;
 import java.io.StreamTokenizer;
 import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -22,6 +28,10 @@ import java.util.Comparator;
 import java.util.List;
 import java.util.Stack;
 import java.util.StringTokenizer;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import org.apache.commons.cli.CommandLine;
 import org.apache.commons.cli.CommandLineParser;
 import org.apache.commons.cli.DefaultParser;
@@ -37,6 +47,7 @@ import org.fisco.bcos.sdk.v3.codec.datatypes.StructType;
 import org.fisco.bcos.sdk.v3.codec.datatypes.Type;
 import org.fisco.bcos.sdk.v3.codec.datatypes.generated.tuples.generated.Tuple2;
 import org.fisco.bcos.sdk.v3.codegen.CodeGenMain;
+import org.fisco.bcos.sdk.v3.model.RetCode;
 import org.fisco.bcos.sdk.v3.utils.Numeric;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -57,80 +68,75 @@ public class ConsoleUtils {
     public static final int ADDRESS_LENGTH_IN_HEX = ADDRESS_SIZE >> 2;
     public static final String EMPTY_ADDRESS = "0x0000000000000000000000000000000000000000";
 
+    /** print the JSON in one line, e.g. -Dconsole.json.compact=true */
+    public static final String COMPACT_JSON_PROPERTY = "console.json.compact";
+
+    private static volatile boolean compactJson = Boolean.getBoolean(COMPACT_JSON_PROPERTY);
+    // System.out is shared by the threads, see runWithSystemOut
+    private static final Object systemOutLock = new Object();
+
+    public static boolean isCompactJson() {
+        return compactJson;
+    }
+
+    public static void setCompactJson(boolean compact) {
+        compactJson = compact;
+    }
+
     public static void printJson(String jsonStr) {
-        System.out.println(formatJson(jsonStr));
+        if (ConsoleOutput.isCapturing() && ConsoleOutput.resultJson(jsonStr)) {
+            return;
+        }
+        // System.out may be replaced, so the writer is not cached
+        Writer out = ConsoleOutput.newWriter();
+        try {
+            JsonFormatter.write(jsonStr, out, compactJson);
+            out.write(System.lineSeparator());
+            out.flush();
+        } catch (IOException e) {
+            logger.warn("print json failed, e: ", e);
+        }
     }
 
-    public static String formatJson(String jsonStr) {
-        if (null == jsonStr || "".equals(jsonStr)) return "";
-        jsonStr = jsonStr.replace("\\n", "");
-        StringBuilder sb = new StringBuilder();
-        char last = '\0';
-        char current = '\0';
-        int indent = 0;
-        boolean isInQuotationMarks = false;
-        for (int i = 0; i < jsonStr.length(); i++) {
-            last = current;
-            current = jsonStr.charAt(i);
-            switch (current) {
-                case '"':
-                    if (last != '\\') {
-                        isInQuotationMarks = !isInQuotationMarks;
-                    }
-                    sb.append(current);
-                    break;
-                case '{':
-                case '[':
-                    sb.append(current);
-                    if (!isInQuotationMarks) {
-                        sb.append('\n');
-                        indent++;
-                        addIndentBlank(sb, indent);
-                    }
-                    break;
-                case '}':
-                case ']':
-                    if (!isInQuotationMarks) {
-                        sb.append('\n');
-                        indent--;
-                        addIndentBlank(sb, indent);
-                    }
-                    sb.append(current);
-                    break;
-                case ',':
-                    sb.append(current);
-                    if (last != '\\' && !isInQuotationMarks) {
-                        sb.append('\n');
-                        addIndentBlank(sb, indent);
-                    }
-                    break;
-                case ' ':
-                    if (',' != jsonStr.charAt(i - 1)) {
-                        sb.append(current);
-                    }
-                    break;
-                case '\\':
-                    sb.append("\\");
-                    break;
-                default:
-                    if (!(current == " ".charAt(0))) sb.append(current);
-            }
+    /**
+     * print the JSON of a value, it is recorded as the result of the key instead if the output is
+     * captured, so the value is typed even if the JSON is the toString() of an SDK model which is
+     * not strict JSON
+     */
+    public static void printJson(String key, Object value, String jsonStr) {
+        if (ConsoleOutput.isCapturing()) {
+            ConsoleOutput.result(key, value);
+            return;
         }
+        printJson(jsonStr);
+    }
 
-        return sb.toString();
+    /** print the code and the message returned by a precompiled contract */
+    public static void printRetCode(RetCode retCode) {
+        if (ConsoleOutput.isCapturing()) {
+            ConsoleOutput.retCode(retCode.getCode(), retCode.getMessage());
+            return;
+        }
+        printJson(retCode.toString());
     }
 
-    private static void addIndentBlank(StringBuilder sb, int indent) {
-        for (int i = 0; i < indent; i++) {
-            sb.append("    ");
+    public static String formatJson(String jsonStr) {
+        if (null == jsonStr || "".equals(jsonStr)) return "";
+        StringWriter out = new StringWriter(jsonStr.length() * 2);
+        try {
+            JsonFormatter.write(jsonStr, out, false);
+        } catch (IOException e) {
+            // not thrown by StringWriter
+            throw new UncheckedIOException(e);
         }
+        return out.toString();
     }
 
     public static boolean isInvalidHash(String hash) {
         if (hash.matches("^0x[0-9a-fA-F]{64}$")) {
             return false;
         } else {
-            System.out.println("Please provide a valid hash.");
+            ConsoleOutput.printFailure("Please provide a valid hash.");
             return true;
         }
     }
@@ -211,7 +217,7 @@ public class ConsoleUtils {
         try {
             long value = Long.parseLong(number);
             if (value < minValue || (maxValue > minValue && value > maxValue)) {
-                System.out.println(
+                ConsoleOutput.printFailure(
                         "Please provide \""
                                 + name
                                 + "\" by integer mode between "
@@ -224,7 +230,7 @@ public class ConsoleUtils {
             return value;
         } catch (NumberFormatException e) {
             System.out.println("Invalid " + name + ": \"" + number + "\"!");
-            System.out.println(
+            ConsoleOutput.printFailure(
                     "Please provide "
                             + name
                             + " by integer mode, larger than "
@@ -247,7 +253,7 @@ public class ConsoleUtils {
         try {
             intParam = Integer.parseInt(intStr);
             if (intParam < minValue || (maxValue > minValue && intParam > maxValue)) {
-                System.out.println(
+                ConsoleOutput.printFailure(
                         "Please provide \""
                                 + name
                                 + "\" by non-negative integer mode between "
@@ -259,7 +265,7 @@ public class ConsoleUtils {
             }
         } catch (NumberFormatException e) {
             System.out.println("Invalid " + name + ": \"" + intStr + "\"!");
-            System.out.println(
+            ConsoleOutput.printFailure(
                     "Please provide \""
                             + name
                             + "\" by non-negative integer mode between "
@@ -288,15 +294,28 @@ public class ConsoleUtils {
             String binDir,
             String librariesOption)
             throws IOException, CompileContractException {
+        compileSolToJava(
+                javaDir, packageName, solFile, abiDir, binDir, librariesOption, System.out);
+    }
+
+    public static void compileSolToJava(
+            String javaDir,
+            String packageName,
+            File solFile,
+            String abiDir,
+            String binDir,
+            String librariesOption,
+            PrintStream out)
+            throws IOException, CompileContractException {
 
         String contractName = solFile.getName().split("\\.")[0];
 
-        /** ecdsa compile */
-        System.out.println("*** Compile solidity " + solFile.getName() + "*** ");
+        /** ecdsa and sm compile */
+        out.println("*** Compile solidity " + solFile.getName() + "*** ");
         AbiAndBin abiAndBin =
                 ContractCompiler.compileSolToBinAndAbi(
-                        solFile, abiDir, binDir, ContractCompiler.All, librariesOption, true);
-        System.out.println("INFO: Compile for solidity " + solFile.getName() + " success.");
+                        solFile, abiDir, binDir, ContractCompiler.All, librariesOption, true, out);
+        out.println("INFO: Compile for solidity " + solFile.getName() + " success.");
         File abiFile = new File(abiDir + contractName + ".abi");
         File binFile = new File(binDir + contractName + ".bin");
         String abiFilePath = abiFile.getAbsolutePath();
@@ -310,26 +329,50 @@ public class ConsoleUtils {
                 new File(abiDir + "/sm/" + contractName + ".abi"), abiAndBin.getAbi());
         FileUtils.writeStringToFile(smBinFile, abiAndBin.getSmBin());
 
-        CodeGenMain.main(
-                Arrays.asList(
-                                "-a", abiFilePath,
-                                "-b", binFilePath,
-                                "-s", smBinFilePath,
-                                "-p", packageName,
-                                "-o", javaDir)
-                        .toArray(new String[0]));
-        System.out.println(
-                "*** Convert solidity to java  for " + solFile.getName() + " success ***\n");
+        runWithSystemOut(
+                out,
+                () -> {
+                    CodeGenMain.main(
+                            Arrays.asList(
+                                            "-a", abiFilePath,
+                                            "-b", binFilePath,
+                                            "-s", smBinFilePath,
+                                            "-p", packageName,
+                                            "-o", javaDir)
+                                    .toArray(new String[0]));
+                    return null;
+                });
+        out.println("*** Convert solidity to java  for " + solFile.getName() + " success ***\n");
     }
 
     public static void compileAllSolToJava(
             String javaDir, String packageName, File solFileList, String abiDir, String binDir)
             throws IOException {
+        compileAllSolToJava(
+                javaDir,
+                packageName,
+                solFileList,
+                abiDir,
+                binDir,
+                Runtime.getRuntime().availableProcessors());
+    }
+
+    public static void compileAllSolToJava(
+            String javaDir,
+            String packageName,
+            File solFileList,
+            String abiDir,
+            String binDir,
+            int threadCount)
+            throws IOException {
         File[] solFiles = solFileList.listFiles();
-        if (solFiles.length == 0) {
+        if (solFiles == null || solFiles.length == 0) {
             System.out.println("The contracts directory is empty.");
             return;
         }
+        // sort the files to print the result in a deterministic order
+        Arrays.sort(solFiles, Comparator.comparing(File::getName));
+        List<File> compileFiles = new ArrayList<>();
         for (File solFile : solFiles) {
             if (!solFile.getName().endsWith(".sol")) {
                 continue;
@@ -338,16 +381,87 @@ public class ConsoleUtils {
             if (solFile.getName().startsWith("Lib")) {
                 continue;
             }
+            compileFiles.add(solFile);
+        }
+        if (compileFiles.isEmpty()) {
+            return;
+        }
+        // System.out is redirected while a file runs the code generator, see runWithSystemOut
+        PrintStream console = System.out;
+
+        ExecutorService executor =
+                Executors.newFixedThreadPool(Math.min(threadCount, compileFiles.size()));
+        try {
+            List<Future<String>> results = new ArrayList<>(compileFiles.size());
+            for (File solFile : compileFiles) {
+                results.add(
+                        executor.submit(
+                                () ->
+                                        compileSolToJavaWithOutput(
+                                                javaDir, packageName, solFile, abiDir, binDir)));
+            }
+            // print the output of every file in order, each file's output is kept together
+            for (int i = 0; i < results.size(); i++) {
+                try {
+                    console.print(results.get(i).get());
+                } catch (ExecutionException e) {
+                    console.println(
+                            "ERROR:convert solidity to java for "
+                                    + compileFiles.get(i).getName()
+                                    + " failed, error info: "
+                                    + e.getCause());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException("compile solidity files interrupted", e);
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static String compileSolToJavaWithOutput(
+            String javaDir, String packageName, File solFile, String abiDir, String binDir) {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        PrintStream out = new PrintStream(output, true);
+        try {
+            compileSolToJava(javaDir, packageName, solFile, abiDir, binDir, null, out);
+        } catch (Exception e) {
+            out.println(
+                    "ERROR:convert solidity to java for "
+                            + solFile.getName()
+                            + " failed, error info: "
+                            + e.getMessage());
+            out.println("ERROR stack: ");
+            e.printStackTrace(out);
+        }
+        out.flush();
+        return output.toString();
+    }
+
+    @FunctionalInterface
+    public interface SystemOutTask<T, E extends Exception> {
+        T run() throws E;
+    }
+
+    /**
+     * run a third party step printing to System.out, like CodeGenMain and EvmAnalyser, with
+     * System.out redirected to out if it is not null. The steps run one at a time, so when the
+     * files are compiled in parallel the output of a step goes only to the output of its file, and
+     * the code generator, which is not known to be thread safe, never runs concurrently.
+     */
+    public static <T, E extends Exception> T runWithSystemOut(
+            PrintStream out, SystemOutTask<T, E> task) throws E {
+        synchronized (systemOutLock) {
+            if (out == null) {
+                return task.run();
+            }
+            PrintStream stdout = System.out;
+            System.setOut(out);
             try {
-                compileSolToJava(javaDir, packageName, solFile, abiDir, binDir, null);
-            } catch (Exception e) {
-                System.out.println(
-                        "ERROR:convert solidity to java for "
-                                + solFile.getName()
-                                + " failed, error info: "
-                                + e.getMessage());
-                System.out.println("ERROR stack: ");
-                e.printStackTrace();
+                return task.run();
+            } finally {
+                System.setOut(stdout);
             }
         }
     }
@@ -592,6 +706,19 @@ public class ConsoleUtils {
         }
         resultType.append(")");
         resultData.append(")");
+        if (ConsoleOutput.isCapturing()) {
+            List<String> types = new ArrayList<>(results.size());
+            List<String> values = new ArrayList<>(results.size());
+            for (Type result : results) {
+                StringBuilder type = new StringBuilder();
+                StringBuilder value = new StringBuilder();
+                getReturnResults(type, value, result);
+                types.add(type.toString());
+                values.add(value.toString());
+            }
+            ConsoleOutput.result("returnTypes", types);
+            ConsoleOutput.result("returnValues", values);
+        }
         System.out.println("Return value size:" + results.size());
         System.out.println("Return types: " + resultType);
         System.out.println("Return values:" + resultData);
@@ -653,6 +780,7 @@ public class ConsoleUtils {
         String SOL_OPTION = "sol";
         String DEFAULT_SOL = SOLIDITY_PATH;
         String LIBS_OPTION = "libraries";
+        String THREADS_OPTION = "threads";
 
         String BIN_OPTION = "bin";
         String SM_BIN_OPTION = "sm-bin";
@@ -678,6 +806,15 @@ public class ConsoleUtils {
                             "[Optional] Set library address information built into the solidity contract\n eg:\n --libraries lib1:lib1_address lib2:lib2_address\n");
             libraryOption.setRequired(false);
             options.addOption(libraryOption);
+
+            Option threadsOption =
+                    new Option(
+                            "t",
+                            THREADS_OPTION,
+                            true,
+                            "[Optional] The number of files compiled in parallel when the solidity path is a directory, default is the number of processors");
+            threadsOption.setRequired(false);
+            options.addOption(threadsOption);
         } else if (mode.equals("liquid")) {
             Option liquidBinPathOption =
                     new Option(
@@ -746,8 +883,22 @@ public class ConsoleUtils {
                     compileSolToJava(
                             fullJavaDir, pkgName, sol, ABI_PATH, BIN_PATH, librariesOption);
                 } else { // input dir
-                    compileAllSolToJava(fullJavaDir, pkgName, sol, ABI_PATH, BIN_PATH);
+                    int threadCount =
+                            processNonNegativeNumber(
+                                    THREADS_OPTION,
+                                    cmd.getOptionValue(
+                                            THREADS_OPTION,
+                                            String.valueOf(
+                                                    Runtime.getRuntime().availableProcessors())),
+                                    1,
+                                    Integer.MAX_VALUE);
+                    if (threadCount == Common.InvalidReturnNumber) {
+                        System.exit(1);
+                    }
+                    compileAllSolToJava(
+                            fullJavaDir, pkgName, sol, ABI_PATH, BIN_PATH, threadCount);
                 }
+                System.out.println("INFO: " + CompileCache.getStats());
             } catch (IOException | CompileContractException e) {
                 System.out.print(e.getMessage());
                 logger.error(" message: {}, e: {}", e.getMessage(), e);
@@ -0,0 +1,96 @@
+package console.common;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Single pass formatter of the JSON printed by the console. It works on the characters instead of
+ * parsing, so the toString() output of the SDK models which is not strict JSON is indented too,
+ * and it writes to the sink as it goes instead of building the whole string.
+ */
+public class JsonFormatter {
+    private static final String INDENT = "    ";
+
+    private JsonFormatter() {}
+
+    /**
+     * @param compact write the JSON in one line without the blanks out of the strings, for the
+     *     tools reading one JSON per line
+     */
+    public static void write(CharSequence json, Writer out, boolean compact) throws IOException {
+        if (json == null) {
+            return;
+        }
+        int length = json.length();
+        char last;
+        char current = '\0';
+        int indent = 0;
+        boolean isInQuotationMarks = false;
+        for (int i = 0; i < length; i++) {
+            char c = json.charAt(i);
+            // the escaped line breaks are dropped
+            if (c == '\\' && i + 1 < length && json.charAt(i + 1) == 'n') {
+                i++;
+                continue;
+            }
+            last = current;
+            current = c;
+            switch (current) {
+                case '"':
+                    if (last != '\\') {
+                        isInQuotationMarks = !isInQuotationMarks;
+                    }
+                    out.write(current);
+                    break;
+                case '{':
+                case '[':
+                    out.write(current);
+                    if (!isInQuotationMarks) {
+                        indent++;
+                        newLine(out, indent, compact);
+                    }
+                    break;
+                case '}':
+                case ']':
+                    if (!isInQuotationMarks) {
+                        indent--;
+                        newLine(out, indent, compact);
+                    }
+                    out.write(current);
+                    break;
+                case ',':
+                    out.write(current);
+                    if (last != '\\' && !isInQuotationMarks) {
+                        newLine(out, indent, compact);
+                    }
+                    break;
+                case ' ':
+                    // the compact one keeps the strings as they are
+                    if (compact ? isInQuotationMarks : last != ',') {
+                        out.write(current);
+                    }
+                    break;
+                case '\r':
+                case '\n':
+                    if (!compact) {
+                        out.write(current);
+                    }
+                    break;
+                default:
+                    if (!compact || isInQuotationMarks || !Character.isWhitespace(current)) {
+                        out.write(current);
+                    }
+            }
+        }
+    }
+
+    private static void newLine(Writer out, int indent, boolean compact) throws IOException {
+        if (compact) {
+            return;
+        }
+        out.write('\n');
+        for (int i = 0; i < indent; i++) {
+            out.write(INDENT);
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package console.common;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/** Thread safe latency and failure statistics of the requests sent by the console. */
+public class LatencyStats {
+    // upper bounds(ms) of the histogram buckets, the last bucket holds the rest
+    private static final long[] HISTOGRAM_BOUNDS = {
+        1, 2, 5, 10, 20, 50, 100, 200, 500, 1000, 2000, 5000, 10000
+    };
+    private static final int HISTOGRAM_WIDTH = 40;
+    // the latencies grow as they are recorded, a large expected count doesn't allocate up front
+    private static final int MIN_CAPACITY = 16;
+    private static final int MAX_INITIAL_CAPACITY = 64 * 1024;
+
+    private long[] latencies;
+    private int size = 0;
+    private final AtomicLong succeeded = new AtomicLong();
+    private final Map<String, AtomicLong> failures = new ConcurrentHashMap<>();
+
+    public LatencyStats(int expectedCount) {
+        this.latencies =
+                new long[Math.min(Math.max(expectedCount, MIN_CAPACITY), MAX_INITIAL_CAPACITY)];
+    }
+
+    /** record a finished request, latency in microseconds */
+    public synchronized void record(long latencyMicros) {
+        if (size == latencies.length) {
+            latencies = Arrays.copyOf(latencies, (int) Math.min(size * 2L, Integer.MAX_VALUE - 8));
+        }
+        latencies[size++] = latencyMicros;
+    }
+
+    public void recordSuccess(long latencyMicros) {
+        record(latencyMicros);
+        succeeded.incrementAndGet();
+    }
+
+    public void recordFailure(long latencyMicros, String reason) {
+        record(latencyMicros);
+        failures.computeIfAbsent(reason, key -> new AtomicLong()).incrementAndGet();
+    }
+
+    public long getSucceeded() {
+        return succeeded.get();
+    }
+
+    public long getFailed() {
+        long failed = 0;
+        for (AtomicLong count : failures.values()) {
+            failed += count.get();
+        }
+        return failed;
+    }
+
+    public synchronized int getCount() {
+        return size;
+    }
+
+    public Map<String, Long> getFailures() {
+        Map<String, Long> result = new TreeMap<>();
+        for (Map.Entry<String, AtomicLong> entry : failures.entrySet()) {
+            result.put(entry.getKey(), entry.getValue().get());
+        }
+        return result;
+    }
+
+    /** @return the sorted latencies in microseconds */
+    public synchronized long[] snapshot() {
+        long[] sorted = Arrays.copyOf(latencies, size);
+        Arrays.sort(sorted);
+        return sorted;
+    }
+
+    /** @return the percentile latency(microseconds) of the sorted latencies */
+    public static long percentile(long[] sorted, double percent) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percent / 100 * sorted.length) - 1;
+        return sorted[Math.min(Math.max(index, 0), sorted.length - 1)];
+    }
+
+    public static String formatMillis(long micros) {
+        return String.format("%.2f ms", micros / 1000.0);
+    }
+
+    public void printReport(long elapsedNanos) {
+        long[] sorted = snapshot();
+        double elapsedSeconds = elapsedNanos / 1_000_000_000.0;
+        ConsoleUtils.singleLine();
+        System.out.println("total: " + sorted.length);
+        System.out.println("succeeded: " + getSucceeded());
+        System.out.println("failed: " + getFailed());
+        System.out.println(String.format("elapsed: %.3f s", elapsedSeconds));
+        System.out.println(
+                String.format(
+                        "TPS: %.2f", elapsedSeconds > 0 ? sorted.length / elapsedSeconds : 0.0));
+        if (sorted.length == 0) {
+            ConsoleUtils.singleLine();
+            return;
+        }
+        long sum = 0;
+        for (long latency : sorted) {
+            sum += latency;
+        }
+        System.out.println(
+                "latency min: "
+                        + formatMillis(sorted[0])
+                        + ", avg: "
+                        + formatMillis(sum / sorted.length)
+                        + ", max: "
+                        + formatMillis(sorted[sorted.length - 1]));
+        System.out.println(
+                "latency p50: "
+                        + formatMillis(percentile(sorted, 50))
+                        + ", p95: "
+                        + formatMillis(percentile(sorted, 95))
+                        + ", p99: "
+                        + formatMillis(percentile(sorted, 99)));
+        Map<String, Long> failureMap = getFailures();
+        if (!failureMap.isEmpty()) {
+            System.out.println("failures:");
+            for (Map.Entry<String, Long> entry : failureMap.entrySet()) {
+                System.out.println("  " + entry.getKey() + ": " + entry.getValue());
+            }
+        }
+        printHistogram(sorted);
+        ConsoleUtils.singleLine();
+    }
+
+    private static void printHistogram(long[] sorted) {
+        long[] buckets = new long[HISTOGRAM_BOUNDS.length + 1];
+        for (long latency : sorted) {
+            int i = 0;
+            while (i < HISTOGRAM_BOUNDS.length && latency > HISTOGRAM_BOUNDS[i] * 1000) {
+                i++;
+            }
+            buckets[i]++;
+        }
+        long maxBucket = 0;
+        for (long bucket : buckets) {
+            maxBucket = Math.max(maxBucket, bucket);
+        }
+        System.out.println("latency histogram:");
+        for (int i = 0; i < buckets.length; i++) {
+            if (buckets[i] == 0) {
+                continue;
+            }
+            String range =
+                    i < HISTOGRAM_BOUNDS.length
+                            ? "<= " + HISTOGRAM_BOUNDS[i] + " ms"
+                            : "> " + HISTOGRAM_BOUNDS[HISTOGRAM_BOUNDS.length - 1] + " ms";
+            StringBuilder bar = new StringBuilder();
+            long barLength = Math.max(1, buckets[i] * HISTOGRAM_WIDTH / maxBucket);
+            for (long j = 0; j < barLength; j++) {
+                bar.append('#');
+            }
+            System.out.printf(
+                    "  %-12s|%-" + HISTOGRAM_WIDTH + "s %d (%.1f%%)%n",
+                    range,
+                    bar,
+                    buckets[i],
+                    buckets[i] * 100.0 / sorted.length);
+        }
+    }
+}
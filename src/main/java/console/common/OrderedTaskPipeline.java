@@ -0,0 +1,83 @@
+package console.common;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Runs a task for each input on an executor with at most window tasks in flight, and hands the
+ * results to the sink on the calling thread in the order of the inputs. A slow task holds back the
+ * results after it, so the memory is bounded by the window whatever the completion order is.
+ *
+ * @param <I> the input type
+ * @param <O> the result type
+ */
+public class OrderedTaskPipeline<I, O> {
+    private final ExecutorService executor;
+    private final int window;
+
+    public OrderedTaskPipeline(ExecutorService executor, int window) {
+        if (window < 1) {
+            throw new IllegalArgumentException("the window should be at least 1, got " + window);
+        }
+        this.executor = executor;
+        this.window = window;
+    }
+
+    /**
+     * run the tasks until the inputs are exhausted, the pending tasks are cancelled if a task or
+     * the sink fails
+     *
+     * @throws Exception the exception of the first failed task or of the sink
+     */
+    public void run(Iterator<I> inputs, Task<I, O> task, Sink<I, O> sink) throws Exception {
+        Deque<Pending<I, O>> pendings = new ArrayDeque<>();
+        try {
+            while (inputs.hasNext() || !pendings.isEmpty()) {
+                while (pendings.size() < window && inputs.hasNext()) {
+                    I input = inputs.next();
+                    pendings.addLast(new Pending<>(input, executor.submit(() -> task.run(input))));
+                }
+                Pending<I, O> head = pendings.removeFirst();
+                O result;
+                try {
+                    result = head.future.get();
+                } catch (ExecutionException e) {
+                    Throwable cause = e.getCause();
+                    if (cause instanceof Exception) {
+                        throw (Exception) cause;
+                    }
+                    throw e;
+                }
+                sink.accept(head.input, result);
+            }
+        } finally {
+            for (Pending<I, O> pending : pendings) {
+                pending.future.cancel(true);
+            }
+        }
+    }
+
+    @FunctionalInterface
+    public interface Task<I, O> {
+        O run(I input) throws Exception;
+    }
+
+    @FunctionalInterface
+    public interface Sink<I, O> {
+        void accept(I input, O result) throws Exception;
+    }
+
+    private static class Pending<I, O> {
+        private final I input;
+        private final Future<O> future;
+
+        private Pending(I input, Future<O> future) {
+            this.input = input;
+            this.future = future;
+        }
+    }
+}
@@ -7,6 +7,12 @@ public interface ConsoleContractFace {
 
     void call(String[] params, String pwd) throws Exception;
 
+    void bench(String[] params, String pwd) throws Exception;
+
+    void receipts(String[] params) throws Exception;
+
+    void waitReceipts(String[] params) throws Exception;
+
     void getDeployLog(String[] params) throws Exception;
 
     void listAbi(ConsoleInitializer consoleInitializer, String[] params, String pwd)
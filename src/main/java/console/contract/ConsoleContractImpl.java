@@ -1,63 +1,69 @@
 package console.contract;
 
-import static org.fisco.solc.compiler.SolidityCompiler.Options.ABI;
-import static org.fisco.solc.compiler.SolidityCompiler.Options.BIN;
-import static org.fisco.solc.compiler.SolidityCompiler.Options.METADATA;
+import static org.fisco.bcos.sdk.v3.client.protocol.model.Transaction.LIQUID_SCALE_CODEC;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import console.ClientServices;
 import console.ConsoleInitializer;
 import console.common.Common;
+import console.common.ConsoleOutput;
 import console.common.ConsoleUtils;
+import console.common.LatencyStats;
 import console.common.StatusCodeLink;
 import console.contract.exceptions.CompileContractException;
 import console.contract.model.AbiAndBin;
+import console.contract.utils.AbiRegistry;
+import console.contract.utils.ContractAddressIndex;
 import console.contract.utils.ContractCompiler;
+import console.contract.utils.DeployLogStore;
+import console.contract.utils.RemoteAbiCache;
+import console.contract.utils.TransactionTracker;
 import console.exception.CompileSolidityException;
 import console.exception.ConsoleMessageException;
-import java.io.BufferedReader;
+import console.precompiled.BfsListingCache;
 import java.io.File;
 import java.io.FileInputStream;
-import java.io.FileReader;
-import java.io.FileWriter;
 import java.io.IOException;
-import java.io.PrintWriter;
 import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Base64;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.FilenameUtils;
+import org.fisco.bcos.sdk.jni.utilities.tx.TxPair;
 import org.fisco.bcos.sdk.v3.client.Client;
 import org.fisco.bcos.sdk.v3.client.exceptions.ClientException;
-import org.fisco.bcos.sdk.v3.client.protocol.response.Abi;
+import org.fisco.bcos.sdk.v3.codec.ContractCodec;
 import org.fisco.bcos.sdk.v3.codec.ContractCodecException;
 import org.fisco.bcos.sdk.v3.codec.EventEncoder;
 import org.fisco.bcos.sdk.v3.codec.wrapper.ABIDefinition;
-import org.fisco.bcos.sdk.v3.codec.wrapper.ABIDefinitionFactory;
 import org.fisco.bcos.sdk.v3.codec.wrapper.ABIObject;
 import org.fisco.bcos.sdk.v3.codec.wrapper.ContractABIDefinition;
 import org.fisco.bcos.sdk.v3.codec.wrapper.ContractCodecTools;
-import org.fisco.bcos.sdk.v3.codegen.CodeGenUtils;
 import org.fisco.bcos.sdk.v3.codegen.exceptions.CodeGenException;
-import org.fisco.bcos.sdk.v3.contract.precompiled.bfs.BFSService;
 import org.fisco.bcos.sdk.v3.crypto.keypair.CryptoKeyPair;
 import org.fisco.bcos.sdk.v3.model.CryptoType;
 import org.fisco.bcos.sdk.v3.model.PrecompiledRetCode;
+import org.fisco.bcos.sdk.v3.model.TransactionReceipt;
 import org.fisco.bcos.sdk.v3.transaction.manager.AssembleTransactionProcessorInterface;
-import org.fisco.bcos.sdk.v3.transaction.manager.TransactionProcessorFactory;
 import org.fisco.bcos.sdk.v3.transaction.model.dto.CallResponse;
 import org.fisco.bcos.sdk.v3.transaction.model.dto.TransactionResponse;
-import org.fisco.bcos.sdk.v3.transaction.model.exception.ContractException;
 import org.fisco.bcos.sdk.v3.transaction.model.exception.TransactionBaseException;
 import org.fisco.bcos.sdk.v3.utils.Hex;
 import org.fisco.bcos.sdk.v3.utils.Numeric;
-import org.fisco.solc.compiler.CompilationResult;
-import org.fisco.solc.compiler.SolidityCompiler;
+import org.fisco.bcos.sdk.v3.utils.ObjectMapperFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -65,17 +71,25 @@ public class ConsoleContractImpl implements ConsoleContractFace {
 
     private static final Logger logger = LoggerFactory.getLogger(ConsoleContractImpl.class);
 
+    private static final int DEFAULT_BENCH_COUNT = 100;
+    private static final int DEFAULT_BENCH_CONCURRENCY = 10;
+    private static final int MAX_BENCH_CONCURRENCY = 1000;
+    private static final String ASYNC_OPTION = "--async";
+    private static final int DEFAULT_WAIT_TIMEOUT = 60;
+
+    // shared by all the groups, the transactions are kept after switching group or account
+    private static final TransactionTracker transactionTracker = new TransactionTracker();
+
     private final Client client;
-    private final AssembleTransactionProcessorInterface assembleTransactionProcessor;
-    private final BFSService bfsService;
+    private final ClientServices services;
 
     public ConsoleContractImpl(Client client) {
-        this.client = client;
-        CryptoKeyPair cryptoKeyPair = client.getCryptoSuite().getCryptoKeyPair();
-        this.assembleTransactionProcessor =
-                TransactionProcessorFactory.createAssembleTransactionProcessor(
-                        client, cryptoKeyPair);
-        this.bfsService = new BFSService(client, cryptoKeyPair);
+        this(new ClientServices(client));
+    }
+
+    public ConsoleContractImpl(ClientServices services) {
+        this.client = services.getClient();
+        this.services = services;
     }
 
     @Override
@@ -113,9 +127,13 @@ public class ConsoleContractImpl implements ConsoleContractFace {
     public void printReturnObject(
             List<Object> returnObject, List<ABIObject> returnABIObject, String returnValue) {
         if (returnABIObject == null || returnObject.isEmpty() || returnABIObject.isEmpty()) {
+            ConsoleOutput.result("returnValues", returnValue);
             System.out.println("Return values:" + returnValue);
             return;
         }
+        if (ConsoleOutput.isCapturing()) {
+            recordReturnObject(returnObject, returnABIObject);
+        }
         StringBuilder resultType = new StringBuilder();
         StringBuilder resultData = new StringBuilder();
         resultType.append("(");
@@ -134,6 +152,25 @@ public class ConsoleContractImpl implements ConsoleContractFace {
         System.out.println("Return values:" + resultData);
     }
 
+    /** record the type and the value of each return object for the JSON output */
+    private void recordReturnObject(List<Object> returnObject, List<ABIObject> returnABIObject) {
+        List<String> types = new ArrayList<>();
+        List<String> values = new ArrayList<>();
+        for (int i = 0; i < returnObject.size() && i < returnABIObject.size(); i++) {
+            StringBuilder type = new StringBuilder();
+            StringBuilder value = new StringBuilder();
+            getReturnObjectOutputData(
+                    type,
+                    value,
+                    Collections.singletonList(returnObject.get(i)),
+                    Collections.singletonList(returnABIObject.get(i)));
+            types.add(type.toString().replaceAll(",?\\s*$", ""));
+            values.add(value.toString().replaceAll(",?\\s*$", ""));
+        }
+        ConsoleOutput.result("returnTypes", types);
+        ConsoleOutput.result("returnValues", values);
+    }
+
     public void getReturnObjectOutputData(
             StringBuilder resultType,
             StringBuilder resultData,
@@ -204,9 +241,11 @@ public class ConsoleContractImpl implements ConsoleContractFace {
                 bin = abiAndBin.getSmBin();
             }
             TransactionResponse response =
-                    this.assembleTransactionProcessor.deployAndGetResponseWithStringParams(
-                            abiAndBin.getAbi(), bin, tempInputParams, null);
+                    services.getAssembleTransactionProcessor()
+                            .deployAndGetResponseWithStringParams(
+                                    abiAndBin.getAbi(), bin, tempInputParams, null);
             if (response.getReturnCode() != PrecompiledRetCode.CODE_SUCCESS.getCode()) {
+                ConsoleOutput.error(response.getReturnCode(), response.getReturnMessage());
                 System.out.println("deploy contract for " + contractName + " failed!");
                 System.out.println("return message: " + response.getReturnMessage());
                 System.out.println("return code:" + response.getReturnCode());
@@ -220,15 +259,20 @@ public class ConsoleContractImpl implements ConsoleContractFace {
             if (!contractAddress.startsWith("0x")) {
                 contractAddress = "0x" + contractAddress;
             }
+            recordDeployResult(response, contractAddress);
             System.out.println(
                     "transaction hash: " + response.getTransactionReceipt().getTransactionHash());
             System.out.println("contract address: " + contractAddress);
             System.out.println(
                     "currentAccount: " + client.getCryptoSuite().getCryptoKeyPair().getAddress());
             writeLog(contractName, contractAddress);
+            // the address may have been looked up before the contract existed
+            RemoteAbiCache.invalidateAbi(client.getGroup(), contractAddress);
             // save the bin and abi
             ContractCompiler.saveAbiAndBin(
                     client.getGroup(), abiAndBin, contractName, contractAddress);
+            ContractAddressIndex.add(
+                    client.getGroup(), contractName, contractAddress, System.currentTimeMillis());
             return response;
         } catch (ClientException
                 | CompileContractException
@@ -238,6 +282,14 @@ public class ConsoleContractImpl implements ConsoleContractFace {
         }
     }
 
+    private void recordDeployResult(TransactionResponse response, String contractAddress) {
+        ConsoleOutput.result(
+                "transactionHash", response.getTransactionReceipt().getTransactionHash());
+        ConsoleOutput.result("contractAddress", contractAddress);
+        ConsoleOutput.result(
+                "currentAccount", client.getCryptoSuite().getCryptoKeyPair().getAddress());
+    }
+
     private byte[] readBytes(File file) throws IOException {
         byte[] bytes = new byte[(int) file.length()];
         FileInputStream fileInputStream = new FileInputStream(file);
@@ -258,9 +310,10 @@ public class ConsoleContractImpl implements ConsoleContractFace {
             File abiFile = new File(abiPath);
             String abi = FileUtils.readFileToString(abiFile);
             TransactionResponse response =
-                    this.assembleTransactionProcessor.deployAndGetResponseWithStringParams(
-                            abi, binStr, inputParams, path);
+                    services.getAssembleTransactionProcessor()
+                            .deployAndGetResponseWithStringParams(abi, binStr, inputParams, path);
             if (response.getReturnCode() != PrecompiledRetCode.CODE_SUCCESS.getCode()) {
+                ConsoleOutput.error(response.getReturnCode(), response.getReturnMessage());
                 System.out.println("deploy contract for " + path + " failed!");
                 System.out.println("return message: " + response.getReturnMessage());
                 System.out.println("return code:" + response.getReturnCode());
@@ -271,6 +324,7 @@ public class ConsoleContractImpl implements ConsoleContractFace {
                 return response;
             }
 
+            recordDeployResult(response, path);
             System.out.println(
                     "transaction hash: " + response.getTransactionReceipt().getTransactionHash());
             System.out.println("contract address: " + path);
@@ -278,6 +332,11 @@ public class ConsoleContractImpl implements ConsoleContractFace {
                     "currentAccount: " + client.getCryptoSuite().getCryptoKeyPair().getAddress());
             String contractName = FilenameUtils.getBaseName(path);
             writeLog(contractName, ContractCompiler.BFS_APPS_PREFIX + path);
+            // the contract is created in the BFS, reload the listing of its directory
+            String bfsPath = ContractCompiler.BFS_APPS_PREFIX + path;
+            BfsListingCache.getInstance(client).invalidateParent(bfsPath);
+            RemoteAbiCache.invalidateAbi(client.getGroup(), bfsPath);
+            RemoteAbiCache.invalidateLink(client.getGroup(), bfsPath);
             // save the bin and abi
             AbiAndBin abiAndBin =
                     client.getCryptoSuite().getCryptoTypeConfig() == CryptoType.SM_TYPE
@@ -292,86 +351,60 @@ public class ConsoleContractImpl implements ConsoleContractFace {
                                             .getBytes(StandardCharsets.UTF_8));
             ContractCompiler.saveAbiAndBin(
                     client.getGroup(), abiAndBin, contractName, contractAddress);
+            ContractAddressIndex.add(
+                    client.getGroup(), contractName, contractAddress, System.currentTimeMillis());
             return response;
         } catch (ClientException | IOException | ContractCodecException e) {
             throw new ConsoleMessageException("deploy contract failed due to:" + e.getMessage(), e);
         }
     }
 
-    private synchronized void writeLog(String contractName, String contractAddress) {
-        contractName = ConsoleUtils.removeSolSuffix(contractName);
-        BufferedReader reader = null;
-        try {
-            File logFile = new File(Common.ContractLogFileName);
-            if (!logFile.exists()) {
-                logFile.createNewFile();
-            }
-            reader = new BufferedReader(new FileReader(Common.ContractLogFileName));
-            String line;
-            List<String> textList = new ArrayList<String>();
-            while ((line = reader.readLine()) != null) {
-                textList.add(line);
-            }
-            int i = 0;
-            if (textList.size() >= Common.LogMaxCount) {
-                i = textList.size() - Common.LogMaxCount + 1;
-                if (logFile.exists()) {
-                    logFile.delete();
-                    logFile.createNewFile();
-                }
-                PrintWriter pw = new PrintWriter(new FileWriter(Common.ContractLogFileName, true));
-                for (; i < textList.size(); i++) {
-                    pw.println(textList.get(i));
-                }
-                pw.flush();
-                pw.close();
-            }
-        } catch (IOException e) {
-            System.out.println("Read deploylog.txt failed.");
-            return;
-        } finally {
-            try {
-                reader.close();
-            } catch (IOException e) {
-                System.out.println("Close deploylog.txt failed.");
-            }
-        }
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
-
-        while (contractName.length() < 20) {
-            contractName = contractName + " ";
-        }
-        String log =
-                LocalDateTime.now().format(formatter)
-                        + "  [group:"
-                        + client.getGroup()
-                        + "]  "
-                        + contractName
-                        + "  "
-                        + contractAddress;
+    private void writeLog(String contractName, String contractAddress) {
         try {
-            File logFile = new File(Common.ContractLogFileName);
-            if (!logFile.exists()) {
-                logFile.createNewFile();
-            }
-            PrintWriter pw = new PrintWriter(new FileWriter(Common.ContractLogFileName, true));
-            pw.println(log);
-            pw.flush();
-            pw.close();
+            DeployLogStore.getInstance()
+                    .append(
+                            client.getGroup(),
+                            ConsoleUtils.removeSolSuffix(contractName),
+                            contractAddress,
+                            System.currentTimeMillis());
         } catch (IOException e) {
-            System.out.println(e.getMessage());
+            System.out.println("Write the deploy log failed, error: " + e.getMessage());
             logger.error(" message: {}, e: {}", e.getMessage(), e);
-            return;
         }
     }
 
     public void getDeployLog(String[] params) throws Exception {
-        String queryRecordNumber = "";
         int recordNumber = Common.QueryLogCount;
-        if (params.length == 2) {
-            queryRecordNumber = params[1];
+        String contractName = null;
+        long fromMillis = 0;
+        long toMillis = Long.MAX_VALUE;
+        for (int i = 1; i < params.length; i++) {
+            String param = params[i];
+            if ("--name".equals(param) || "--from".equals(param) || "--to".equals(param)) {
+                if (i + 1 >= params.length) {
+                    System.out.println("Please provide the value of " + param + ".");
+                    return;
+                }
+                String value = params[++i];
+                try {
+                    if ("--name".equals(param)) {
+                        contractName = ConsoleUtils.removeSolSuffix(value);
+                    } else if ("--from".equals(param)) {
+                        fromMillis = parseDeployLogTime(value, false);
+                    } else {
+                        toMillis = parseDeployLogTime(value, true);
+                    }
+                } catch (DateTimeParseException e) {
+                    System.out.println(
+                            "Invalid time \""
+                                    + value
+                                    + "\", please use yyyy-MM-dd or \"yyyy-MM-dd HH:mm:ss\".");
+                    return;
+                }
+                continue;
+            }
             try {
-                recordNumber = Integer.parseInt(queryRecordNumber);
+                recordNumber = Integer.parseInt(param);
                 if (recordNumber <= 0 || recordNumber > 100) {
                     System.out.println(
                             "Please provide record number by integer mode, "
@@ -387,62 +420,69 @@ public class ConsoleContractImpl implements ConsoleContractFace {
                 return;
             }
         }
-        File logFile = new File(Common.ContractLogFileName);
-        if (!logFile.exists()) {
-            logFile.createNewFile();
+        List<String> records =
+                DeployLogStore.getInstance()
+                        .query(client.getGroup(), contractName, fromMillis, toMillis, recordNumber);
+        if (records.isEmpty()) {
+            System.out.println("Empty set.");
+            return;
         }
-        BufferedReader reader = new BufferedReader(new FileReader(Common.ContractLogFileName));
-        String line;
-        String ls = System.getProperty("line.separator");
-        List<String> textList = new ArrayList<String>();
-        try {
-            while ((line = reader.readLine()) != null) {
-                String[] contractInfos = ConsoleUtils.tokenizeCommand(line);
-                if ((contractInfos.length > 2)
-                        && ("[group:" + client.getGroup() + "]").equals(contractInfos[2])) {
-                    textList.add(line);
-                }
-            }
-            StringBuilder stringBuilder = new StringBuilder();
-            int i = 0;
-            int len = textList.size();
-            if (recordNumber >= len) {
-                recordNumber = len;
-            } else {
-                i = len - recordNumber;
-            }
-            for (; i < len; i++) {
-                stringBuilder.append(textList.get(i));
-                stringBuilder.append(ls);
-            }
-            if ("".equals(stringBuilder.toString())) {
-                System.out.println("Empty set.");
-            } else {
-                System.out.println(stringBuilder.toString());
-            }
-        } catch (Exception e) {
-            logger.error(" load {} failed, e: {}", Common.ContractLogFileName, e);
-        } finally {
-            reader.close();
+        for (String record : records) {
+            System.out.println(record);
         }
+        System.out.println();
+    }
+
+    /** parse yyyy-MM-dd or yyyy-MM-dd HH:mm:ss, a date means the start or the end of the day */
+    private static long parseDeployLogTime(String time, boolean endOfDay) {
+        String fixedTime = time.trim().replace('T', ' ');
+        if (fixedTime.length() == "yyyy-MM-dd".length()) {
+            fixedTime += endOfDay ? " 23:59:59" : " 00:00:00";
+        }
+        long millis = DeployLogStore.parseTime(fixedTime);
+        // the records are stored in milliseconds
+        return endOfDay ? millis + 999 : millis;
     }
 
     public ABIDefinition getAbiDefinition(AbiAndBin abiAndBin, String functionName)
             throws IOException {
+        AbiRegistry.AbiMethod method = getAbiMethod(abiAndBin, functionName);
+        return method == null ? null : method.getDefinition();
+    }
+
+    /** find the function by name, signature or selector, @return null if not found */
+    private AbiRegistry.AbiMethod getAbiMethod(AbiAndBin abiAndBin, String functionName)
+            throws IOException {
         if (abiAndBin.getAbi().isEmpty()) {
             throw new IOException("Abi is empty, please check contract abi exists.");
         }
-        List<ABIDefinition> abiDefinitions =
-                CodeGenUtils.loadContractAbiDefinition(abiAndBin.getAbi());
-        for (ABIDefinition definition : abiDefinitions) {
-            if (definition.getName() != null && definition.getName().equals(functionName)) {
-                return definition;
-            }
+        return AbiRegistry.getMethod(client.getCryptoSuite(), abiAndBin.getAbi(), functionName);
+    }
+
+    /** the contract, function and parameters resolved from the arguments of call */
+    private static class CallTarget {
+        // null if the abi should be loaded by contract name and address
+        private final AbiAndBin abi;
+        private final String contractName;
+        private final String contractAddress;
+        private final String functionName;
+        private final List<String> params;
+
+        private CallTarget(
+                AbiAndBin abi,
+                String contractName,
+                String contractAddress,
+                String functionName,
+                List<String> params) {
+            this.abi = abi;
+            this.contractName = contractName;
+            this.contractAddress = contractAddress;
+            this.functionName = functionName;
+            this.params = params;
         }
-        return null;
     }
 
-    private void callWasm(String[] params, String pwd) throws Exception {
+    private CallTarget resolveWasmTarget(String[] params, String pwd) throws Exception {
         String path = params[1];
         String functionName = params[2];
         path = ConsoleUtils.fixedBfsParam(path, pwd);
@@ -451,10 +491,10 @@ public class ConsoleContractImpl implements ConsoleContractFace {
             path = path.substring(ContractCompiler.BFS_APPS_PREFIX.length());
         }
         List<String> callParams = Arrays.asList(params).subList(3, params.length);
-        callContract(null, contractName, path, functionName, callParams);
+        return new CallTarget(null, contractName, path, functionName, callParams);
     }
 
-    private void callSolidity(String[] params) throws Exception {
+    private CallTarget resolveSolidityTarget(String[] params) throws Exception {
         String contractNameOrPath = ConsoleUtils.resolvePath(params[1]);
         String contractAddressStr = params[2];
         if (params.length < 4) {
@@ -467,40 +507,17 @@ public class ConsoleContractImpl implements ConsoleContractFace {
         String contractName = ConsoleUtils.getContractName(contractNameOrPath);
 
         if (contractAddressStr.equals("latest")) {
-            File contractDir =
-                    new File(
-                            ContractCompiler.COMPILED_PATH
-                                    + File.separator
-                                    + client.getGroup()
-                                    + File.separator
-                                    + contractName);
-            if (!contractDir.exists()) {
+            String latestAddress = ContractAddressIndex.latest(client.getGroup(), contractName);
+            if (latestAddress == null) {
                 System.out.println(
                         "Can not find the latest address. Please make sure group "
                                 + client.getGroup()
                                 + " has deployed contract \""
                                 + contractName
                                 + "\"!");
-                return;
-            }
-            File[] contractAddressFiles = contractDir.listFiles();
-            if (contractAddressFiles == null || contractAddressFiles.length == 0) {
-                System.out.println(
-                        "Can not find the latest address. Please make sure group "
-                                + client.getGroup()
-                                + " has deployed contract \""
-                                + contractName
-                                + "\"!");
-                return;
-            }
-            ConsoleUtils.sortFiles(contractAddressFiles);
-            for (File contractAddressFile : contractAddressFiles) {
-                if (contractAddressFile.isDirectory()
-                        && ConsoleUtils.isValidAddress(contractAddressFile.getName())) {
-                    contractAddressStr = contractAddressFile.getName();
-                    break;
-                }
+                return null;
             }
+            contractAddressStr = latestAddress;
 
             System.out.println(
                     "latest contract address for \""
@@ -512,41 +529,346 @@ public class ConsoleContractImpl implements ConsoleContractFace {
         // check contract address
         if (!ConsoleUtils.isValidAddress(contractAddressStr)) {
             System.out.println("Invalid contract address: " + contractAddressStr);
-            return;
+            return null;
         }
         // get callParams
         List<String> callParams = Arrays.asList(params).subList(4, params.length);
-        callContract(null, contractName, contractAddressStr, functionName, callParams);
+        return new CallTarget(null, contractName, contractAddressStr, functionName, callParams);
     }
 
-    @Override
-    public void call(String[] params, String pwd) throws Exception {
+    private CallTarget resolveCallTarget(String[] params, String pwd) throws Exception {
         String path = params[1];
         String fixedBfsParam = ConsoleUtils.fixedBfsParam(path, pwd);
-        String address = "";
-        try {
-            address = bfsService.readlink(fixedBfsParam);
-        } catch (ContractException e) {
-            logger.debug("call contract, path: {}", path, e);
-        }
+        String address = RemoteAbiCache.readlink(client, services.getBfsService(), fixedBfsParam);
         if (!address.isEmpty() && !address.equals(Common.EMPTY_CONTRACT_ADDRESS)) {
-            String abi = client.getABI(address).getABI();
+            String abi = RemoteAbiCache.getAbi(client, address);
             if (abi.isEmpty()) {
                 System.out.println(
                         "Resource " + path + " doesnt have abi, maybe this is not a link.");
-                return;
+                return null;
             }
             AbiAndBin abiAndBin = new AbiAndBin(abi, "", "");
             String functionName = params[2];
             List<String> inputParams = Arrays.asList(params).subList(3, params.length);
-            callContract(abiAndBin, "", address, functionName, inputParams);
-            return;
+            return new CallTarget(abiAndBin, "", address, functionName, inputParams);
         }
         if (this.client.isWASM()) {
-            callWasm(params, pwd);
+            return resolveWasmTarget(params, pwd);
+        }
+        return resolveSolidityTarget(params);
+    }
+
+    @Override
+    public void call(String[] params, String pwd) throws Exception {
+        boolean async = false;
+        if (params.length > 1 && (ASYNC_OPTION.equals(params[1]) || "-a".equals(params[1]))) {
+            async = true;
+            String[] callParams = new String[params.length - 1];
+            callParams[0] = params[0];
+            System.arraycopy(params, 2, callParams, 1, params.length - 2);
+            params = callParams;
+            if (params.length < 3) {
+                System.out.println("Please provide the contract and the function to call.");
+                return;
+            }
+        }
+        CallTarget target = resolveCallTarget(params, pwd);
+        if (target == null) {
+            return;
+        }
+        callContract(
+                target.abi,
+                target.contractName,
+                target.contractAddress,
+                target.functionName,
+                target.params,
+                async);
+    }
+
+    @Override
+    public void receipts(String[] params) throws Exception {
+        if (params.length > 1) {
+            if ("-c".equals(params[1]) || "--clear".equals(params[1])) {
+                int removed = transactionTracker.clearFinished();
+                System.out.println("Removed " + removed + " finished transactions.");
+                return;
+            }
+            int id = ConsoleUtils.processNonNegativeNumber("id", params[1]);
+            if (id == Common.InvalidReturnNumber) {
+                return;
+            }
+            for (TransactionTracker.TrackedTransaction transaction :
+                    transactionTracker.getTransactions()) {
+                if (transaction.getId() == id) {
+                    printTrackedTransaction(transaction);
+                    return;
+                }
+            }
+            System.out.println("The async transaction #" + id + " doesn't exist.");
+            return;
+        }
+        printTrackedTransactions();
+    }
+
+    @Override
+    public void waitReceipts(String[] params) throws Exception {
+        long timeout = DEFAULT_WAIT_TIMEOUT;
+        if (params.length > 1) {
+            timeout = ConsoleUtils.processNonNegativeNumber("timeout", params[1]);
+            if (timeout == Common.InvalidReturnNumber) {
+                return;
+            }
+        }
+        int pending = transactionTracker.getPendingCount();
+        if (pending > 0) {
+            System.out.println("Waiting for " + pending + " pending transactions...");
+        }
+        if (!transactionTracker.waitAll(timeout * 1000)) {
+            System.out.println(
+                    "Timeout after "
+                            + timeout
+                            + "s, "
+                            + transactionTracker.getPendingCount()
+                            + " transactions are still pending.");
+        }
+        printTrackedTransactions();
+    }
+
+    private void printTrackedTransactions() {
+        List<TransactionTracker.TrackedTransaction> transactions =
+                transactionTracker.getTransactions();
+        if (transactions.isEmpty()) {
+            System.out.println("Empty set.");
+            return;
+        }
+        System.out.printf(
+                " %-6s|  %-10s|  %-66s  |  %-10s|  %s%n",
+                "id", "status", "transaction hash", "cost(ms)", "function");
+        ConsoleUtils.singleLine();
+        for (TransactionTracker.TrackedTransaction transaction : transactions) {
+            String status;
+            String hash = transaction.getTransactionHash();
+            if (!transaction.isFinished()) {
+                status = "pending";
+            } else if (transaction.getReceipt() != null) {
+                status = String.valueOf(transaction.getReceipt().getStatus());
+            } else {
+                status = "error";
+            }
+            System.out.printf(
+                    " %-6s|  %-10s|  %-66s  |  %-10s|  %s%n",
+                    "#" + transaction.getId(),
+                    status,
+                    hash,
+                    transaction.getTimeCost(),
+                    transaction.getDescription());
+        }
+    }
+
+    private void printTrackedTransaction(TransactionTracker.TrackedTransaction transaction)
+            throws JsonProcessingException {
+        System.out.println("function: " + transaction.getDescription());
+        System.out.println("transaction hash: " + transaction.getTransactionHash());
+        if (!transaction.isFinished()) {
+            System.out.println(
+                    "The transaction is pending, waited " + transaction.getTimeCost() + " ms.");
+        } else if (transaction.getReceipt() != null) {
+            ConsoleUtils.printJson(
+                    ObjectMapperFactory.getObjectMapper()
+                            .writeValueAsString(transaction.getReceipt()));
         } else {
-            callSolidity(params);
+            Exception error = transaction.getError();
+            if (error instanceof TransactionBaseException
+                    && ((TransactionBaseException) error).getRetCode() != null) {
+                ConsoleUtils.printJson(
+                        ((TransactionBaseException) error).getRetCode().toString());
+            }
+            System.out.println("Send transaction failed: " + error.getMessage());
+        }
+    }
+
+    @Override
+    public void bench(String[] params, String pwd) throws Exception {
+        int count = DEFAULT_BENCH_COUNT;
+        int concurrency = DEFAULT_BENCH_CONCURRENCY;
+        int rate = 0;
+        int index = 1;
+        while (index < params.length && params[index].startsWith("-")) {
+            String option = params[index];
+            if (index + 1 >= params.length) {
+                System.out.println("Please provide the value of option " + option + ".");
+                return;
+            }
+            String value = params[index + 1];
+            int optionValue;
+            switch (option) {
+                case "-n":
+                case "--count":
+                    optionValue =
+                            ConsoleUtils.processNonNegativeNumber(
+                                    "count", value, 1, Integer.MAX_VALUE);
+                    count = optionValue;
+                    break;
+                case "-c":
+                case "--concurrency":
+                    optionValue =
+                            ConsoleUtils.processNonNegativeNumber(
+                                    "concurrency", value, 1, MAX_BENCH_CONCURRENCY);
+                    concurrency = optionValue;
+                    break;
+                case "-r":
+                case "--rate":
+                    optionValue = ConsoleUtils.processNonNegativeNumber("rate", value);
+                    rate = optionValue;
+                    break;
+                default:
+                    System.out.println("Unknown option: " + option + ".");
+                    return;
+            }
+            if (optionValue == Common.InvalidReturnNumber) {
+                return;
+            }
+            index += 2;
+        }
+        // the rest are the same as the arguments of call
+        String[] callParams = new String[params.length - index + 1];
+        callParams[0] = params[0];
+        System.arraycopy(params, index, callParams, 1, params.length - index);
+        if (callParams.length < 3) {
+            System.out.println("Please provide the contract and the function to bench.");
+            return;
+        }
+        CallTarget target = resolveCallTarget(callParams, pwd);
+        if (target == null) {
+            return;
+        }
+        AbiAndBin abi =
+                target.abi != null
+                        ? target.abi
+                        : loadContractAbi(target.contractName, target.contractAddress);
+        AbiRegistry.AbiMethod method = getAbiMethod(abi, target.functionName);
+        if (method == null) {
+            System.out.println(
+                    "bench contract \""
+                            + target.contractName
+                            + "\" failed ! Please check the existence of method \""
+                            + target.functionName
+                            + "\"");
+            return;
+        }
+        ABIDefinition abiDefinition = method.getDefinition();
+        // a signature or a selector is sent by the name with the abi of the chosen function
+        target =
+                new CallTarget(
+                        abi,
+                        target.contractName,
+                        target.contractAddress,
+                        abiDefinition.getName(),
+                        target.params);
+        System.out.println(
+                "bench "
+                        + (abiDefinition.isConstant() ? "call " : "transaction ")
+                        + target.functionName
+                        + " of "
+                        + target.contractAddress
+                        + ", count: "
+                        + count
+                        + ", concurrency: "
+                        + concurrency
+                        + ", rate: "
+                        + (rate == 0 ? "unlimited" : rate + "/s"));
+        runBench(target, method.getAbi(), abiDefinition.isConstant(), count, concurrency, rate);
+    }
+
+    private void runBench(
+            CallTarget target,
+            String abi,
+            boolean isCall,
+            int count,
+            int concurrency,
+            int rate)
+            throws InterruptedException {
+        LatencyStats stats = new LatencyStats(count);
+        // long, the indexes taken by the workers after the count must not wrap around
+        AtomicLong nextRequest = new AtomicLong();
+        AtomicInteger finishedRequest = new AtomicInteger();
+        int progressStep = Math.max(count / 10, 1);
+        long intervalNanos = rate > 0 ? 1_000_000_000L / rate : 0;
+        String from = client.getCryptoSuite().getCryptoKeyPair().getAddress();
+        AssembleTransactionProcessorInterface transactionProcessor =
+                services.getAssembleTransactionProcessor();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(concurrency, count));
+        long startTime = System.nanoTime();
+        Runnable worker =
+                () -> {
+                    long requestIndex;
+                    while ((requestIndex = nextRequest.getAndIncrement()) < count) {
+                        if (intervalNanos > 0) {
+                            // pace the requests to the target rate
+                            long waitNanos =
+                                    startTime + requestIndex * intervalNanos - System.nanoTime();
+                            if (waitNanos > 0) {
+                                LockSupport.parkNanos(waitNanos);
+                            }
+                        }
+                        long requestStartTime = System.nanoTime();
+                        try {
+                            int status;
+                            if (isCall) {
+                                CallResponse response =
+                                        transactionProcessor.sendCallWithStringParams(
+                                                from,
+                                                target.contractAddress,
+                                                abi,
+                                                target.functionName,
+                                                target.params);
+                                status = response.getReturnCode();
+                            } else {
+                                TransactionResponse response =
+                                        transactionProcessor
+                                                .sendTransactionWithStringParamsAndGetResponse(
+                                                        target.contractAddress,
+                                                        abi,
+                                                        target.functionName,
+                                                        target.params);
+                                status = response.getTransactionReceipt().getStatus();
+                            }
+                            long latency = (System.nanoTime() - requestStartTime) / 1000;
+                            if (status == 0) {
+                                stats.recordSuccess(latency);
+                            } else {
+                                stats.recordFailure(latency, "status " + status);
+                            }
+                        } catch (TransactionBaseException e) {
+                            long latency = (System.nanoTime() - requestStartTime) / 1000;
+                            stats.recordFailure(
+                                    latency,
+                                    e.getRetCode() != null
+                                            ? "status " + e.getRetCode().getCode()
+                                            : e.getClass().getSimpleName());
+                            logger.debug("bench request failed, e: ", e);
+                        } catch (Exception e) {
+                            long latency = (System.nanoTime() - requestStartTime) / 1000;
+                            stats.recordFailure(latency, e.getClass().getSimpleName());
+                            logger.debug("bench request failed, e: ", e);
+                        }
+                        int finished = finishedRequest.incrementAndGet();
+                        if (finished % progressStep == 0 && finished < count) {
+                            System.out.println("finished " + finished + "/" + count);
+                            ConsoleOutput.flush();
+                        }
+                    }
+                };
+        for (int i = 0; i < Math.min(concurrency, count); i++) {
+            executor.execute(worker);
+        }
+        executor.shutdown();
+        try {
+            executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        } finally {
+            executor.shutdownNow();
         }
+        stats.printReport(System.nanoTime() - startTime);
     }
 
     protected void callContract(
@@ -556,46 +878,30 @@ public class ConsoleContractImpl implements ConsoleContractFace {
             String functionName,
             List<String> callParams)
             throws IOException, CodeGenException, ContractCodecException {
+        callContract(abi, contractName, contractAddress, functionName, callParams, false);
+    }
+
+    protected void callContract(
+            AbiAndBin abi,
+            String contractName,
+            String contractAddress,
+            String functionName,
+            List<String> callParams,
+            boolean async)
+            throws IOException, CodeGenException, ContractCodecException {
         try {
             // just load abi
             // load local abi first
             if (abi == null) {
-                String wasmAbiAddress = "";
-                if (client.isWASM()) {
-                    wasmAbiAddress =
-                            Base64.getUrlEncoder()
-                                    .withoutPadding()
-                                    .encodeToString(
-                                            (ContractCompiler.BFS_APPS_PREFIX + contractAddress)
-                                                    .getBytes(StandardCharsets.UTF_8));
-                }
-                abi =
-                        ContractCompiler.loadAbi(
-                                client.getGroup(),
-                                contractName,
-                                client.isWASM()
-                                        ? wasmAbiAddress
-                                        : Numeric.prependHexPrefix(contractAddress));
-                // still empty, get abi on chain
-                if (abi.getAbi().isEmpty()) {
-                    Abi remoteAbi = client.getABI(contractAddress);
-                    abi.setAbi(remoteAbi.getABI());
-                    ContractCompiler.saveAbiAndBin(
-                            client.getGroup(),
-                            abi,
-                            contractName,
-                            client.isWASM()
-                                    ? wasmAbiAddress
-                                    : Numeric.prependHexPrefix(contractAddress));
-                }
+                abi = loadContractAbi(contractName, contractAddress);
             }
             logger.trace(
                     "callContract contractName: {}, contractAddress: {}",
                     contractName,
                     contractAddress);
             // call
-            ABIDefinition abiDefinition = getAbiDefinition(abi, functionName);
-            if (abiDefinition == null) {
+            AbiRegistry.AbiMethod method = getAbiMethod(abi, functionName);
+            if (method == null) {
                 System.out.println(
                         "call contract \""
                                 + contractName
@@ -604,10 +910,20 @@ public class ConsoleContractImpl implements ConsoleContractFace {
                                 + "\"");
                 return;
             }
+            ABIDefinition abiDefinition = method.getDefinition();
+            // a signature or a selector is sent by the name with the abi of the chosen function
+            if (!method.getAbi().equals(abi.getAbi())) {
+                abi = new AbiAndBin(method.getAbi(), abi.getBin(), abi.getSmBin());
+            }
+            functionName = abiDefinition.getName();
 
             if (abiDefinition.isConstant()) {
                 sendCall(abi, contractName, contractAddress, functionName, callParams);
             }
+            // send transaction in background
+            else if (async) {
+                sendTransactionAsync(abi, contractAddress, functionName, callParams);
+            }
             // send transaction
             else {
                 sendTransaction(
@@ -639,6 +955,36 @@ public class ConsoleContractImpl implements ConsoleContractFace {
         }
     }
 
+    private AbiAndBin loadContractAbi(String contractName, String contractAddress)
+            throws IOException, CodeGenException {
+        String wasmAbiAddress = "";
+        if (client.isWASM()) {
+            wasmAbiAddress =
+                    Base64.getUrlEncoder()
+                            .withoutPadding()
+                            .encodeToString(
+                                    (ContractCompiler.BFS_APPS_PREFIX + contractAddress)
+                                            .getBytes(StandardCharsets.UTF_8));
+        }
+        AbiAndBin abi =
+                ContractCompiler.loadAbi(
+                        client.getGroup(),
+                        contractName,
+                        client.isWASM()
+                                ? wasmAbiAddress
+                                : Numeric.prependHexPrefix(contractAddress));
+        // still empty, get abi on chain
+        if (abi.getAbi().isEmpty()) {
+            abi.setAbi(RemoteAbiCache.getAbi(client, contractAddress));
+            ContractCompiler.saveAbiAndBin(
+                    client.getGroup(),
+                    abi,
+                    contractName,
+                    client.isWASM() ? wasmAbiAddress : Numeric.prependHexPrefix(contractAddress));
+        }
+        return abi;
+    }
+
     private void sendTransaction(
             AbiAndBin abiAndBin,
             String contractName,
@@ -658,8 +1004,18 @@ public class ConsoleContractImpl implements ConsoleContractFace {
                     abiDefinition);
         }
         TransactionResponse response =
-                assembleTransactionProcessor.sendTransactionWithStringParamsAndGetResponse(
-                        contractAddress, abiAndBin.getAbi(), functionName, callParams);
+                services.getAssembleTransactionProcessor()
+                        .sendTransactionWithStringParamsAndGetResponse(
+                                contractAddress, abiAndBin.getAbi(), functionName, callParams);
+        TransactionReceipt receipt = response.getTransactionReceipt();
+        ConsoleOutput.result("transactionHash", receipt.getTransactionHash());
+        ConsoleOutput.result("status", receipt.getStatus());
+        ConsoleOutput.result("receiptMessages", response.getReceiptMessages());
+        ConsoleOutput.result("returnMessage", response.getReturnMessage());
+        ConsoleOutput.result("events", response.getEvents());
+        if (receipt.getStatus() != 0) {
+            ConsoleOutput.error(receipt.getStatus(), response.getReceiptMessages());
+        }
         System.out.println(
                 "transaction hash: " + response.getTransactionReceipt().getTransactionHash());
         ConsoleUtils.singleLine();
@@ -679,6 +1035,38 @@ public class ConsoleContractImpl implements ConsoleContractFace {
         }
     }
 
+    private void sendTransactionAsync(
+            AbiAndBin abiAndBin,
+            String contractAddress,
+            String functionName,
+            List<String> callParams)
+            throws ContractCodecException {
+        // sign here to show the hash at once, the receipt is recorded by the callback
+        byte[] data =
+                new ContractCodec(client.getCryptoSuite(), client.isWASM())
+                        .encodeMethodFromString(abiAndBin.getAbi(), functionName, callParams);
+        TxPair txPair =
+                services.getAssembleTransactionProcessor()
+                        .createSignedTransaction(
+                                contractAddress,
+                                data,
+                                services.getCryptoKeyPair(),
+                                client.isWASM() ? LIQUID_SCALE_CODEC : 0);
+        TransactionTracker.TrackedTransaction transaction =
+                transactionTracker.submit(
+                        functionName + callParams + " of " + contractAddress,
+                        txPair.getTxHash(),
+                        callback ->
+                                client.sendTransactionAsync(txPair.getSignedTx(), false, callback));
+        ConsoleOutput.result("asyncId", transaction.getId());
+        ConsoleOutput.result("transactionHash", txPair.getTxHash());
+        System.out.println("transaction hash: " + txPair.getTxHash());
+        System.out.println(
+                "async transaction #"
+                        + transaction.getId()
+                        + " submitted, use \"receipts\" or \"wait\" to get the receipt.");
+    }
+
     private void sendCall(
             AbiAndBin abiAndBin,
             String contractName,
@@ -697,13 +1085,19 @@ public class ConsoleContractImpl implements ConsoleContractFace {
         }
         CryptoKeyPair cryptoKeyPair = client.getCryptoSuite().getCryptoKeyPair();
         CallResponse response =
-                assembleTransactionProcessor.sendCallWithStringParams(
-                        cryptoKeyPair.getAddress(),
-                        contractAddress,
-                        abiAndBin.getAbi(),
-                        functionName,
-                        callParams);
+                services.getAssembleTransactionProcessor()
+                        .sendCallWithStringParams(
+                                cryptoKeyPair.getAddress(),
+                                contractAddress,
+                                abiAndBin.getAbi(),
+                                functionName,
+                                callParams);
 
+        ConsoleOutput.result("returnCode", response.getReturnCode());
+        ConsoleOutput.result("returnMessage", response.getReturnMessage());
+        if (response.getReturnCode() != PrecompiledRetCode.CODE_SUCCESS.getCode()) {
+            ConsoleOutput.error(response.getReturnCode(), response.getReturnMessage());
+        }
         ConsoleUtils.singleLine();
         System.out.println("Return code: " + response.getReturnCode());
         if (response.getReturnCode() == PrecompiledRetCode.CODE_SUCCESS.getCode()) {
@@ -754,39 +1148,20 @@ public class ConsoleContractImpl implements ConsoleContractFace {
             }
             contractName = solFile.getName().split("\\.")[0];
 
-            // compile ecdsa
-            SolidityCompiler.Result res =
-                    SolidityCompiler.compile(
-                            solFile,
-                            (client.getCryptoType() == CryptoType.SM_TYPE),
-                            true,
-                            ABI,
-                            BIN,
-                            METADATA);
-
-            if (logger.isDebugEnabled()) {
-                logger.debug(
-                        " solidity compiler, contract: {}, result: {}, output: {}, error: {}",
-                        solFile,
-                        !res.isFailed(),
-                        res.getOutput(),
-                        res.getErrors());
-            }
-
-            if (res.isFailed()) {
+            try {
+                // reuse the compile cache, listing abi of an unchanged contract skips solc
+                abiStr =
+                        ContractCompiler.compileSolToAbi(
+                                solFile, client.getCryptoType() == CryptoType.SM_TYPE);
+            } catch (CompileContractException e) {
                 throw new CompileSolidityException(
-                        " Compile " + solFile.getName() + " error: " + res.getErrors());
+                        " Compile " + solFile.getName() + " error: " + e.getMessage());
             }
-
-            CompilationResult result = CompilationResult.parse(res.getOutput());
-            CompilationResult.ContractMetadata contractMetadata = result.getContract(contractName);
-            abiStr = contractMetadata.abi;
         }
 
         // Read Content of the file
-        ABIDefinitionFactory abiDefinitionFactory =
-                new ABIDefinitionFactory(client.getCryptoSuite());
-        ContractABIDefinition contractABIDefinition = abiDefinitionFactory.loadABI(abiStr);
+        ContractABIDefinition contractABIDefinition =
+                AbiRegistry.getContractABIDefinition(client.getCryptoSuite(), abiStr);
         if (Objects.isNull(contractABIDefinition)) {
             System.out.println(" Unable to load " + contractName + " abi");
             logger.warn(" contract: {}, abi: {}", contractName, abiStr);
@@ -0,0 +1,235 @@
+package console.contract.utils;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.fisco.bcos.sdk.v3.codec.wrapper.ABIDefinition;
+import org.fisco.bcos.sdk.v3.codec.wrapper.ABIDefinitionFactory;
+import org.fisco.bcos.sdk.v3.codec.wrapper.ContractABIDefinition;
+import org.fisco.bcos.sdk.v3.codegen.CodeGenUtils;
+import org.fisco.bcos.sdk.v3.crypto.CryptoSuite;
+import org.fisco.bcos.sdk.v3.utils.Numeric;
+import org.fisco.bcos.sdk.v3.utils.ObjectMapperFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * In memory LRU registry of the abi files under {@link ContractCompiler#COMPILED_PATH} and of the
+ * parsed abi definitions, so that repeated calls to the same contract skip the file reading and the
+ * json parsing. A cached file is reloaded when its modified time or length changes. The functions
+ * of a parsed abi are indexed by name, signature and selector.
+ */
+public class AbiRegistry {
+    private static final Logger logger = LoggerFactory.getLogger(AbiRegistry.class);
+
+    public static final int DEFAULT_CAPACITY = 256;
+
+    private static final Map<String, AbiFile> abiFiles = lruMap(DEFAULT_CAPACITY);
+    // keyed by the crypto type, the method ids depend on the hash algorithm
+    private static final Map<Integer, Map<String, ParsedAbi>> parsedAbis =
+            Collections.synchronizedMap(new LinkedHashMap<>());
+
+    private AbiRegistry() {}
+
+    /** @return the content of the abi file, or null if the file doesn't exist */
+    public static String readAbi(File abiFile) throws IOException {
+        String path = abiFile.getPath();
+        long lastModified = abiFile.lastModified();
+        long length = abiFile.length();
+        // lastModified is 0 if the file doesn't exist
+        if (lastModified == 0 && !abiFile.exists()) {
+            abiFiles.remove(path);
+            return null;
+        }
+        AbiFile cached = abiFiles.get(path);
+        if (cached != null && cached.lastModified == lastModified && cached.length == length) {
+            return cached.content;
+        }
+        String content = new String(Files.readAllBytes(abiFile.toPath()), StandardCharsets.UTF_8);
+        abiFiles.put(path, new AbiFile(content, lastModified, length));
+        logger.trace("load abi file {}", path);
+        return content;
+    }
+
+    public static void invalidate(File abiFile) {
+        abiFiles.remove(abiFile.getPath());
+    }
+
+    /** @return the parsed abi, or null if the abi can not be parsed */
+    public static ContractABIDefinition getContractABIDefinition(
+            CryptoSuite cryptoSuite, String abi) {
+        ParsedAbi parsedAbi = getParsedAbi(cryptoSuite, abi);
+        return parsedAbi == null ? null : parsedAbi.definition;
+    }
+
+    /** @return the first function named functionName, or null if not found */
+    public static ABIDefinition getFunction(
+            CryptoSuite cryptoSuite, String abi, String functionName) {
+        AbiMethod method = getMethod(cryptoSuite, abi, functionName);
+        return method == null ? null : method.getDefinition();
+    }
+
+    /**
+     * find a function by its name, full signature like set(string) or 4 bytes selector like
+     * 0x4ed3885e; a name picks the first function if it is overloaded, use the signature or the
+     * selector to pick the others
+     *
+     * @return the function, or null if not found
+     */
+    public static AbiMethod getMethod(CryptoSuite cryptoSuite, String abi, String method) {
+        ParsedAbi parsedAbi = getParsedAbi(cryptoSuite, abi);
+        if (parsedAbi == null) {
+            return null;
+        }
+        if (method.contains("(")) {
+            return parsedAbi.methodsBySignature.get(method.replaceAll("\\s", ""));
+        }
+        AbiMethod abiMethod = parsedAbi.methodsByName.get(method);
+        if (abiMethod == null && method.startsWith("0x")) {
+            abiMethod = parsedAbi.methodsBySelector.get(method.toLowerCase());
+        }
+        return abiMethod;
+    }
+
+    private static ParsedAbi getParsedAbi(CryptoSuite cryptoSuite, String abi) {
+        Map<String, ParsedAbi> abis =
+                parsedAbis.computeIfAbsent(
+                        cryptoSuite.getCryptoTypeConfig(), key -> lruMap(DEFAULT_CAPACITY));
+        ParsedAbi parsedAbi = abis.get(abi);
+        if (parsedAbi == null) {
+            ContractABIDefinition definition = new ABIDefinitionFactory(cryptoSuite).loadABI(abi);
+            if (definition == null) {
+                return null;
+            }
+            parsedAbi = new ParsedAbi(cryptoSuite, abi, definition);
+            abis.put(abi, parsedAbi);
+        }
+        return parsedAbi;
+    }
+
+    private static <K, V> Map<K, V> lruMap(int capacity) {
+        return Collections.synchronizedMap(
+                new LinkedHashMap<K, V>(16, 0.75f, true) {
+                    @Override
+                    protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                        return size() > capacity;
+                    }
+                });
+    }
+
+    /** a function and the abi to send it with */
+    public static class AbiMethod {
+        private final ABIDefinition definition;
+        private final String abi;
+
+        private AbiMethod(ABIDefinition definition, String abi) {
+            this.definition = definition;
+            this.abi = abi;
+        }
+
+        public ABIDefinition getDefinition() {
+            return definition;
+        }
+
+        /**
+         * @return the whole abi, or an abi with only this function and the events if it is
+         *     overloaded, so that the transaction processor can pick it by name
+         */
+        public String getAbi() {
+            return abi;
+        }
+    }
+
+    private static class ParsedAbi {
+        private final ContractABIDefinition definition;
+        private final Map<String, AbiMethod> methodsByName = new HashMap<>();
+        private final Map<String, AbiMethod> methodsBySignature = new HashMap<>();
+        private final Map<String, AbiMethod> methodsBySelector = new HashMap<>();
+
+        private ParsedAbi(CryptoSuite cryptoSuite, String abi, ContractABIDefinition definition) {
+            this.definition = definition;
+            Map<String, String> overloadAbis = splitOverloads(abi, definition);
+            for (List<ABIDefinition> functions : definition.getFunctions().values()) {
+                for (ABIDefinition function : functions) {
+                    // a name keeps the whole abi, the same as before the index
+                    methodsByName.putIfAbsent(function.getName(), new AbiMethod(function, abi));
+                    String signature = function.getMethodSignatureAsString();
+                    String methodAbi = functions.size() > 1 ? overloadAbis.get(signature) : abi;
+                    if (methodAbi == null) {
+                        logger.warn("split the abi of the overloaded {} failed", signature);
+                        continue;
+                    }
+                    AbiMethod method = new AbiMethod(function, methodAbi);
+                    methodsBySignature.put(signature, method);
+                    methodsBySelector.put(
+                            Numeric.toHexString(function.getMethodId(cryptoSuite)), method);
+                }
+            }
+        }
+
+        /**
+         * @return the abi of each overloaded function with all the events, keyed by the signature;
+         *     the events are kept to decode the logs of the receipt
+         */
+        private static Map<String, String> splitOverloads(
+                String abi, ContractABIDefinition definition) {
+            Map<String, String> overloadAbis = new HashMap<>();
+            try {
+                ObjectMapper objectMapper = ObjectMapperFactory.getObjectMapper();
+                JsonNode items = objectMapper.readTree(abi);
+                List<JsonNode> events = new ArrayList<>();
+                for (JsonNode item : items) {
+                    if ("event".equals(item.path("type").asText())) {
+                        events.add(item);
+                    }
+                }
+                for (JsonNode item : items) {
+                    JsonNode name = item.get("name");
+                    // the type of a function may be omitted
+                    if (name == null || !"function".equals(item.path("type").asText("function"))) {
+                        continue;
+                    }
+                    List<ABIDefinition> functions = definition.getFunctions().get(name.asText());
+                    if (functions == null || functions.size() < 2) {
+                        continue;
+                    }
+                    ArrayNode functionItems = objectMapper.createArrayNode();
+                    functionItems.add(item);
+                    functionItems.addAll(events);
+                    String functionAbi = objectMapper.writeValueAsString(functionItems);
+                    for (ABIDefinition function :
+                            CodeGenUtils.loadContractAbiDefinition(functionAbi)) {
+                        if ("function".equals(function.getType())) {
+                            overloadAbis.put(function.getMethodSignatureAsString(), functionAbi);
+                        }
+                    }
+                }
+            } catch (IOException e) {
+                logger.warn("split the overloaded functions failed, e: ", e);
+            }
+            return overloadAbis;
+        }
+    }
+
+    private static class AbiFile {
+        private final String content;
+        private final long lastModified;
+        private final long length;
+
+        private AbiFile(String content, long lastModified, long length) {
+            this.content = content;
+            this.lastModified = lastModified;
+            this.length = length;
+        }
+    }
+}
@@ -0,0 +1,255 @@
+/*
+ * Copyright 2014-2020  [fisco-dev]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ */
+package console.contract.utils;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import console.common.ConsoleUtils;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.apache.commons.io.FileUtils;
+import org.fisco.bcos.sdk.v3.utils.ObjectMapperFactory;
+import org.fisco.solc.compiler.SolidityCompiler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Persistent solidity compilation cache, the entries are stored in {@link
+ * ContractCompiler#COMPILED_PATH}/.cache and keyed by the hash of the source closure (the contract
+ * file and all the files it imports), the sm flag, the libraries option and the solc version.
+ */
+public class CompileCache {
+    private static final Logger logger = LoggerFactory.getLogger(CompileCache.class);
+
+    public static final String CACHE_PATH = ContractCompiler.COMPILED_PATH + ".cache/";
+    private static final String CACHE_SUFFIX = ".json";
+    private static final Pattern IMPORT_PATTERN =
+            Pattern.compile("import\\s+(?:[^;\"']*\\s+from\\s+)?[\"']([^\"']+)[\"']");
+
+    private static final String SOLC_VERSION = loadSolcVersion();
+
+    private static final AtomicLong hits = new AtomicLong();
+    private static final AtomicLong misses = new AtomicLong();
+    private static final AtomicLong savedMillis = new AtomicLong();
+
+    private CompileCache() {}
+
+    /**
+     * compute the cache key of a contract file
+     *
+     * @return the key, or null if the source closure can not be read
+     */
+    public static String cacheKey(
+            File contractFile,
+            boolean sm,
+            String librariesOption,
+            boolean isContractParallelAnalysis) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            update(digest, "solc:" + SOLC_VERSION);
+            update(digest, "sm:" + sm);
+            update(digest, "libraries:" + (librariesOption == null ? "" : librariesOption));
+            update(digest, "analysis:" + isContractParallelAnalysis);
+            update(digest, "contract:" + contractFile.getName());
+            // sort the source closure by path to make the key independent of the import order
+            for (Map.Entry<String, byte[]> source : loadSourceClosure(contractFile).entrySet()) {
+                update(digest, source.getKey());
+                digest.update(source.getValue());
+            }
+            return ConsoleUtils.bytesToHex(digest.digest());
+        } catch (IOException | NoSuchAlgorithmException e) {
+            logger.warn("compute compile cache key failed, file: {}, e: ", contractFile, e);
+            return null;
+        }
+    }
+
+    /** @return the cached abi and bin, or null if not cached */
+    public static CacheEntry get(String key) {
+        if (key == null) {
+            return null;
+        }
+        File cacheFile = new File(CACHE_PATH + key + CACHE_SUFFIX);
+        if (!cacheFile.exists()) {
+            misses.incrementAndGet();
+            return null;
+        }
+        try {
+            JsonNode node = ObjectMapperFactory.getObjectMapper().readTree(cacheFile);
+            CacheEntry entry =
+                    new CacheEntry(
+                            node.get("abi").asText(),
+                            node.get("bin").asText(),
+                            node.get("compileMillis").asLong());
+            hits.incrementAndGet();
+            savedMillis.addAndGet(entry.getCompileMillis());
+            logger.debug("compile cache hit, key: {}, file: {}", key, cacheFile);
+            return entry;
+        } catch (Exception e) {
+            logger.warn("load compile cache {} failed, e: ", cacheFile, e);
+            misses.incrementAndGet();
+            return null;
+        }
+    }
+
+    /** @return the cached abi, or null if not cached */
+    public static String getAbi(String key) {
+        CacheEntry entry = get(key);
+        return entry == null ? null : entry.getAbi();
+    }
+
+    public static void put(String key, String abi, String bin, long compileMillis) {
+        if (key == null) {
+            return;
+        }
+        ObjectMapper objectMapper = ObjectMapperFactory.getObjectMapper();
+        ObjectNode node = objectMapper.createObjectNode();
+        node.put("abi", abi);
+        node.put("bin", bin);
+        node.put("compileMillis", compileMillis);
+        node.put("solcVersion", SOLC_VERSION);
+        File cacheFile = new File(CACHE_PATH + key + CACHE_SUFFIX);
+        try {
+            // write to a temp file first, concurrent compilers may store the same key
+            File tmpFile = File.createTempFile(key, ".tmp", ensureCacheDir());
+            FileUtils.writeStringToFile(
+                    tmpFile, objectMapper.writeValueAsString(node), StandardCharsets.UTF_8);
+            Files.move(
+                    tmpFile.toPath(),
+                    cacheFile.toPath(),
+                    StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            logger.warn("save compile cache {} failed, e: ", cacheFile, e);
+        }
+    }
+
+    public static long getHits() {
+        return hits.get();
+    }
+
+    public static long getMisses() {
+        return misses.get();
+    }
+
+    public static long getSavedMillis() {
+        return savedMillis.get();
+    }
+
+    public static String getStats() {
+        return "compile cache hits: "
+                + hits.get()
+                + ", misses: "
+                + misses.get()
+                + ", time saved: "
+                + savedMillis.get()
+                + " ms";
+    }
+
+    private static File ensureCacheDir() throws IOException {
+        File cacheDir = new File(CACHE_PATH);
+        if (!cacheDir.exists() && !cacheDir.mkdirs() && !cacheDir.exists()) {
+            throw new IOException("create compile cache directory " + CACHE_PATH + " failed");
+        }
+        return cacheDir;
+    }
+
+    private static TreeMap<String, byte[]> loadSourceClosure(File contractFile)
+            throws IOException {
+        TreeMap<String, byte[]> sources = new TreeMap<>();
+        Deque<File> pending = new ArrayDeque<>();
+        pending.push(contractFile.getCanonicalFile());
+        while (!pending.isEmpty()) {
+            File file = pending.pop();
+            String path = file.getPath();
+            if (sources.containsKey(path)) {
+                continue;
+            }
+            byte[] content = Files.readAllBytes(file.toPath());
+            sources.put(path, content);
+            Matcher matcher =
+                    IMPORT_PATTERN.matcher(new String(content, StandardCharsets.UTF_8));
+            while (matcher.find()) {
+                File imported = new File(file.getParentFile(), matcher.group(1));
+                // imports resolved by solc remappings are not part of the local closure
+                if (imported.isFile()) {
+                    pending.push(imported.getCanonicalFile());
+                }
+            }
+        }
+        return sources;
+    }
+
+    private static void update(MessageDigest digest, String value) {
+        digest.update(value.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+    }
+
+    private static String loadSolcVersion() {
+        Package solcPackage = SolidityCompiler.class.getPackage();
+        if (solcPackage != null && solcPackage.getImplementationVersion() != null) {
+            return solcPackage.getImplementationVersion();
+        }
+        try {
+            // the solcJ jar name carries the version, e.g. solcJ-0.8.11.1.jar
+            return new File(
+                            SolidityCompiler.class
+                                    .getProtectionDomain()
+                                    .getCodeSource()
+                                    .getLocation()
+                                    .toURI())
+                    .getName();
+        } catch (Exception e) {
+            logger.warn("load solc version failed, e: ", e);
+            return "unknown";
+        }
+    }
+
+    public static class CacheEntry {
+        private final String abi;
+        private final String bin;
+        private final long compileMillis;
+
+        public CacheEntry(String abi, String bin, long compileMillis) {
+            this.abi = abi;
+            this.bin = bin;
+            this.compileMillis = compileMillis;
+        }
+
+        public String getAbi() {
+            return abi;
+        }
+
+        public String getBin() {
+            return bin;
+        }
+
+        public long getCompileMillis() {
+            return compileMillis;
+        }
+    }
+}
@@ -0,0 +1,268 @@
+package console.contract.utils;
+
+import console.common.ConsoleUtils;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Per group index of the deployed addresses of each contract, ordered by the deploy time. The
+ * index of a contract is appended to {@link #INDEX_FILE_NAME} under {@link
+ * ContractCompiler#COMPILED_PATH}/group/contractName on every deploy, so that resolving "latest"
+ * and listing the addresses don't scan and sort the address directories. A missing index is
+ * rebuilt once from the directories.
+ */
+public class ContractAddressIndex {
+    private static final Logger logger = LoggerFactory.getLogger(ContractAddressIndex.class);
+
+    public static final String INDEX_FILE_NAME = ".deployed";
+
+    // group -> contractName -> addresses
+    private static final Map<String, Map<String, Addresses>> groupIndexes =
+            new ConcurrentHashMap<>();
+
+    private ContractAddressIndex() {}
+
+    /**
+     * record a deployed contract, the address directory should have been created by {@link
+     * ContractCompiler#saveAbiAndBin}
+     *
+     * @param address the name of the address directory
+     */
+    public static void add(String group, String contractName, String address, long deployTime) {
+        Addresses addresses = getAddresses(group, contractName);
+        synchronized (addresses) {
+            try {
+                addresses.load();
+                addresses.append(address, deployTime);
+            } catch (IOException e) {
+                logger.warn("update the address index of {} failed, e: ", contractName, e);
+                addresses.invalidate();
+            }
+        }
+    }
+
+    /**
+     * @param count the max number of the addresses
+     * @return the addresses whose directory exists, the latest deployed first
+     */
+    public static List<Entry> latest(String group, String contractName, int count) {
+        Addresses addresses = getAddresses(group, contractName);
+        List<Entry> result = new ArrayList<>();
+        synchronized (addresses) {
+            try {
+                addresses.load();
+            } catch (IOException e) {
+                logger.warn("load the address index of {} failed, e: ", contractName, e);
+                addresses.invalidate();
+                return result;
+            }
+            List<Entry> entries = addresses.ordered();
+            for (int i = entries.size() - 1; i >= 0 && result.size() < count; i--) {
+                Entry entry = entries.get(i);
+                // the directory may have been removed by hand
+                if (new File(addresses.contractDir, entry.address).isDirectory()) {
+                    result.add(entry);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return the latest deployed valid address, or null if the contract has not been deployed;
+     *     the wasm paths and the corrupt lines of the index are skipped
+     */
+    public static String latest(String group, String contractName) {
+        Addresses addresses = getAddresses(group, contractName);
+        synchronized (addresses) {
+            try {
+                addresses.load();
+            } catch (IOException e) {
+                logger.warn("load the address index of {} failed, e: ", contractName, e);
+                addresses.invalidate();
+                return null;
+            }
+            List<Entry> entries = addresses.ordered();
+            for (int i = entries.size() - 1; i >= 0; i--) {
+                Entry entry = entries.get(i);
+                if (ConsoleUtils.isValidAddress(entry.address)
+                        && new File(addresses.contractDir, entry.address).isDirectory()) {
+                    return entry.address;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static Addresses getAddresses(String group, String contractName) {
+        return groupIndexes
+                .computeIfAbsent(group, key -> new ConcurrentHashMap<>())
+                .computeIfAbsent(
+                        contractName,
+                        key ->
+                                new Addresses(
+                                        new File(
+                                                ContractCompiler.COMPILED_PATH
+                                                        + File.separator
+                                                        + group
+                                                        + File.separator
+                                                        + contractName)));
+    }
+
+    public static class Entry {
+        private final String address;
+        private final long deployTime;
+
+        private Entry(String address, long deployTime) {
+            this.address = address;
+            this.deployTime = deployTime;
+        }
+
+        /** @return the name of the address directory */
+        public String getAddress() {
+            return address;
+        }
+
+        public long getDeployTime() {
+            return deployTime;
+        }
+    }
+
+    private static class Addresses {
+        private final File contractDir;
+        private final File indexFile;
+        // address -> entry, ordered by the deploy time, the latest at the end
+        private Map<String, Entry> entries = new LinkedHashMap<>();
+        // the entries in a list for the reverse scans, null if they have changed
+        private List<Entry> ordered;
+        // the length of the index file when it was read, -1 if not loaded
+        private long loadedLength = -1;
+
+        private Addresses(File contractDir) {
+            this.contractDir = contractDir;
+            this.indexFile = new File(contractDir, INDEX_FILE_NAME);
+        }
+
+        /**
+         * read the index file, or rebuild it if it doesn't exist; only the lines appended since
+         * the last read are read
+         */
+        private void load() throws IOException {
+            if (!indexFile.exists()) {
+                if (contractDir.isDirectory()) {
+                    rebuild();
+                } else {
+                    entries = new LinkedHashMap<>();
+                    ordered = null;
+                    loadedLength = 0;
+                }
+                return;
+            }
+            // another console may have appended to the index
+            long length = indexFile.length();
+            if (length == loadedLength) {
+                return;
+            }
+            if (loadedLength < 0 || length < loadedLength) {
+                // not loaded yet, or rewritten
+                entries = new LinkedHashMap<>();
+                ordered = null;
+                loadedLength = 0;
+            }
+            byte[] appended;
+            try (RandomAccessFile file = new RandomAccessFile(indexFile, "r")) {
+                appended = new byte[(int) (length - loadedLength)];
+                file.seek(loadedLength);
+                file.readFully(appended);
+            }
+            // a line being appended by another console is read next time
+            int end = appended.length;
+            while (end > 0 && appended[end - 1] != '\n') {
+                end--;
+            }
+            String content = new String(appended, 0, end, StandardCharsets.UTF_8);
+            for (String line : content.split("\n")) {
+                // deployTime address
+                String[] items = line.trim().split("\\s+");
+                if (items.length != 2) {
+                    continue;
+                }
+                try {
+                    put(new Entry(items[1], Long.parseLong(items[0])));
+                } catch (NumberFormatException e) {
+                    logger.debug("skip the invalid address index: {}", line);
+                }
+            }
+            loadedLength += end;
+        }
+
+        /** index the existing address directories by their modified time */
+        private void rebuild() throws IOException {
+            File[] addressDirs =
+                    contractDir.listFiles(
+                            file -> file.isDirectory() && !file.getName().startsWith("."));
+            entries = new LinkedHashMap<>();
+            ordered = null;
+            StringBuilder content = new StringBuilder();
+            if (addressDirs != null) {
+                Arrays.sort(addressDirs, Comparator.comparingLong(File::lastModified));
+                for (File addressDir : addressDirs) {
+                    Entry entry = new Entry(addressDir.getName(), addressDir.lastModified());
+                    put(entry);
+                    content.append(formatEntry(entry));
+                }
+            }
+            Files.write(indexFile.toPath(), content.toString().getBytes(StandardCharsets.UTF_8));
+            loadedLength = indexFile.length();
+            logger.info(
+                    "rebuild the address index of {}, {} addresses", contractDir, entries.size());
+        }
+
+        private void append(String address, long deployTime) throws IOException {
+            Entry entry = new Entry(address, deployTime);
+            if (!contractDir.isDirectory() && !contractDir.mkdirs()) {
+                throw new IOException("create the directory " + contractDir + " failed");
+            }
+            try (FileOutputStream out = new FileOutputStream(indexFile, true)) {
+                out.write(formatEntry(entry).getBytes(StandardCharsets.UTF_8));
+            }
+            // the line is read again by the next load, together with the lines of the others
+            put(entry);
+        }
+
+        /** add the entry at the end, a redeployed address keeps only its last deploy */
+        private void put(Entry entry) {
+            entries.remove(entry.address);
+            entries.put(entry.address, entry);
+            ordered = null;
+        }
+
+        private List<Entry> ordered() {
+            if (ordered == null) {
+                ordered = new ArrayList<>(entries.values());
+            }
+            return ordered;
+        }
+
+        private void invalidate() {
+            loadedLength = -1;
+        }
+
+        private static String formatEntry(Entry entry) {
+            return entry.deployTime + " " + entry.address + "\n";
+        }
+    }
+}
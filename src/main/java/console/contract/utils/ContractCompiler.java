@@ -23,8 +23,13 @@ import console.contract.exceptions.CompileContractException;
 import console.contract.model.AbiAndBin;
 import java.io.File;
 import java.io.IOException;
+import java.io.PrintStream;
 import java.nio.charset.StandardCharsets;
 import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import org.apache.commons.io.FileUtils;
 import org.fisco.bcos.sdk.v3.codegen.CodeGenUtils;
 import org.fisco.bcos.sdk.v3.codegen.exceptions.CodeGenException;
@@ -52,6 +57,16 @@ public class ContractCompiler {
     private static final String BIN_SUFFIX = ".bin";
     private static final String ABI_SUFFIX = ".abi";
     private static final String WASM_SUFFIX = ".wasm";
+    private static final String SM_DIR = "sm/";
+
+    private static final ExecutorService smCompileExecutor =
+            Executors.newFixedThreadPool(
+                    Runtime.getRuntime().availableProcessors(),
+                    runnable -> {
+                        Thread thread = new Thread(runnable, "sm-compiler");
+                        thread.setDaemon(true);
+                        return thread;
+                    });
 
     public static AbiAndBin compileContract(
             String contractNameOrPath, boolean sm, boolean isContractParallelAnalysis)
@@ -98,6 +113,26 @@ public class ContractCompiler {
             String librariesOption,
             boolean isContractParallelAnalysis)
             throws IOException, CompileContractException {
+        return compileSolToBinAndAbi(
+                contractFile,
+                abiDir,
+                binDir,
+                compileType,
+                librariesOption,
+                isContractParallelAnalysis,
+                null);
+    }
+
+    /** @param out the output of the evm analyser, null for System.out */
+    public static AbiAndBin compileSolToBinAndAbi(
+            File contractFile,
+            String abiDir,
+            String binDir,
+            int compileType,
+            String librariesOption,
+            boolean isContractParallelAnalysis,
+            PrintStream out)
+            throws IOException, CompileContractException {
         if (compileType == OnlyNonSM) {
             return compileSolToBinAndAbi(
                     contractFile,
@@ -105,7 +140,8 @@ public class ContractCompiler {
                     binDir,
                     false,
                     librariesOption,
-                    isContractParallelAnalysis);
+                    isContractParallelAnalysis,
+                    out);
         } else if (compileType == OnlySM) {
             return compileSolToBinAndAbi(
                     contractFile,
@@ -113,28 +149,63 @@ public class ContractCompiler {
                     binDir,
                     true,
                     librariesOption,
-                    isContractParallelAnalysis);
+                    isContractParallelAnalysis,
+                    out);
         } else {
-            AbiAndBin abiAndBin =
-                    compileSolToBinAndAbi(
-                            contractFile,
-                            abiDir,
-                            binDir,
-                            false,
-                            librariesOption,
-                            isContractParallelAnalysis);
-            AbiAndBin abiAndBinSM =
-                    compileSolToBinAndAbi(
-                            contractFile,
-                            abiDir,
-                            binDir,
-                            true,
-                            librariesOption,
-                            isContractParallelAnalysis);
+            // compile the sm version at the same time, it is written into the sm sub directory
+            // to avoid racing with the ecdsa version on the abi and bin files
+            Future<AbiAndBin> smFuture =
+                    smCompileExecutor.submit(
+                            () ->
+                                    compileSolToBinAndAbi(
+                                            contractFile,
+                                            abiDir + SM_DIR,
+                                            binDir + SM_DIR,
+                                            true,
+                                            librariesOption,
+                                            isContractParallelAnalysis,
+                                            out));
+            AbiAndBin abiAndBin;
+            try {
+                abiAndBin =
+                        compileSolToBinAndAbi(
+                                contractFile,
+                                abiDir,
+                                binDir,
+                                false,
+                                librariesOption,
+                                isContractParallelAnalysis,
+                                out);
+            } catch (IOException | CompileContractException e) {
+                smFuture.cancel(true);
+                throw e;
+            }
+            AbiAndBin abiAndBinSM = waitSmCompile(contractFile, smFuture);
             return new AbiAndBin(abiAndBin.getAbi(), abiAndBin.getBin(), abiAndBinSM.getSmBin());
         }
     }
 
+    private static AbiAndBin waitSmCompile(File contractFile, Future<AbiAndBin> smFuture)
+            throws IOException, CompileContractException {
+        try {
+            return smFuture.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CompileContractException(
+                    "compile " + contractFile.getName() + " interrupted", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof CompileContractException) {
+                throw (CompileContractException) cause;
+            }
+            throw new CompileContractException(
+                    "compile " + contractFile.getName() + " failed, error info: " + cause, cause);
+        }
+    }
+
     // compile with libraries option
     public static AbiAndBin compileSolToBinAndAbi(
             File contractFile,
@@ -144,12 +215,54 @@ public class ContractCompiler {
             String librariesOption,
             boolean isContractParallelAnalysis)
             throws IOException, CompileContractException {
+        return compileSolToBinAndAbi(
+                contractFile,
+                abiDir,
+                binDir,
+                sm,
+                librariesOption,
+                isContractParallelAnalysis,
+                null);
+    }
+
+    /** @param out the output of the evm analyser, null for System.out */
+    public static AbiAndBin compileSolToBinAndAbi(
+            File contractFile,
+            String abiDir,
+            String binDir,
+            boolean sm,
+            String librariesOption,
+            boolean isContractParallelAnalysis,
+            PrintStream out)
+            throws IOException, CompileContractException {
         SolidityCompiler.CustomOption libraryOption = null;
         if (librariesOption != null && !librariesOption.equals("")) {
             libraryOption = new SolidityCompiler.CustomOption("libraries", librariesOption);
         }
 
         String contractName = contractFile.getName().split("\\.")[0];
+        File abiFile = new File(abiDir + contractName + ".abi");
+        File binFile = new File(binDir + contractName + ".bin");
+
+        String cacheKey =
+                CompileCache.cacheKey(
+                        contractFile, sm, librariesOption, isContractParallelAnalysis);
+        CompileCache.CacheEntry cacheEntry = CompileCache.get(cacheKey);
+        if (cacheEntry != null) {
+            logger.debug(
+                    "compile {} hit the cache, sm: {}, {}",
+                    contractFile.getName(),
+                    sm,
+                    CompileCache.getStats());
+            FileUtils.writeStringToFile(abiFile, cacheEntry.getAbi());
+            FileUtils.writeStringToFile(binFile, cacheEntry.getBin());
+            return new AbiAndBin(
+                    cacheEntry.getAbi(),
+                    sm ? "" : cacheEntry.getBin(),
+                    sm ? cacheEntry.getBin() : "");
+        }
+
+        long startTime = System.currentTimeMillis();
         SolidityCompiler.Result res = null;
         if (libraryOption == null) {
             res = SolidityCompiler.compile(contractFile, sm, true, ABI, BIN, METADATA);
@@ -177,8 +290,6 @@ public class ContractCompiler {
         AbiAndBin abiAndBin = new AbiAndBin(meta.abi, bin, smBin);
 
         // evm static analysis
-        File abiFile = new File(abiDir + contractName + ".abi");
-        File binFile = new File(binDir + contractName + ".bin");
         String abiFilePath = abiFile.getAbsolutePath();
         String binFilePath = binFile.getAbsolutePath();
         FileUtils.writeStringToFile(abiFile, abiAndBin.getAbi());
@@ -189,7 +300,9 @@ public class ContractCompiler {
         }
 
         if (isContractParallelAnalysis) {
-            EvmAnalyser.Result ret = EvmAnalyser.process(abiFilePath, binFilePath, sm);
+            EvmAnalyser.Result ret =
+                    ConsoleUtils.runWithSystemOut(
+                            out, () -> EvmAnalyser.process(abiFilePath, binFilePath, sm));
             if (ret.isFailed()) {
                 String error =
                         "*** Analysis evm bytecode "
@@ -204,9 +317,41 @@ public class ContractCompiler {
         String abi = FileUtils.readFileToString(abiFile, StandardCharsets.UTF_8);
         abiAndBin.setAbi(abi);
         checkBinaryCode(contractName, meta.bin);
+        CompileCache.put(cacheKey, abi, meta.bin, System.currentTimeMillis() - startTime);
         return abiAndBin;
     }
 
+    /**
+     * the abi of a contract for the read only commands like listAbi, it is taken from the compile
+     * cache if the contract is not changed, otherwise compiled in memory; neither the binary is
+     * checked for unlinked libraries nor the abi and bin files are written
+     */
+    public static String compileSolToAbi(File contractFile, boolean sm)
+            throws IOException, CompileContractException {
+        String abi = CompileCache.getAbi(CompileCache.cacheKey(contractFile, sm, null, false));
+        if (abi != null) {
+            return abi;
+        }
+        SolidityCompiler.Result res = SolidityCompiler.compile(contractFile, sm, true, ABI);
+        logger.debug(
+                " solidity compiler result, sm: {}, success: {}, output: {}, error: {}",
+                sm,
+                !res.isFailed(),
+                res.getOutput(),
+                res.getErrors());
+        if (res.isFailed() || "".equals(res.getOutput())) {
+            throw new CompileContractException(" Compile error: " + res.getErrors());
+        }
+        String contractName = contractFile.getName().split("\\.")[0];
+        CompilationResult.ContractMetadata meta =
+                CompilationResult.parse(res.getOutput()).getContract(contractName);
+        if (meta == null) {
+            throw new CompileContractException(
+                    " Compile error: contract " + contractName + " is not found");
+        }
+        return meta.abi;
+    }
+
     public static void checkBinaryCode(String contractName, String binary)
             throws CompileContractException {
         String externalLibSplitter = "_";
@@ -264,6 +409,7 @@ public class ContractCompiler {
 
         if (Objects.nonNull(abiAndBin.getAbi()) && !abiAndBin.getAbi().isEmpty()) {
             FileUtils.writeStringToFile(abiPath, abiAndBin.getAbi());
+            AbiRegistry.invalidate(abiPath);
         }
 
         if (Objects.nonNull(abiAndBin.getBin()) && !abiAndBin.getBin().isEmpty()) {
@@ -298,11 +444,10 @@ public class ContractCompiler {
                                 + contractName
                                 + ABI_SUFFIX);
 
-        if (!abiPath.exists()) {
+        String abiContent = AbiRegistry.readAbi(abiPath);
+        if (abiContent == null) {
             return new AbiAndBin();
         }
-
-        String abiContent = new String(CodeGenUtils.readBytes(abiPath));
         return new AbiAndBin(abiContent, "", "");
     }
 
@@ -338,7 +483,7 @@ public class ContractCompiler {
         if (!abiPath.exists() || !binPath.exists()) {
             return new AbiAndBin();
         }
-        String abiContent = new String(CodeGenUtils.readBytes(abiPath));
+        String abiContent = AbiRegistry.readAbi(abiPath);
         String binContent = new String(CodeGenUtils.readBytes(binPath));
         logger.trace(
                 "loadAbiAndBin load abi and bin, contract: {}, abiPath: {}, binPath: {}",
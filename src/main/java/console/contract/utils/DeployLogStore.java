@@ -0,0 +1,404 @@
+package console.contract.utils;
+
+import console.common.Common;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Append only store of the deploy log. The records are appended to segment files under {@link
+ * Common#DeployLogDir} with the same text format as the legacy deploylog.txt, and each group has an
+ * index file of fixed width records (timestamp, segment, offset, length), so that a deploy appends
+ * one line and one index record, and a query reads the index from the tail.
+ */
+public class DeployLogStore {
+    private static final Logger logger = LoggerFactory.getLogger(DeployLogStore.class);
+
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final String INDEX_SUFFIX = ".idx";
+    private static final String LOCK_FILE = ".lock";
+    private static final int SEGMENT_RECORDS = 1000;
+    // timestamp(8) + segment(4) + offset(8) + length(4)
+    private static final int INDEX_RECORD_SIZE = 24;
+    private static final int CONTRACT_NAME_WIDTH = 20;
+    private static final DateTimeFormatter FORMATTER =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private static DeployLogStore instance;
+
+    private final File logDir;
+    private final int maxSegments;
+    private boolean opened = false;
+    // the segments are shared with the other consoles of the same directory, so they are loaded
+    // again before each query and under the directory lock before each append
+    private int firstSegment = 0;
+    private int currentSegment = 0;
+    private int currentSegmentRecords = 0;
+
+    public static synchronized DeployLogStore getInstance() {
+        if (instance == null) {
+            instance = new DeployLogStore(new File(Common.DeployLogDir));
+        }
+        return instance;
+    }
+
+    private DeployLogStore(File logDir) {
+        this.logDir = logDir;
+        // keep about LogMaxCount records, the oldest segment is dropped as a whole
+        this.maxSegments = Math.max(1, Common.LogMaxCount / SEGMENT_RECORDS);
+    }
+
+    public synchronized void append(
+            String group, String contractName, String contractAddress, long timestamp)
+            throws IOException {
+        ensureOpen();
+        try (FileChannel lockChannel = openLock();
+                FileLock lock = lockChannel.lock()) {
+            loadSegments();
+            currentSegmentRecords = countLines(segmentFile(currentSegment));
+            appendRecord(group, contractName, contractAddress, timestamp);
+        }
+    }
+
+    /**
+     * query the latest records of the group
+     *
+     * @param contractName only return the records of this contract if not null
+     * @param fromMillis the earliest deploy time, 0 for no limit
+     * @param toMillis the latest deploy time, Long.MAX_VALUE for no limit
+     * @param count the max number of the records
+     * @return the records ordered by the deploy time
+     */
+    public synchronized List<String> query(
+            String group, String contractName, long fromMillis, long toMillis, int count)
+            throws IOException {
+        ensureOpen();
+        loadSegments();
+        LinkedList<String> result = new LinkedList<>();
+        File indexFile = indexFile(group);
+        if (!indexFile.exists()) {
+            return result;
+        }
+        Map<Integer, RandomAccessFile> segments = new HashMap<>();
+        try (RandomAccessFile index = new RandomAccessFile(indexFile, "r")) {
+            long records = index.length() / INDEX_RECORD_SIZE;
+            long start = fromMillis > 0 ? lowerBound(index, records, fromMillis) : 0;
+            long end = toMillis < Long.MAX_VALUE ? upperBound(index, records, toMillis) : records;
+            byte[] buffer = new byte[INDEX_RECORD_SIZE];
+            for (long i = end - 1; i >= start && result.size() < count; i--) {
+                index.seek(i * INDEX_RECORD_SIZE);
+                index.readFully(buffer);
+                ByteBuffer record = ByteBuffer.wrap(buffer);
+                long timestamp = record.getLong();
+                int segment = record.getInt();
+                long offset = record.getLong();
+                int length = record.getInt();
+                if (segment < firstSegment) {
+                    // the older records are dropped too
+                    break;
+                }
+                String line = readLine(segments, segment, offset, length);
+                if (line == null
+                        || (contractName != null && !contractName.equals(contractName(line)))) {
+                    continue;
+                }
+                result.addFirst(line);
+            }
+        } finally {
+            for (RandomAccessFile segmentFile : segments.values()) {
+                segmentFile.close();
+            }
+        }
+        return result;
+    }
+
+    private void ensureOpen() throws IOException {
+        if (opened) {
+            return;
+        }
+        // only the console creating the directory migrates the legacy log
+        boolean created = logDir.mkdirs();
+        if (!created && !logDir.isDirectory()) {
+            throw new IOException("create the deploy log directory " + logDir + " failed");
+        }
+        opened = true;
+        if (created) {
+            try (FileChannel lockChannel = openLock();
+                    FileLock lock = lockChannel.lock()) {
+                loadSegments();
+                migrateLegacyLog();
+            }
+        }
+    }
+
+    /** the lock of the log directory, held by the console appending to it */
+    private FileChannel openLock() throws IOException {
+        return FileChannel.open(
+                new File(logDir, LOCK_FILE).toPath(),
+                StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE);
+    }
+
+    private void loadSegments() {
+        File[] segmentFiles = logDir.listFiles((dir, name) -> segmentNumber(name) >= 0);
+        firstSegment = Integer.MAX_VALUE;
+        currentSegment = 0;
+        if (segmentFiles != null) {
+            for (File segmentFile : segmentFiles) {
+                int segment = segmentNumber(segmentFile.getName());
+                firstSegment = Math.min(firstSegment, segment);
+                currentSegment = Math.max(currentSegment, segment);
+            }
+        }
+        if (firstSegment == Integer.MAX_VALUE) {
+            firstSegment = 0;
+        }
+        currentSegmentRecords = 0;
+    }
+
+    private static int countLines(File file) throws IOException {
+        if (!file.exists()) {
+            return 0;
+        }
+        int lines = 0;
+        for (byte b : Files.readAllBytes(file.toPath())) {
+            if (b == '\n') {
+                lines++;
+            }
+        }
+        return lines;
+    }
+
+    private void appendRecord(
+            String group, String contractName, String contractAddress, long timestamp)
+            throws IOException {
+        if (currentSegmentRecords >= SEGMENT_RECORDS) {
+            rollSegment();
+        }
+        byte[] line =
+                (formatLine(group, contractName, contractAddress, timestamp) + "\n")
+                        .getBytes(StandardCharsets.UTF_8);
+        File segmentFile = segmentFile(currentSegment);
+        long offset = segmentFile.length();
+        try (FileOutputStream out = new FileOutputStream(segmentFile, true)) {
+            out.write(line);
+        }
+        ByteBuffer record = ByteBuffer.allocate(INDEX_RECORD_SIZE);
+        record.putLong(timestamp);
+        record.putInt(currentSegment);
+        record.putLong(offset);
+        record.putInt(line.length - 1);
+        try (FileOutputStream out = new FileOutputStream(indexFile(group), true)) {
+            out.write(record.array());
+        }
+        currentSegmentRecords++;
+    }
+
+    private void rollSegment() throws IOException {
+        currentSegment++;
+        currentSegmentRecords = 0;
+        boolean dropped = false;
+        while (currentSegment - firstSegment + 1 > maxSegments) {
+            File oldest = segmentFile(firstSegment);
+            if (oldest.exists() && !oldest.delete()) {
+                logger.warn("delete the deploy log segment {} failed", oldest);
+            }
+            firstSegment++;
+            dropped = true;
+        }
+        if (dropped) {
+            compactIndexes();
+        }
+    }
+
+    /** remove the index records of the dropped segments */
+    private void compactIndexes() throws IOException {
+        File[] indexFiles = logDir.listFiles((dir, name) -> name.endsWith(INDEX_SUFFIX));
+        if (indexFiles == null) {
+            return;
+        }
+        for (File indexFile : indexFiles) {
+            byte[] content = Files.readAllBytes(indexFile.toPath());
+            ByteBuffer records = ByteBuffer.wrap(content);
+            int keepFrom = 0;
+            // the records are appended in order, so the dropped ones are at the head
+            while (keepFrom + INDEX_RECORD_SIZE <= content.length
+                    && records.getInt(keepFrom + 8) < firstSegment) {
+                keepFrom += INDEX_RECORD_SIZE;
+            }
+            if (keepFrom == 0) {
+                continue;
+            }
+            File tmpFile = new File(logDir, indexFile.getName() + ".tmp");
+            try (FileOutputStream out = new FileOutputStream(tmpFile)) {
+                out.write(content, keepFrom, content.length - keepFrom);
+            }
+            Files.move(
+                    tmpFile.toPath(),
+                    indexFile.toPath(),
+                    StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        }
+    }
+
+    /** import the records of the legacy deploylog.txt, and keep it as deploylog.txt.bak */
+    private void migrateLegacyLog() throws IOException {
+        File legacyFile = new File(Common.ContractLogFileName);
+        if (!legacyFile.exists()) {
+            return;
+        }
+        int migrated = 0;
+        try (BufferedReader reader =
+                Files.newBufferedReader(legacyFile.toPath(), StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                // yyyy-MM-dd HH:mm:ss  [group:group0]  contractName  contractAddress
+                String[] items = line.trim().split("\\s+");
+                if (items.length < 5 || !items[2].startsWith("[group:")) {
+                    continue;
+                }
+                try {
+                    long timestamp = parseTime(items[0] + " " + items[1]);
+                    String group = items[2].substring("[group:".length(), items[2].length() - 1);
+                    appendRecord(group, items[3], items[4], timestamp);
+                    migrated++;
+                } catch (DateTimeParseException e) {
+                    logger.debug("skip the invalid deploy log: {}", line);
+                }
+            }
+        }
+        Files.move(
+                legacyFile.toPath(),
+                new File(Common.ContractLogFileName + ".bak").toPath(),
+                StandardCopyOption.REPLACE_EXISTING);
+        logger.info("migrate {} records from {}", migrated, Common.ContractLogFileName);
+    }
+
+    private String readLine(
+            Map<Integer, RandomAccessFile> segments, int segment, long offset, int length)
+            throws IOException {
+        RandomAccessFile segmentFile = segments.get(segment);
+        if (segmentFile == null) {
+            File file = segmentFile(segment);
+            if (!file.exists()) {
+                return null;
+            }
+            segmentFile = new RandomAccessFile(file, "r");
+            segments.put(segment, segmentFile);
+        }
+        byte[] line = new byte[length];
+        segmentFile.seek(offset);
+        segmentFile.readFully(line);
+        return new String(line, StandardCharsets.UTF_8);
+    }
+
+    /** @return the index of the first record not earlier than timestamp */
+    private static long lowerBound(RandomAccessFile index, long records, long timestamp)
+            throws IOException {
+        long low = 0;
+        long high = records;
+        while (low < high) {
+            long mid = (low + high) >>> 1;
+            index.seek(mid * INDEX_RECORD_SIZE);
+            if (index.readLong() < timestamp) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /** @return the index of the first record later than timestamp */
+    private static long upperBound(RandomAccessFile index, long records, long timestamp)
+            throws IOException {
+        long low = 0;
+        long high = records;
+        while (low < high) {
+            long mid = (low + high) >>> 1;
+            index.seek(mid * INDEX_RECORD_SIZE);
+            if (index.readLong() <= timestamp) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    public static String formatLine(
+            String group, String contractName, String contractAddress, long timestamp) {
+        StringBuilder name = new StringBuilder(contractName);
+        while (name.length() < CONTRACT_NAME_WIDTH) {
+            name.append(' ');
+        }
+        return formatTime(timestamp)
+                + "  [group:"
+                + group
+                + "]  "
+                + name
+                + "  "
+                + contractAddress;
+    }
+
+    /** @return the time in format yyyy-MM-dd HH:mm:ss */
+    public static String formatTime(long timestamp) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(timestamp), ZoneId.systemDefault())
+                .format(FORMATTER);
+    }
+
+    /** parse the time in format yyyy-MM-dd HH:mm:ss, @return the epoch milliseconds */
+    public static long parseTime(String time) {
+        return LocalDateTime.parse(time, FORMATTER)
+                .atZone(ZoneId.systemDefault())
+                .toInstant()
+                .toEpochMilli();
+    }
+
+    private static String contractName(String line) {
+        String[] items = line.trim().split("\\s+");
+        return items.length > 3 ? items[3] : "";
+    }
+
+    private File segmentFile(int segment) {
+        return new File(logDir, SEGMENT_PREFIX + segment + SEGMENT_SUFFIX);
+    }
+
+    private File indexFile(String group) {
+        return new File(logDir, group.replaceAll("[^A-Za-z0-9_.-]", "_") + INDEX_SUFFIX);
+    }
+
+    private static int segmentNumber(String fileName) {
+        if (!fileName.startsWith(SEGMENT_PREFIX) || !fileName.endsWith(SEGMENT_SUFFIX)) {
+            return -1;
+        }
+        try {
+            return Integer.parseInt(
+                    fileName.substring(
+                            SEGMENT_PREFIX.length(), fileName.length() - SEGMENT_SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
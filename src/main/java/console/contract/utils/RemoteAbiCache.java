@@ -0,0 +1,100 @@
+package console.contract.utils;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.fisco.bcos.sdk.v3.client.Client;
+import org.fisco.bcos.sdk.v3.contract.precompiled.bfs.BFSService;
+import org.fisco.bcos.sdk.v3.transaction.model.exception.ContractException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Per group cache of the abis queried from the chain and of the resolved BFS links. The code of a
+ * contract never changes, so the abis are kept forever, while the missing abis and links are only
+ * kept for a short time.
+ */
+public class RemoteAbiCache {
+    private static final Logger logger = LoggerFactory.getLogger(RemoteAbiCache.class);
+
+    public static final long NEGATIVE_TTL_MILLIS = 10 * 1000L;
+    public static final long LINK_TTL_MILLIS = 60 * 1000L;
+
+    private static final Map<String, Map<String, CachedValue>> groupAbis =
+            new ConcurrentHashMap<>();
+    private static final Map<String, Map<String, CachedValue>> groupLinks =
+            new ConcurrentHashMap<>();
+
+    private RemoteAbiCache() {}
+
+    /** @return the abi of the contract on chain, or empty string if not found */
+    public static String getAbi(Client client, String contractAddress) {
+        Map<String, CachedValue> abis = getGroupCache(groupAbis, client.getGroup());
+        String key = abiCacheKey(contractAddress);
+        long now = System.currentTimeMillis();
+        CachedValue cached = abis.get(key);
+        if (cached != null && !cached.isExpired(now)) {
+            return cached.value;
+        }
+        String abi = client.getABI(contractAddress).getABI();
+        if (abi == null || abi.isEmpty()) {
+            abis.put(key, new CachedValue("", now + NEGATIVE_TTL_MILLIS));
+            return "";
+        }
+        abis.put(key, new CachedValue(abi, Long.MAX_VALUE));
+        return abi;
+    }
+
+    /** @return the address the link points to, or empty string if the path is not a link */
+    public static String readlink(Client client, BFSService bfsService, String path) {
+        Map<String, CachedValue> links = getGroupCache(groupLinks, client.getGroup());
+        long now = System.currentTimeMillis();
+        CachedValue cached = links.get(path);
+        if (cached != null && !cached.isExpired(now)) {
+            return cached.value;
+        }
+        String address = "";
+        try {
+            address = bfsService.readlink(path);
+        } catch (ContractException e) {
+            logger.debug("readlink {} failed, e: ", path, e);
+        }
+        if (address == null || address.isEmpty()) {
+            links.put(path, new CachedValue("", now + NEGATIVE_TTL_MILLIS));
+            return "";
+        }
+        links.put(path, new CachedValue(address, now + LINK_TTL_MILLIS));
+        return address;
+    }
+
+    public static void invalidateAbi(String group, String contractAddress) {
+        getGroupCache(groupAbis, group).remove(abiCacheKey(contractAddress));
+    }
+
+    public static void invalidateLink(String group, String path) {
+        getGroupCache(groupLinks, group).remove(path);
+    }
+
+    // the wasm contracts are addressed by case sensitive BFS paths
+    private static String abiCacheKey(String contractAddress) {
+        return contractAddress.startsWith("/") ? contractAddress : contractAddress.toLowerCase();
+    }
+
+    private static Map<String, CachedValue> getGroupCache(
+            Map<String, Map<String, CachedValue>> groupCaches, String group) {
+        return groupCaches.computeIfAbsent(group, key -> new ConcurrentHashMap<>());
+    }
+
+    private static class CachedValue {
+        private final String value;
+        private final long expireTime;
+
+        private CachedValue(String value, long expireTime) {
+            this.value = value;
+            this.expireTime = expireTime;
+        }
+
+        private boolean isExpired(long now) {
+            return now >= expireTime;
+        }
+    }
+}
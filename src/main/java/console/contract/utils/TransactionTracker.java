@@ -0,0 +1,180 @@
+package console.contract.utils;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.fisco.bcos.sdk.v3.model.TransactionReceipt;
+import org.fisco.bcos.sdk.v3.model.callback.TransactionCallback;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps the transactions sent asynchronously and their receipts for the receipts command. The
+ * receipts are recorded by the callbacks of the SDK without printing anything, the output of the
+ * running command must not be mixed with them. Only the last {@link #MAX_FINISHED_TRANSACTIONS}
+ * finished transactions are kept, so a long running console doesn't keep every receipt.
+ */
+public class TransactionTracker {
+    private static final Logger logger = LoggerFactory.getLogger(TransactionTracker.class);
+
+    public static final int MAX_FINISHED_TRANSACTIONS = 1000;
+
+    private final AtomicInteger nextId = new AtomicInteger(1);
+    private final Map<Integer, TrackedTransaction> transactions = new ConcurrentSkipListMap<>();
+    // the ids of the finished transactions in the finish order, to evict the oldest
+    private final Deque<Integer> finishedIds = new ArrayDeque<>();
+
+    /**
+     * track a signed transaction and send it by the sender with the callback recording its receipt
+     *
+     * @return the tracked transaction
+     */
+    public TrackedTransaction submit(String description, String transactionHash, Sender sender) {
+        TrackedTransaction transaction =
+                new TrackedTransaction(nextId.getAndIncrement(), description, transactionHash);
+        transactions.put(transaction.getId(), transaction);
+        TransactionCallback callback =
+                new TransactionCallback() {
+                    @Override
+                    public void onResponse(TransactionReceipt receipt) {
+                        finish(transaction, receipt, null);
+                    }
+                };
+        try {
+            sender.send(callback);
+        } catch (Exception e) {
+            logger.debug("async transaction {} failed, e: ", transaction.getId(), e);
+            finish(transaction, null, e);
+        }
+        return transaction;
+    }
+
+    private void finish(TrackedTransaction transaction, TransactionReceipt receipt, Exception e) {
+        if (!transaction.finish(receipt, e)) {
+            return;
+        }
+        synchronized (finishedIds) {
+            finishedIds.addLast(transaction.getId());
+            while (finishedIds.size() > MAX_FINISHED_TRANSACTIONS) {
+                transactions.remove(finishedIds.removeFirst());
+            }
+        }
+    }
+
+    public List<TrackedTransaction> getTransactions() {
+        return new ArrayList<>(transactions.values());
+    }
+
+    public int getPendingCount() {
+        int pending = 0;
+        for (TrackedTransaction transaction : transactions.values()) {
+            if (!transaction.isFinished()) {
+                pending++;
+            }
+        }
+        return pending;
+    }
+
+    /** @return true if all the transactions finished before timeout */
+    public boolean waitAll(long timeoutMillis) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        for (TrackedTransaction transaction : transactions.values()) {
+            long remain = deadline - System.currentTimeMillis();
+            if (remain <= 0 || !transaction.await(remain)) {
+                return getPendingCount() == 0;
+            }
+        }
+        return true;
+    }
+
+    /** remove the finished transactions, @return the number of removed transactions */
+    public int clearFinished() {
+        synchronized (finishedIds) {
+            int removed = 0;
+            Iterator<TrackedTransaction> iterator = transactions.values().iterator();
+            while (iterator.hasNext()) {
+                if (iterator.next().isFinished()) {
+                    iterator.remove();
+                    removed++;
+                }
+            }
+            // the ids of the transactions finishing meanwhile remove nothing when evicted
+            finishedIds.clear();
+            return removed;
+        }
+    }
+
+    @FunctionalInterface
+    public interface Sender {
+        void send(TransactionCallback callback) throws Exception;
+    }
+
+    public static class TrackedTransaction {
+        private final int id;
+        private final String description;
+        private final String transactionHash;
+        private final long submitTime = System.currentTimeMillis();
+        private final CountDownLatch finished = new CountDownLatch(1);
+        private volatile TransactionReceipt receipt;
+        private volatile Exception error;
+        private volatile long finishTime;
+
+        private TrackedTransaction(int id, String description, String transactionHash) {
+            this.id = id;
+            this.description = description;
+            this.transactionHash = transactionHash;
+        }
+
+        /** @return false if it has finished already */
+        private synchronized boolean finish(TransactionReceipt receipt, Exception error) {
+            if (isFinished()) {
+                return false;
+            }
+            this.receipt = receipt;
+            this.error = error;
+            this.finishTime = System.currentTimeMillis();
+            finished.countDown();
+            return true;
+        }
+
+        private boolean await(long timeoutMillis) throws InterruptedException {
+            return finished.await(timeoutMillis, TimeUnit.MILLISECONDS);
+        }
+
+        public int getId() {
+            return id;
+        }
+
+        public String getDescription() {
+            return description;
+        }
+
+        public String getTransactionHash() {
+            return transactionHash;
+        }
+
+        public boolean isFinished() {
+            return finished.getCount() == 0;
+        }
+
+        public TransactionReceipt getReceipt() {
+            return receipt;
+        }
+
+        public Exception getError() {
+            return error;
+        }
+
+        /** @return the time cost in milliseconds, or the time waited if not finished */
+        public long getTimeCost() {
+            return (isFinished() ? finishTime : System.currentTimeMillis()) - submitTime;
+        }
+    }
+}
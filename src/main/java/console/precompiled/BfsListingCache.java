@@ -0,0 +1,154 @@
+package console.precompiled;
+
+import console.common.Common;
+import console.common.ConsoleUtils;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.fisco.bcos.sdk.v3.client.Client;
+import org.fisco.bcos.sdk.v3.contract.precompiled.bfs.BFSPrecompiled.BfsInfo;
+import org.fisco.bcos.sdk.v3.contract.precompiled.bfs.BFSService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Caches the BFS directory listings for a short time, the listings can be loaded in the background
+ * so that the sibling directories are fetched concurrently. One cache is shared by the BFS
+ * commands and the path completer of each group.
+ */
+public class BfsListingCache {
+    private static final Logger logger = LoggerFactory.getLogger(BfsListingCache.class);
+
+    public static final long DEFAULT_TTL_MILLIS = 10 * 1000L;
+    private static final int LIST_THREAD_COUNT = 8;
+    private static final int PURGE_THRESHOLD = 4096;
+
+    private static final ExecutorService listExecutor =
+            Executors.newFixedThreadPool(
+                    LIST_THREAD_COUNT,
+                    runnable -> {
+                        Thread thread = new Thread(runnable, "bfs-list");
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+
+    private static final Map<String, BfsListingCache> groupCaches = new ConcurrentHashMap<>();
+
+    private final BFSService bfsService;
+    private final long ttlMillis;
+    private final Map<String, CachedListing> listings = new ConcurrentHashMap<>();
+
+    public BfsListingCache(BFSService bfsService, long ttlMillis) {
+        this.bfsService = bfsService;
+        this.ttlMillis = ttlMillis;
+    }
+
+    /** @return the shared listing cache of the group of the client */
+    public static BfsListingCache getInstance(Client client) {
+        return groupCaches.computeIfAbsent(
+                client.getGroup(),
+                group ->
+                        new BfsListingCache(
+                                new BFSService(client, client.getCryptoSuite().getCryptoKeyPair()),
+                                DEFAULT_TTL_MILLIS));
+    }
+
+    public static String childPath(String parentPath, String fileName) {
+        return parentPath + (parentPath.equals("/") ? "" : "/") + fileName;
+    }
+
+    /** list the directory, wait for the background loading if it is in progress */
+    public List<BfsInfo> list(String path) throws Exception {
+        try {
+            return listAsync(path).get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Exception) {
+                throw (Exception) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /** start loading the directory in the background if it is not cached */
+    public CompletableFuture<List<BfsInfo>> listAsync(String path) {
+        long now = System.currentTimeMillis();
+        if (listings.size() > PURGE_THRESHOLD) {
+            listings.values().removeIf(value -> value.isExpired(now, ttlMillis));
+        }
+        CachedListing cached =
+                listings.compute(
+                        path,
+                        (key, value) -> {
+                            if (value != null && !value.isExpired(now, ttlMillis)) {
+                                return value;
+                            }
+                            return new CachedListing(load(key), now);
+                        });
+        return cached.listing;
+    }
+
+    /** load the directory and its sub directories in the background */
+    public void prefetch(String path) {
+        listAsync(path)
+                .thenAccept(
+                        children -> {
+                            for (BfsInfo child : children) {
+                                if (Common.BFS_TYPE_DIR.equals(child.getFileType())) {
+                                    listAsync(childPath(path, child.getFileName()));
+                                }
+                            }
+                        });
+    }
+
+    public void invalidate(String path) {
+        listings.remove(path);
+    }
+
+    /** invalidate the listing of the directory which contains the path */
+    public void invalidateParent(String path) {
+        try {
+            invalidate(ConsoleUtils.getParentPathAndBaseName(path).getValue1());
+        } catch (Exception e) {
+            logger.debug("invalid bfs path {}, e: ", path, e);
+        }
+    }
+
+    public void invalidateAll() {
+        listings.clear();
+    }
+
+    private CompletableFuture<List<BfsInfo>> load(String path) {
+        CompletableFuture<List<BfsInfo>> future = new CompletableFuture<>();
+        listExecutor.execute(
+                () -> {
+                    try {
+                        future.complete(bfsService.list(path));
+                    } catch (Exception e) {
+                        logger.debug("list bfs path {} failed, e: ", path, e);
+                        // don't cache the failure
+                        listings.computeIfPresent(
+                                path, (key, value) -> value.listing == future ? null : value);
+                        future.completeExceptionally(e);
+                    }
+                });
+        return future;
+    }
+
+    private static class CachedListing {
+        private final CompletableFuture<List<BfsInfo>> listing;
+        private final long loadTime;
+
+        private CachedListing(CompletableFuture<List<BfsInfo>> listing, long loadTime) {
+            this.listing = listing;
+            this.loadTime = loadTime;
+        }
+
+        private boolean isExpired(long now, long ttlMillis) {
+            return now - loadTime >= ttlMillis;
+        }
+    }
+}
@@ -17,6 +17,10 @@ public interface PrecompiledFace {
     @Deprecated
     void insert(String sql) throws Exception;
 
+    /** @deprecated this command is not supported now */
+    @Deprecated
+    void importTable(String[] params) throws Exception;
+
     /** @deprecated this command is not supported now */
     @Deprecated
     void update(String sql) throws Exception;
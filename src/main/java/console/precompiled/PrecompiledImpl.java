@@ -1,19 +1,31 @@
 package console.precompiled;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import console.ClientServices;
+import console.command.model.HelpInfo;
 import console.common.Common;
+import console.common.ConsoleOutput;
 import console.common.ConsoleUtils;
 import console.contract.model.AbiAndBin;
 import console.contract.utils.ContractCompiler;
+import console.contract.utils.RemoteAbiCache;
 import console.exception.ConsoleMessageException;
 import console.precompiled.model.CRUDParseUtils;
+import console.precompiled.model.SelectOption;
 import console.precompiled.model.Table;
+import console.precompiled.model.TableSchemaCache;
+import java.io.BufferedReader;
+import java.io.File;
 import java.io.IOException;
 import java.math.BigInteger;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Base64;
 import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -22,19 +34,12 @@ import net.sf.jsqlparser.JSQLParserException;
 import org.apache.commons.io.FilenameUtils;
 import org.fisco.bcos.sdk.v3.client.Client;
 import org.fisco.bcos.sdk.v3.client.exceptions.ClientException;
-import org.fisco.bcos.sdk.v3.client.protocol.response.Abi;
 import org.fisco.bcos.sdk.v3.codec.datatypes.generated.tuples.generated.Tuple2;
 import org.fisco.bcos.sdk.v3.codegen.exceptions.CodeGenException;
 import org.fisco.bcos.sdk.v3.contract.precompiled.bfs.BFSPrecompiled.BfsInfo;
-import org.fisco.bcos.sdk.v3.contract.precompiled.bfs.BFSService;
-import org.fisco.bcos.sdk.v3.contract.precompiled.consensus.ConsensusService;
-import org.fisco.bcos.sdk.v3.contract.precompiled.crud.KVTableService;
-import org.fisco.bcos.sdk.v3.contract.precompiled.crud.TableCRUDService;
 import org.fisco.bcos.sdk.v3.contract.precompiled.crud.common.Condition;
 import org.fisco.bcos.sdk.v3.contract.precompiled.crud.common.ConditionOperator;
 import org.fisco.bcos.sdk.v3.contract.precompiled.crud.common.Entry;
-import org.fisco.bcos.sdk.v3.contract.precompiled.sysconfig.SystemConfigService;
-import org.fisco.bcos.sdk.v3.crypto.keypair.CryptoKeyPair;
 import org.fisco.bcos.sdk.v3.model.PrecompiledConstant;
 import org.fisco.bcos.sdk.v3.model.PrecompiledRetCode;
 import org.fisco.bcos.sdk.v3.model.RetCode;
@@ -50,22 +55,30 @@ public class PrecompiledImpl implements PrecompiledFace {
 
     private static final Logger logger = LoggerFactory.getLogger(PrecompiledImpl.class);
 
+    private static final int DEFAULT_BULK_INSERT_WINDOW = 64;
+    private static final int MAX_BULK_INSERT_WINDOW = 1024;
+    private static final int SELECT_PAGE_SIZE = 100;
+    private static final int MAX_TREE_DEPTH = 64;
+
     private Client client;
-    private ConsensusService consensusService;
-    private SystemConfigService systemConfigService;
-    private TableCRUDService tableCRUDService;
-    private KVTableService kvTableService;
-    private BFSService bfsService;
+    private ClientServices services;
+    private BfsListingCache bfsListingCache;
     private String pwd = "/apps";
 
     public PrecompiledImpl(Client client) {
-        this.client = client;
-        CryptoKeyPair cryptoKeyPair = client.getCryptoSuite().getCryptoKeyPair();
-        this.consensusService = new ConsensusService(client, cryptoKeyPair);
-        this.systemConfigService = new SystemConfigService(client, cryptoKeyPair);
-        this.tableCRUDService = new TableCRUDService(client, cryptoKeyPair);
-        this.kvTableService = new KVTableService(client, cryptoKeyPair);
-        this.bfsService = new BFSService(client, cryptoKeyPair);
+        this(new ClientServices(client));
+    }
+
+    public PrecompiledImpl(ClientServices services) {
+        this.client = services.getClient();
+        this.services = services;
+        this.bfsListingCache = BfsListingCache.getInstance(client);
+    }
+
+    /** @param pwd the BFS directory to start in, e.g. the one before loading another account */
+    public PrecompiledImpl(ClientServices services, String pwd) {
+        this(services);
+        this.pwd = pwd;
     }
 
     @Override
@@ -73,10 +86,10 @@ public class PrecompiledImpl implements PrecompiledFace {
         String nodeId = params[1];
         int weight = ConsoleUtils.processNonNegativeNumber("consensusWeight", params[2]);
         if (nodeId.length() != 128) {
-            ConsoleUtils.printJson(PrecompiledRetCode.CODE_INVALID_NODEID.toString());
+            ConsoleUtils.printRetCode(PrecompiledRetCode.CODE_INVALID_NODEID);
         } else {
-            ConsoleUtils.printJson(
-                    this.consensusService.addSealer(nodeId, BigInteger.valueOf(weight)).toString());
+            ConsoleUtils.printRetCode(
+                    services.getConsensusService().addSealer(nodeId, BigInteger.valueOf(weight)));
         }
     }
 
@@ -84,9 +97,9 @@ public class PrecompiledImpl implements PrecompiledFace {
     public void addObserver(String[] params) throws Exception {
         String nodeId = params[1];
         if (nodeId.length() != 128) {
-            ConsoleUtils.printJson(PrecompiledRetCode.CODE_INVALID_NODEID.toString());
+            ConsoleUtils.printRetCode(PrecompiledRetCode.CODE_INVALID_NODEID);
         } else {
-            ConsoleUtils.printJson(this.consensusService.addObserver(nodeId).toString());
+            ConsoleUtils.printRetCode(services.getConsensusService().addObserver(nodeId));
         }
     }
 
@@ -94,9 +107,9 @@ public class PrecompiledImpl implements PrecompiledFace {
     public void removeNode(String[] params) throws Exception {
         String nodeId = params[1];
         if (nodeId.length() != 128) {
-            ConsoleUtils.printJson(PrecompiledRetCode.CODE_INVALID_NODEID.toString());
+            ConsoleUtils.printRetCode(PrecompiledRetCode.CODE_INVALID_NODEID);
         } else {
-            ConsoleUtils.printJson(this.consensusService.removeNode(nodeId).toString());
+            ConsoleUtils.printRetCode(services.getConsensusService().removeNode(nodeId));
         }
     }
 
@@ -105,10 +118,10 @@ public class PrecompiledImpl implements PrecompiledFace {
         String nodeId = params[1];
         int weight = ConsoleUtils.processNonNegativeNumber("consensusWeight", params[2]);
         if (nodeId.length() != 128) {
-            ConsoleUtils.printJson(PrecompiledRetCode.CODE_INVALID_NODEID.toString());
+            ConsoleUtils.printRetCode(PrecompiledRetCode.CODE_INVALID_NODEID);
         } else {
-            ConsoleUtils.printJson(
-                    this.consensusService.setWeight(nodeId, BigInteger.valueOf(weight)).toString());
+            ConsoleUtils.printRetCode(
+                    services.getConsensusService().setWeight(nodeId, BigInteger.valueOf(weight)));
         }
     }
 
@@ -116,22 +129,48 @@ public class PrecompiledImpl implements PrecompiledFace {
     public void setSystemConfigByKey(String[] params) throws Exception {
         String key = params[1];
         String value = params[2];
-        ConsoleUtils.printJson(this.systemConfigService.setValueByKey(key, value).toString());
+        ConsoleUtils.printRetCode(services.getSystemConfigService().setValueByKey(key, value));
     }
 
     @Override
     public void desc(String[] params) throws Exception {
-        String tableName = params[1];
+        boolean refresh = false;
+        int tableIndex = 1;
+        if ("--refresh".equals(params[1]) || "-r".equals(params[1])) {
+            refresh = true;
+            tableIndex = 2;
+        }
+        if (params.length != tableIndex + 1) {
+            HelpInfo.promptHelp("desc");
+            return;
+        }
+        String tableName = params[tableIndex];
         CRUDParseUtils.invalidSymbol(tableName);
         if (tableName.endsWith(";")) {
             tableName = tableName.substring(0, tableName.length() - 1);
         }
-        Map<String, String> tableDesc = kvTableService.desc(tableName);
-        if (tableDesc.get(PrecompiledConstant.KEY_FIELD_NAME).equals("")) {
-            System.out.println("The table \"" + tableName + "\" doesn't exist!");
+        if (refresh) {
+            TableSchemaCache.invalidate(client.getGroup(), tableName);
+        }
+        // the table crud service is not supported by the node yet, desc the kv table
+        List<Map<String, String>> descTable =
+                TableSchemaCache.getKv(
+                        client.getGroup(),
+                        tableName,
+                        name -> Collections.singletonList(services.getKvTableService().desc(name)));
+        if (!checkTableExistence(tableName, descTable)) {
             return;
         }
-        ConsoleUtils.printJson(ObjectMapperFactory.getObjectMapper().writeValueAsString(tableDesc));
+        ConsoleUtils.printJson(
+                "desc",
+                descTable.get(0),
+                ObjectMapperFactory.getObjectMapper().writeValueAsString(descTable.get(0)));
+    }
+
+    /** @return the schema of the table from the schema cache of the current group */
+    private List<Map<String, String>> descTable(String tableName) throws Exception {
+        return TableSchemaCache.get(
+                client.getGroup(), tableName, services.getTableCRUDService()::desc);
     }
 
     @Override
@@ -140,24 +179,26 @@ public class PrecompiledImpl implements PrecompiledFace {
         try {
             CRUDParseUtils.parseCreateTable(sql, table);
         } catch (ConsoleMessageException e) {
-            System.out.println(e.getMessage());
+            ConsoleOutput.printFailure(e.getMessage());
             logger.error(" message: {}, e: {}", e.getMessage(), e);
             return;
         } catch (JSQLParserException | NullPointerException e) {
-            System.out.println("Could not parse SQL statement.");
+            ConsoleOutput.printFailure("Could not parse SQL statement.");
             CRUDParseUtils.invalidSymbol(sql);
             return;
         }
         try {
             RetCode result =
-                    kvTableService.createTable(
+                    services.getKvTableService().createTable(
                             table.getTableName(), table.getKey(), table.getValueFields());
             // parse the result
+            TableSchemaCache.invalidate(client.getGroup(), table.getTableName());
             if (result.getCode() == PrecompiledRetCode.CODE_SUCCESS.getCode()) {
+                ConsoleOutput.result("table", table.getTableName());
                 System.out.println("Create '" + table.getTableName() + "' Ok.");
             } else {
                 System.out.println("Create '" + table.getTableName() + "' failed ");
-                ConsoleUtils.printJson(result.toString());
+                ConsoleUtils.printRetCode(result);
             }
         } catch (ContractException e) {
             outputErrorMessageForTableCRUD(
@@ -187,7 +228,7 @@ public class PrecompiledImpl implements PrecompiledFace {
                     continue;
                 }
                 if (!descFieldList.contains(field)) {
-                    System.out.println(
+                    ConsoleOutput.printFailure(
                             "Unknown field \""
                                     + field
                                     + "\", current supported fields are "
@@ -206,9 +247,12 @@ public class PrecompiledImpl implements PrecompiledFace {
             int code,
             String message,
             List<Map<String, String>> descTable) {
+        // the cached schema may be out of date, reload it on the next statement
+        TableSchemaCache.invalidate(client.getGroup(), table.getTableName());
         System.out.println("call " + command + " failed!");
         System.out.println("* code: " + code);
         System.out.println("* message: " + message);
+        ConsoleOutput.error(code, message);
 
         if (code != TransactionReceiptStatus.PrecompiledError.getCode()) {
             return;
@@ -296,14 +340,25 @@ public class PrecompiledImpl implements PrecompiledFace {
         List<Map<String, String>> descTable = null;
         try {
             String tableName = CRUDParseUtils.parseInsertedTableName(sql);
-            descTable = tableCRUDService.desc(tableName);
+            descTable = descTable(tableName);
             if (!checkTableExistence(tableName, descTable)) {
                 return;
             }
             logger.debug(
                     "insert, tableName: {}, descTable: {}", tableName, descTable.get(0).toString());
-            CRUDParseUtils.parseInsert(sql, table, entry, descTable.get(0));
+            List<Entry> entries = CRUDParseUtils.parseInsertRows(sql, table, descTable.get(0));
             String keyName = descTable.get(0).get(PrecompiledConstant.KEY_FIELD_NAME);
+            for (Entry rowEntry : entries) {
+                if (rowEntry.getFieldNameToValue().get(keyName) == null) {
+                    throw new ConsoleMessageException(
+                            "Please insert the key field '" + keyName + "'.");
+                }
+            }
+            if (entries.size() > 1) {
+                insertRows(table.getTableName(), keyName, entries);
+                return;
+            }
+            entry = entries.get(0);
             String keyValue = entry.getFieldNameToValue().get(keyName);
             logger.debug(
                     "fieldNameToValue: {}, keyName: {}, keyValue: {}",
@@ -314,22 +369,25 @@ public class PrecompiledImpl implements PrecompiledFace {
                 throw new ConsoleMessageException("Please insert the key field '" + keyName + "'.");
             }
             table.setKey(keyValue);
-            RetCode insertResult = tableCRUDService.insert(table.getTableName(), entry);
+            RetCode insertResult =
+                    services.getTableCRUDService().insert(table.getTableName(), entry);
 
             if (insertResult.getCode() >= 0) {
+                ConsoleOutput.result("affectedRows", insertResult.getCode());
                 System.out.println("Insert OK: ");
                 System.out.println(insertResult.getCode() + " row affected.");
             } else {
                 System.out.println("Result of insert for " + table.getTableName() + ":");
-                ConsoleUtils.printJson(insertResult.toString());
+                ConsoleUtils.printRetCode(insertResult);
             }
 
         } catch (ConsoleMessageException e) {
-            System.out.println(e.getMessage());
+            ConsoleOutput.printFailure(e.getMessage());
             logger.error(" message: {}, e: {}", e.getMessage(), e);
             return;
         } catch (JSQLParserException | NullPointerException e) {
-            System.out.println("Could not parse SQL statement, error message: " + e.getMessage());
+            ConsoleOutput.printFailure(
+                    "Could not parse SQL statement, error message: " + e.getMessage());
             CRUDParseUtils.invalidSymbol(sql);
             return;
         } catch (ContractException e) {
@@ -343,6 +401,135 @@ public class PrecompiledImpl implements PrecompiledFace {
         }
     }
 
+    private void insertRows(String tableName, String keyName, List<Entry> entries)
+            throws InterruptedException {
+        TableBulkLoader loader =
+                new TableBulkLoader(
+                        services.getTableCRUDService(),
+                        tableName,
+                        keyName,
+                        Math.min(entries.size(), DEFAULT_BULK_INSERT_WINDOW));
+        try {
+            for (Entry entry : entries) {
+                loader.submit(entry);
+            }
+        } finally {
+            long failed = loader.finish();
+            ConsoleOutput.result("affectedRows", entries.size() - failed);
+            if (failed > 0) {
+                ConsoleOutput.error(null, failed + " rows failed to insert");
+            }
+            System.out.println((entries.size() - failed) + " rows affected.");
+        }
+    }
+
+    @Override
+    public void importTable(String[] params) throws Exception {
+        String tableName = params[1];
+        File file = new File(params[2]);
+        int windowSize = DEFAULT_BULK_INSERT_WINDOW;
+        if (params.length > 3) {
+            windowSize =
+                    ConsoleUtils.processNonNegativeNumber(
+                            "window", params[3], 1, MAX_BULK_INSERT_WINDOW);
+            if (windowSize == Common.InvalidReturnNumber) {
+                return;
+            }
+        }
+        if (!file.isFile()) {
+            ConsoleOutput.printFailure("The file " + params[2] + " doesn't exist.");
+            return;
+        }
+        // resolve the schema once for all the rows
+        List<Map<String, String>> descTable = descTable(tableName);
+        if (!checkTableExistence(tableName, descTable)) {
+            return;
+        }
+        String keyField = descTable.get(0).get(PrecompiledConstant.KEY_FIELD_NAME);
+        Set<String> fields = new HashSet<>();
+        fields.add(keyField);
+        fields.addAll(
+                Arrays.asList(
+                        descTable.get(0).get(PrecompiledConstant.VALUE_FIELD_NAME).split(",")));
+        boolean isCsv = file.getName().toLowerCase().endsWith(".csv");
+
+        long skipped = 0;
+        long submitted = 0;
+        TableBulkLoader loader =
+                new TableBulkLoader(
+                        services.getTableCRUDService(), tableName, keyField, windowSize);
+        try (BufferedReader reader =
+                Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+            List<String> header = null;
+            String line;
+            long lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.trim().isEmpty()) {
+                    continue;
+                }
+                Entry entry = new Entry();
+                if (isCsv) {
+                    List<String> values = CRUDParseUtils.parseCsvLine(line);
+                    if (header == null) {
+                        header = values;
+                        if (!fields.containsAll(header) || !header.contains(keyField)) {
+                            ConsoleOutput.printFailure(
+                                    "The csv header "
+                                            + header
+                                            + " doesn't match the fields of table "
+                                            + tableName
+                                            + ": "
+                                            + fields);
+                            return;
+                        }
+                        continue;
+                    }
+                    if (values.size() != header.size()) {
+                        System.out.println(
+                                "Skip line " + lineNumber + ": column count doesn't match.");
+                        skipped++;
+                        continue;
+                    }
+                    for (int i = 0; i < header.size(); i++) {
+                        entry.getFieldNameToValue().put(header.get(i), values.get(i));
+                    }
+                } else {
+                    JsonNode row = ObjectMapperFactory.getObjectMapper().readTree(line);
+                    Iterator<Map.Entry<String, JsonNode>> iterator = row.fields();
+                    while (iterator.hasNext()) {
+                        Map.Entry<String, JsonNode> field = iterator.next();
+                        entry.getFieldNameToValue().put(field.getKey(), field.getValue().asText());
+                    }
+                    if (!fields.containsAll(entry.getFieldNameToValue().keySet())) {
+                        System.out.println(
+                                "Skip line " + lineNumber + ": unknown fields, expected " + fields);
+                        skipped++;
+                        continue;
+                    }
+                }
+                if (entry.getFieldNameToValue().get(keyField) == null) {
+                    System.out.println(
+                            "Skip line " + lineNumber + ": missing key field '" + keyField + "'.");
+                    skipped++;
+                    continue;
+                }
+                loader.submit(entry);
+                submitted++;
+            }
+        } finally {
+            long failed = loader.finish();
+            ConsoleOutput.result("affectedRows", submitted - failed);
+            ConsoleOutput.result("skippedLines", skipped);
+            if (failed > 0) {
+                ConsoleOutput.error(null, failed + " rows failed to insert");
+            }
+            if (skipped > 0) {
+                System.out.println("Skipped " + skipped + " invalid lines.");
+            }
+        }
+    }
+
     @Override
     public void update(String sql) throws Exception {
         Table table = new Table();
@@ -352,33 +539,35 @@ public class PrecompiledImpl implements PrecompiledFace {
         try {
             CRUDParseUtils.parseUpdate(sql, table, entry, condition);
         } catch (ConsoleMessageException e) {
-            System.out.println(e.getMessage());
+            ConsoleOutput.printFailure(e.getMessage());
             logger.error(" message: {}, e: {}", e.getMessage(), e);
             return;
         } catch (JSQLParserException | NullPointerException e) {
-            System.out.println("Could not parse SQL statement.");
+            ConsoleOutput.printFailure("Could not parse SQL statement.");
             CRUDParseUtils.invalidSymbol(sql);
             return;
         }
         try {
             String tableName = table.getTableName();
-            descTable = tableCRUDService.desc(tableName);
+            descTable = descTable(tableName);
             if (!checkTableExistence(table.getTableName(), descTable)) {
                 return;
             }
             String keyName = descTable.get(0).get(PrecompiledConstant.KEY_FIELD_NAME);
             if (entry.getFieldNameToValue().containsKey(keyName)) {
-                System.out.println("Please don't set the key field \"" + keyName + "\".");
+                ConsoleOutput.printFailure("Please don't set the key field \"" + keyName + "\".");
                 return;
             }
             table.setKey(keyName);
             handleKey(table, condition);
-            RetCode updateResult = tableCRUDService.update(table.getTableName(), entry, condition);
+            RetCode updateResult =
+                    services.getTableCRUDService().update(table.getTableName(), entry, condition);
             if (updateResult.getCode() >= 0) {
+                ConsoleOutput.result("affectedRows", updateResult.getCode());
                 System.out.println(updateResult.getCode() + " row affected.");
             } else {
                 System.out.println("Result of update " + tableName + " :");
-                ConsoleUtils.printJson(updateResult.toString());
+                ConsoleUtils.printRetCode(updateResult);
             }
 
         } catch (ContractException e) {
@@ -400,28 +589,30 @@ public class PrecompiledImpl implements PrecompiledFace {
         try {
             CRUDParseUtils.parseRemove(sql, table, condition);
         } catch (ConsoleMessageException e) {
-            System.out.println(e.getMessage());
+            ConsoleOutput.printFailure(e.getMessage());
             logger.error(" message: {}, e: {}", e.getMessage(), e);
             return;
         } catch (JSQLParserException | NullPointerException e) {
-            System.out.println("Could not parse SQL statement.");
+            ConsoleOutput.printFailure("Could not parse SQL statement.");
             CRUDParseUtils.invalidSymbol(sql);
             return;
         }
         try {
-            descTable = tableCRUDService.desc(table.getTableName());
+            descTable = descTable(table.getTableName());
             if (!checkTableExistence(table.getTableName(), descTable)) {
                 return;
             }
             table.setKey(descTable.get(0).get(PrecompiledConstant.KEY_FIELD_NAME));
             handleKey(table, condition);
-            RetCode removeResult = tableCRUDService.remove(table.getTableName(), condition);
+            RetCode removeResult =
+                    services.getTableCRUDService().remove(table.getTableName(), condition);
 
             if (removeResult.getCode() >= 0) {
+                ConsoleOutput.result("affectedRows", removeResult.getCode());
                 System.out.println("Remove OK, " + removeResult.getCode() + " row affected.");
             } else {
                 System.out.println("Result of Remove " + table.getTableName() + " :");
-                ConsoleUtils.printJson(removeResult.toString());
+                ConsoleUtils.printRetCode(removeResult);
             }
         } catch (ContractException e) {
             outputErrorMessageForTableCRUD(
@@ -437,7 +628,7 @@ public class PrecompiledImpl implements PrecompiledFace {
     private boolean checkTableExistence(String tableName, List<Map<String, String>> descTable) {
         if (descTable.size() == 0
                 || descTable.get(0).get(PrecompiledConstant.KEY_FIELD_NAME).equals("")) {
-            System.out.println("The table \"" + tableName + "\" doesn't exist!");
+            ConsoleOutput.printFailure("The table \"" + tableName + "\" doesn't exist!");
             return false;
         }
         return true;
@@ -448,51 +639,62 @@ public class PrecompiledImpl implements PrecompiledFace {
         Table table = new Table();
         Condition condition = new Condition();
         List<String> selectColumns = new ArrayList<>();
+        SelectOption selectOption = new SelectOption();
         List<Map<String, String>> descTable = null;
         try {
-            CRUDParseUtils.parseSelect(sql, table, condition, selectColumns);
+            CRUDParseUtils.parseSelect(sql, table, condition, selectColumns, selectOption);
         } catch (ConsoleMessageException e) {
-            System.out.println(e.getMessage());
+            ConsoleOutput.printFailure(e.getMessage());
             logger.error(" message: {}, e: {}", e.getMessage(), e);
             return;
         } catch (JSQLParserException | NullPointerException e) {
-            System.out.println("Could not parse SQL statement.");
+            ConsoleOutput.printFailure("Could not parse SQL statement.");
             CRUDParseUtils.invalidSymbol(sql);
             return;
         }
         try {
-            descTable = tableCRUDService.desc(table.getTableName());
+            descTable = descTable(table.getTableName());
             if (!checkTableExistence(table.getTableName(), descTable)) {
                 return;
             }
             String keyField = descTable.get(0).get(PrecompiledConstant.KEY_FIELD_NAME);
-            table.setKey(keyField);
-            handleKey(table, condition);
-            List<Map<String, String>> result =
-                    tableCRUDService.select(table.getTableName(), condition);
-            int rows = 0;
-            if (result.size() == 0) {
-                System.out.println("Empty set.");
+            if (selectOption.getOrderBy() != null && !selectOption.getOrderBy().equals(keyField)) {
+                ConsoleOutput.printFailure(
+                        "Only ORDER BY the key field '" + keyField + "' is supported.");
                 return;
             }
-            result = filterSystemColumn(result);
             if ("*".equals(selectColumns.get(0))) {
                 selectColumns.clear();
                 selectColumns.add(keyField);
                 String[] valueArr =
                         descTable.get(0).get(PrecompiledConstant.VALUE_FIELD_NAME).split(",");
                 selectColumns.addAll(Arrays.asList(valueArr));
-                result.get(0).put(keyField, table.getKey());
-                result = getSelectedColumn(selectColumns, result);
-                rows = result.size();
+            }
+            table.setKey(keyField);
+            Map<ConditionOperator, String> keyCondition = condition.getConditions().get(keyField);
+            // the rows are printed as maps in the table format, as a table in the others
+            ConsoleOutput.Rows selectedRows =
+                    ConsoleOutput.getFormat() == ConsoleOutput.Format.TABLE
+                            ? null
+                            : ConsoleOutput.rows("rows", selectColumns.toArray(new String[0]));
+            long rows;
+            if (keyCondition != null && keyCondition.containsKey(ConditionOperator.eq)) {
+                rows =
+                        selectByKey(
+                                table,
+                                keyCondition,
+                                condition,
+                                selectColumns,
+                                selectOption,
+                                selectedRows);
             } else {
-                if (selectColumns.contains(keyField)) {
-                    result.get(0).put(keyField, table.getKey());
-                }
-                List<Map<String, String>> selectedResult = getSelectedColumn(selectColumns, result);
-                rows = selectedResult.size();
+                rows = selectPages(table, condition, selectColumns, selectOption, selectedRows);
             }
-            if (rows == 1) {
+            if (selectedRows != null) {
+                selectedRows.end();
+            } else if (rows == 0) {
+                System.out.println("Empty set.");
+            } else if (rows == 1) {
                 System.out.println(rows + " row in set.");
             } else {
                 System.out.println(rows + " rows in set.");
@@ -508,42 +710,144 @@ public class PrecompiledImpl implements PrecompiledFace {
         }
     }
 
-    private List<Map<String, String>> getSelectedColumn(
-            List<String> selectColumns, List<Map<String, String>> result) {
-        List<Map<String, String>> selectedResult = new ArrayList<>(result.size());
-        Map<String, String> selectedRecords;
-        for (Map<String, String> records : result) {
-            selectedRecords = new LinkedHashMap<>();
-            for (String column : selectColumns) {
-                Set<String> recordKeys = records.keySet();
-                for (String recordKey : recordKeys) {
-                    if (recordKey.equals(column)) {
-                        selectedRecords.put(recordKey, records.get(recordKey));
+    private long selectByKey(
+            Table table,
+            Map<ConditionOperator, String> keyCondition,
+            Condition condition,
+            List<String> selectColumns,
+            SelectOption selectOption,
+            ConsoleOutput.Rows selectedRows)
+            throws Exception {
+        String keyValue = keyCondition.get(ConditionOperator.eq);
+        List<Map<String, String>> result =
+                services.getTableCRUDService().select(table.getTableName(), condition);
+        long rows = 0;
+        long skipped = 0;
+        for (Map<String, String> row : result) {
+            if (skipped < selectOption.getOffset()) {
+                skipped++;
+                continue;
+            }
+            if (selectOption.getLimit() != SelectOption.NO_LIMIT
+                    && rows >= selectOption.getLimit()) {
+                break;
+            }
+            row.put(table.getKey(), keyValue);
+            printSelectedRow(selectColumns, row, selectedRows);
+            rows++;
+        }
+        return rows;
+    }
+
+    /**
+     * select the rows page by page in the key order and print them as they arrive, the next page
+     * starts after the last key of the previous one, @return the number of the printed rows
+     */
+    private long selectPages(
+            Table table,
+            Condition condition,
+            List<String> selectColumns,
+            SelectOption selectOption,
+            ConsoleOutput.Rows selectedRows)
+            throws Exception {
+        String keyField = table.getKey();
+        long remaining =
+                selectOption.getLimit() == SelectOption.NO_LIMIT
+                        ? Long.MAX_VALUE
+                        : selectOption.getLimit();
+        int offset = selectOption.getOffset();
+        String lastKey = null;
+        long rows = 0;
+        while (remaining > 0) {
+            Condition pageCondition = new Condition();
+            for (Map.Entry<String, Map<ConditionOperator, String>> field :
+                    condition.getConditions().entrySet()) {
+                for (Map.Entry<ConditionOperator, String> item : field.getValue().entrySet()) {
+                    // the lower bound of the key is replaced by the last key of the previous page
+                    if (lastKey != null
+                            && field.getKey().equals(keyField)
+                            && (item.getKey() == ConditionOperator.gt
+                                    || item.getKey() == ConditionOperator.ge)) {
+                        continue;
                     }
+                    addCondition(pageCondition, field.getKey(), item.getKey(), item.getValue());
                 }
             }
-            selectedResult.add(selectedRecords);
+            if (lastKey != null) {
+                pageCondition.GT(keyField, lastKey);
+            }
+            int pageSize = (int) Math.min(SELECT_PAGE_SIZE, remaining);
+            pageCondition.Limit(offset, pageSize);
+            List<Map<String, String>> page =
+                    services.getTableCRUDService().select(table.getTableName(), pageCondition);
+            for (Map<String, String> row : page) {
+                printSelectedRow(selectColumns, row, selectedRows);
+            }
+            rows += page.size();
+            remaining -= page.size();
+            if (page.size() < pageSize) {
+                break;
+            }
+            String pageLastKey = page.get(page.size() - 1).get(keyField);
+            if (pageLastKey != null) {
+                lastKey = pageLastKey;
+                offset = 0;
+            } else {
+                // the node doesn't return the key, page by offset instead
+                offset += page.size();
+            }
         }
-        selectedResult.stream().forEach(System.out::println);
-        return selectedResult;
+        return rows;
     }
 
-    private List<Map<String, String>> filterSystemColumn(List<Map<String, String>> result) {
+    private void addCondition(
+            Condition condition, String field, ConditionOperator operator, String value) {
+        switch (operator) {
+            case eq:
+                condition.EQ(field, value);
+                break;
+            case ne:
+                condition.NE(field, value);
+                break;
+            case gt:
+                condition.GT(field, value);
+                break;
+            case ge:
+                condition.GE(field, value);
+                break;
+            case lt:
+                condition.LT(field, value);
+                break;
+            case le:
+                condition.LE(field, value);
+                break;
+            default:
+                break;
+        }
+    }
 
-        List<String> filteredColumns = Arrays.asList("_id_", "_hash_", "_status_", "_num_");
-        List<Map<String, String>> filteredResult = new ArrayList<>(result.size());
-        Map<String, String> filteredRecords;
-        for (Map<String, String> records : result) {
-            filteredRecords = new LinkedHashMap<>();
-            Set<String> recordKeys = records.keySet();
-            for (String recordKey : recordKeys) {
-                if (!filteredColumns.contains(recordKey)) {
-                    filteredRecords.put(recordKey, records.get(recordKey));
-                }
+    /**
+     * print the selected columns of the row, the system columns are skipped
+     *
+     * @param selectedRows the rows to add the row to, null to print it as a map
+     */
+    private void printSelectedRow(
+            List<String> selectColumns, Map<String, String> row, ConsoleOutput.Rows selectedRows) {
+        if (selectedRows != null) {
+            String[] values = new String[selectColumns.size()];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = row.get(selectColumns.get(i));
+            }
+            selectedRows.add(values);
+            return;
+        }
+        Map<String, String> selectedRow = new LinkedHashMap<>();
+        for (String column : selectColumns) {
+            if (row.containsKey(column)) {
+                selectedRow.put(column, row.get(column));
             }
-            filteredResult.add(filteredRecords);
         }
-        return filteredResult;
+        System.out.println(selectedRow);
     }
 
     private void handleKey(Table table, Condition condition) throws Exception {
@@ -577,13 +881,14 @@ public class PrecompiledImpl implements PrecompiledFace {
         if (params.length == 1) {
             System.out.println("cd: change dir to /apps");
             pwd = "/apps";
+            ConsoleOutput.result("pwd", pwd);
             return;
         }
         String path = ConsoleUtils.fixedBfsParam(params[1], pwd);
         Tuple2<String, String> parentAndBase = ConsoleUtils.getParentPathAndBaseName(path);
         String parentDir = parentAndBase.getValue1();
         String baseName = parentAndBase.getValue2();
-        List<BfsInfo> listResult = bfsService.list(parentDir);
+        List<BfsInfo> listResult = bfsListingCache.list(parentDir);
         if (!listResult.isEmpty()) {
             boolean findFlag = false;
             for (BfsInfo bfsInfo : listResult) {
@@ -601,20 +906,24 @@ public class PrecompiledImpl implements PrecompiledFace {
             throw new Exception("cd: no such file or directory: " + params[1]);
         }
         pwd = path;
+        ConsoleOutput.result("pwd", pwd);
+        bfsListingCache.prefetch(pwd);
     }
 
     @Override
     public void makeDir(String[] params) throws Exception {
         String[] fixedBfsParams = ConsoleUtils.fixedBfsParams(params, pwd);
         String path = fixedBfsParams[1];
-        RetCode mkdir = bfsService.mkdir(path);
+        RetCode mkdir = services.getBfsService().mkdir(path);
         logger.info("mkdir: make new dir {}", path);
+        bfsListingCache.invalidateParent(path);
         if (mkdir.getCode() == PrecompiledRetCode.CODE_FILE_INVALID_PATH.getCode()) {
             if (!path.startsWith("/apps/") && !path.startsWith("/tables/")) {
-                System.out.println("Only permitted to mkdir in '/apps/' and '/tables/'");
+                ConsoleOutput.printFailure("Only permitted to mkdir in '/apps/' and '/tables/'");
                 return;
             }
         }
+        ConsoleOutput.retCode(mkdir.getCode(), mkdir.getMessage());
         System.out.println(mkdir.getMessage());
     }
 
@@ -623,7 +932,23 @@ public class PrecompiledImpl implements PrecompiledFace {
         String[] fixedBfsParams = ConsoleUtils.fixedBfsParams(params, pwd);
 
         String listPath = fixedBfsParams.length == 1 ? pwd : fixedBfsParams[1];
-        List<BfsInfo> fileInfoList = bfsService.list(listPath);
+        List<BfsInfo> fileInfoList = bfsListingCache.list(listPath);
+        if (ConsoleOutput.getFormat() != ConsoleOutput.Format.TABLE) {
+            ConsoleOutput.Rows rows = ConsoleOutput.rows("entries", "name", "type", "link");
+            for (BfsInfo fileInfo : fileInfoList) {
+                List<String> ext = fileInfo.getExt();
+                rows.add(
+                        fileInfo.getFileName(),
+                        fileInfo.getFileType(),
+                        Common.BFS_TYPE_LNK.equals(fileInfo.getFileType())
+                                        && ext != null
+                                        && !ext.isEmpty()
+                                ? ext.get(0)
+                                : null);
+            }
+            rows.end();
+            return;
+        }
         String baseName = FilenameUtils.getBaseName(listPath);
         int newLineCount = 0;
         for (BfsInfo fileInfo : fileInfoList) {
@@ -659,13 +984,15 @@ public class PrecompiledImpl implements PrecompiledFace {
         try {
             if (params.length > 2) {
                 limit = Integer.parseInt(params[2]);
-                if (limit <= 0 || limit > 5) {
-                    System.out.println("Limit should be in range (0,5]");
+                if (limit <= 0 || limit > MAX_TREE_DEPTH) {
+                    ConsoleOutput.printFailure(
+                            "Limit should be in range (0," + MAX_TREE_DEPTH + "]");
                     return;
                 }
             }
         } catch (NumberFormatException e) {
-            System.out.println("NumberFormatException: Please check the number you input.");
+            ConsoleOutput.printFailure(
+                    "NumberFormatException: Please check the number you input.");
             return;
         }
         System.out.println(absolutePath);
@@ -689,7 +1016,7 @@ public class PrecompiledImpl implements PrecompiledFace {
         List<String> path2Level = ConsoleUtils.path2Level(linkPath);
         if (path2Level.size() != 3 || !path2Level.get(0).equals("apps")) {
             System.out.println("Link must in /apps, and not support multi-level directory.");
-            System.out.println("Example: ln /apps/Name/Version 0x1234567890");
+            ConsoleOutput.printFailure("Example: ln /apps/Name/Version 0x1234567890");
             return;
         }
         String contractName = path2Level.get(1);
@@ -725,8 +1052,7 @@ public class PrecompiledImpl implements PrecompiledFace {
         }
         if (abi.isEmpty()) {
             // abi still empty, get abi on chain
-            Abi remoteAbi = client.getABI(contractAddress);
-            abi = remoteAbi.getABI();
+            abi = RemoteAbiCache.getAbi(client, contractAddress);
             if (abi.isEmpty()) {
                 System.out.println(
                         "Warn: \nPlease make sure the existence of the contract, abi is empty. contractName: "
@@ -736,17 +1062,29 @@ public class PrecompiledImpl implements PrecompiledFace {
             }
         }
 
-        ConsoleUtils.printJson(
-                bfsService.link(contractName, contractVersion, contractAddress, abi).toString());
+        ConsoleUtils.printRetCode(
+                services.getBfsService().link(contractName, contractVersion, contractAddress, abi));
+        bfsListingCache.invalidate("/apps");
+        bfsListingCache.invalidate("/apps/" + contractName);
+        RemoteAbiCache.invalidateLink(client.getGroup(), linkPath);
         System.out.println();
     }
 
     private Tuple2<Integer, Integer> travelBfs(
-            String absolutePath, String prefix, int deep, int limit) throws ContractException {
+            String absolutePath, String prefix, int deep, int limit) throws Exception {
         if (deep >= limit) return new Tuple2<>(0, 0);
         Integer dirCount = 0;
         Integer contractCount = 0;
-        List<BfsInfo> children = bfsService.list(absolutePath);
+        List<BfsInfo> children = bfsListingCache.list(absolutePath);
+        // fetch the sibling directories concurrently, they are printed in order below
+        if (deep + 1 < limit) {
+            for (BfsInfo child : children) {
+                if (child.getFileType().equals(Common.BFS_TYPE_DIR)) {
+                    bfsListingCache.listAsync(
+                            BfsListingCache.childPath(absolutePath, child.getFileName()));
+                }
+            }
+        }
         for (int i = 0; i < children.size(); i++) {
             String thisPrefix = "";
             String nextPrefix = "";
@@ -763,9 +1101,8 @@ public class PrecompiledImpl implements PrecompiledFace {
                     dirCount++;
                     Tuple2<Integer, Integer> childCount =
                             travelBfs(
-                                    absolutePath
-                                            + (absolutePath.equals("/") ? "" : "/")
-                                            + children.get(i).getFileName(),
+                                    BfsListingCache.childPath(
+                                            absolutePath, children.get(i).getFileName()),
                                     nextPrefix,
                                     deep + 1,
                                     limit);
@@ -0,0 +1,115 @@
+package console.precompiled;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.fisco.bcos.sdk.v3.contract.precompiled.crud.TableCRUDService;
+import org.fisco.bcos.sdk.v3.contract.precompiled.crud.common.Entry;
+import org.fisco.bcos.sdk.v3.model.RetCode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Inserts rows into a table with a window of transactions in flight, and reports the progress and
+ * throughput.
+ */
+public class TableBulkLoader {
+    private static final Logger logger = LoggerFactory.getLogger(TableBulkLoader.class);
+
+    private static final long PROGRESS_INTERVAL_MILLIS = 2000;
+    private static final int MAX_REPORTED_ERRORS = 10;
+
+    private final TableCRUDService tableCRUDService;
+    private final String tableName;
+    private final String keyField;
+    private final ExecutorService executor;
+    private final Semaphore window;
+    private final AtomicLong succeeded = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final List<String> errors = Collections.synchronizedList(new ArrayList<>());
+    private final long startTime = System.currentTimeMillis();
+    private long submitted = 0;
+    private long lastProgressTime = startTime;
+
+    public TableBulkLoader(
+            TableCRUDService tableCRUDService, String tableName, String keyField, int windowSize) {
+        this.tableCRUDService = tableCRUDService;
+        this.tableName = tableName;
+        this.keyField = keyField;
+        this.window = new Semaphore(windowSize);
+        this.executor = Executors.newFixedThreadPool(windowSize);
+    }
+
+    /** submit a row, block if the window is full */
+    public void submit(Entry entry) throws InterruptedException {
+        window.acquire();
+        submitted++;
+        executor.execute(
+                () -> {
+                    try {
+                        RetCode retCode = tableCRUDService.insert(tableName, entry);
+                        if (retCode.getCode() >= 0) {
+                            succeeded.incrementAndGet();
+                        } else {
+                            recordError(entry, retCode.getCode() + ", " + retCode.getMessage());
+                        }
+                    } catch (Exception e) {
+                        logger.debug("insert into {} failed, e: ", tableName, e);
+                        recordError(entry, e.getMessage());
+                    } finally {
+                        window.release();
+                    }
+                });
+        long now = System.currentTimeMillis();
+        if (now - lastProgressTime >= PROGRESS_INTERVAL_MILLIS) {
+            lastProgressTime = now;
+            printProgress("submitted " + submitted + " rows");
+        }
+    }
+
+    /** wait for all the submitted rows and print the summary, @return the failed rows count */
+    public long finish() throws InterruptedException {
+        executor.shutdown();
+        try {
+            executor.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+        printProgress("finished");
+        if (!errors.isEmpty()) {
+            System.out.println("Failed rows:");
+            for (String error : errors) {
+                System.out.println("  " + error);
+            }
+            if (failed.get() > errors.size()) {
+                System.out.println("  ... " + (failed.get() - errors.size()) + " more");
+            }
+        }
+        return failed.get();
+    }
+
+    private void recordError(Entry entry, String message) {
+        failed.incrementAndGet();
+        if (errors.size() < MAX_REPORTED_ERRORS) {
+            errors.add(
+                    keyField
+                            + "="
+                            + entry.getFieldNameToValue().get(keyField)
+                            + ", error: "
+                            + message);
+        }
+    }
+
+    private void printProgress(String stage) {
+        long costTime = Math.max(System.currentTimeMillis() - startTime, 1);
+        long done = succeeded.get() + failed.get();
+        System.out.printf(
+                "%s, inserted: %d, failed: %d, time cost: %.1f s, throughput: %.1f rows/s%n",
+                stage, succeeded.get(), failed.get(), costTime / 1000.0, done * 1000.0 / costTime);
+    }
+}
@@ -2,6 +2,7 @@ package console.precompiled.model;
 
 import console.exception.ConsoleMessageException;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -19,6 +20,7 @@ import net.sf.jsqlparser.expression.operators.relational.InExpression;
 import net.sf.jsqlparser.expression.operators.relational.IsNullExpression;
 import net.sf.jsqlparser.expression.operators.relational.ItemsList;
 import net.sf.jsqlparser.expression.operators.relational.LikeExpression;
+import net.sf.jsqlparser.expression.operators.relational.MultiExpressionList;
 import net.sf.jsqlparser.parser.CCJSqlParserUtil;
 import net.sf.jsqlparser.schema.Column;
 import net.sf.jsqlparser.statement.Statement;
@@ -27,6 +29,8 @@ import net.sf.jsqlparser.statement.create.table.CreateTable;
 import net.sf.jsqlparser.statement.create.table.Index;
 import net.sf.jsqlparser.statement.delete.Delete;
 import net.sf.jsqlparser.statement.insert.Insert;
+import net.sf.jsqlparser.statement.select.Limit;
+import net.sf.jsqlparser.statement.select.OrderByElement;
 import net.sf.jsqlparser.statement.select.PlainSelect;
 import net.sf.jsqlparser.statement.select.Select;
 import net.sf.jsqlparser.statement.select.SelectExpressionItem;
@@ -137,11 +141,6 @@ public class CRUDParseUtils {
             throws JSQLParserException, ConsoleMessageException {
         Statement statement = CCJSqlParserUtil.parse(sql);
         Insert insert = (Insert) statement;
-        String valueFieldString = tableDesc.get(PrecompiledConstant.VALUE_FIELD_NAME);
-        String[] valueFields = valueFieldString.split(",");
-        String expectedValueField =
-                tableDesc.get(PrecompiledConstant.KEY_FIELD_NAME) + ", " + valueFieldString;
-        int expectedValueNum = valueFields.length + 1;
 
         if (insert.getSelect() != null) {
             throw new ConsoleMessageException("The insert select clause is not supported.");
@@ -155,7 +154,49 @@ public class CRUDParseUtils {
         ItemsList itemsList = insert.getItemsList();
 
         ExpressionList expressionList = (ExpressionList) itemsList;
-        List<Expression> expressions = expressionList.getExpressions();
+        return parseInsertRow(columns, expressionList.getExpressions(), entry, tableDesc);
+    }
+
+    /** parse the insert sql with one or more rows in the values clause */
+    public static List<Entry> parseInsertRows(
+            String sql, Table table, Map<String, String> tableDesc)
+            throws JSQLParserException, ConsoleMessageException {
+        Statement statement = CCJSqlParserUtil.parse(sql);
+        Insert insert = (Insert) statement;
+
+        if (insert.getSelect() != null) {
+            throw new ConsoleMessageException("The insert select clause is not supported.");
+        }
+        table.setTableName(insert.getTable().getName());
+
+        List<Column> columns = insert.getColumns();
+        ItemsList itemsList = insert.getItemsList();
+        List<ExpressionList> rows = new ArrayList<>();
+        if (itemsList instanceof MultiExpressionList) {
+            rows.addAll(((MultiExpressionList) itemsList).getExprList());
+        } else {
+            rows.add((ExpressionList) itemsList);
+        }
+        List<Entry> entries = new ArrayList<>(rows.size());
+        for (ExpressionList row : rows) {
+            Entry entry = new Entry();
+            parseInsertRow(columns, row.getExpressions(), entry, tableDesc);
+            entries.add(entry);
+        }
+        return entries;
+    }
+
+    private static boolean parseInsertRow(
+            List<Column> columns,
+            List<Expression> expressions,
+            Entry entry,
+            Map<String, String> tableDesc)
+            throws ConsoleMessageException {
+        String valueFieldString = tableDesc.get(PrecompiledConstant.VALUE_FIELD_NAME);
+        String[] valueFields = valueFieldString.split(",");
+        String expectedValueField =
+                tableDesc.get(PrecompiledConstant.KEY_FIELD_NAME) + ", " + valueFieldString;
+        int expectedValueNum = valueFields.length + 1;
 
         String[] itemArr = new String[expressions.size()];
         for (int i = 0; i < expressions.size(); i++) {
@@ -210,7 +251,11 @@ public class CRUDParseUtils {
     }
 
     public static void parseSelect(
-            String sql, Table table, Condition condition, List<String> selectColumns)
+            String sql,
+            Table table,
+            Condition condition,
+            List<String> selectColumns,
+            SelectOption selectOption)
             throws JSQLParserException, ConsoleMessageException {
         Statement statement;
         statement = CCJSqlParserUtil.parse(sql);
@@ -226,8 +271,27 @@ public class CRUDParseUtils {
 
         // parse where clause
         PlainSelect selectBody = (PlainSelect) selectStatement.getSelectBody();
-        if (selectBody.getOrderByElements() != null) {
-            throw new ConsoleMessageException("The order clause is not supported.");
+        // the rows are paged in the key order, so only ORDER BY the key ASC is supported
+        List<OrderByElement> orderByElements = selectBody.getOrderByElements();
+        if (orderByElements != null) {
+            if (orderByElements.size() != 1 || !orderByElements.get(0).isAsc()) {
+                throw new ConsoleMessageException(
+                        "Only ORDER BY the key field in ascending order is supported.");
+            }
+            selectOption.setOrderBy(trimQuotes(orderByElements.get(0).getExpression().toString()));
+        }
+        Limit limit = selectBody.getLimit();
+        if (limit != null) {
+            if (limit.getRowCount() != null) {
+                selectOption.setLimit(parseSelectNumber("LIMIT", limit.getRowCount()));
+            }
+            if (limit.getOffset() != null) {
+                selectOption.setOffset(parseSelectNumber("OFFSET", limit.getOffset()));
+            }
+        }
+        if (selectBody.getOffset() != null) {
+            selectOption.setOffset(
+                    parseSelectNumber("OFFSET", selectBody.getOffset().getOffset()));
         }
         if (selectBody.getGroupBy() != null) {
             throw new ConsoleMessageException("The group clause is not supported.");
@@ -263,6 +327,20 @@ public class CRUDParseUtils {
         }
     }
 
+    private static int parseSelectNumber(String clause, Object value)
+            throws ConsoleMessageException {
+        try {
+            int number = Integer.parseInt(String.valueOf(value).trim());
+            if (number >= 0) {
+                return number;
+            }
+        } catch (NumberFormatException e) {
+            logger.debug("invalid {} value: {}", clause, value);
+        }
+        throw new ConsoleMessageException(
+                "The " + clause + " value must be a non-negative integer, current is " + value);
+    }
+
     private static void checkExpression(Expression expression) throws ConsoleMessageException {
         if (expression instanceof OrExpression) {
             throw new ConsoleMessageException("The OrExpression is not supported.");
@@ -292,14 +370,10 @@ public class CRUDParseUtils {
         }
         checkExpression(expr);
         Map<String, Map<ConditionOperator, String>> conditions = condition.getConditions();
-        Set<String> keys = conditions.keySet();
-        for (String key : keys) {
-            Map<ConditionOperator, String> value = conditions.get(key);
-            ConditionOperator operation = value.keySet().iterator().next();
-            String itemValue = value.values().iterator().next();
-            String newValue = trimQuotes(itemValue);
-            value.put(operation, newValue);
-            conditions.put(key, value);
+        for (Map<ConditionOperator, String> value : conditions.values()) {
+            for (Map.Entry<ConditionOperator, String> item : value.entrySet()) {
+                item.setValue(trimQuotes(item.getValue()));
+            }
         }
         condition.setConditions(conditions);
         return condition;
@@ -321,6 +395,35 @@ public class CRUDParseUtils {
         return string;
     }
 
+    /** split a csv line, fields can be quoted by '"' and '""' is an escaped quote */
+    public static List<String> parseCsvLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString().trim());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString().trim());
+        return fields;
+    }
+
     public static void parseUpdate(String sql, Table table, Entry entry, Condition condition)
             throws JSQLParserException, ConsoleMessageException {
         Statement statement = CCJSqlParserUtil.parse(sql);
@@ -371,7 +474,8 @@ public class CRUDParseUtils {
 
     private static Condition getWhereClause(Expression expr, Condition condition)
             throws ConsoleMessageException {
-        Set<String> keySet = new HashSet<>();
+        // a field can have one lower bound and one upper bound, e.g. k > 'a' and k <= 'z'
+        Map<String, Set<String>> fieldBounds = new HashMap<>();
         Set<String> conflictKeys = new HashSet<>();
         Set<String> unsupportedConditions = new HashSet<>();
         expr.accept(
@@ -380,11 +484,20 @@ public class CRUDParseUtils {
                     protected void visitBinaryExpression(BinaryExpression expr) {
                         if (expr instanceof ComparisonOperator) {
                             String key = trimQuotes(expr.getLeftExpression().toString());
-                            if (keySet.contains(key)) {
+                            String operation = expr.getStringExpression();
+                            String bound =
+                                    operation.startsWith(">")
+                                            ? ">"
+                                            : (operation.startsWith("<") ? "<" : "=");
+                            Set<String> bounds =
+                                    fieldBounds.computeIfAbsent(key, field -> new HashSet<>());
+                            if (!bounds.isEmpty()
+                                    && ("=".equals(bound)
+                                            || bounds.contains(bound)
+                                            || bounds.contains("="))) {
                                 conflictKeys.add(key);
                             }
-                            keySet.add(key);
-                            String operation = expr.getStringExpression();
+                            bounds.add(bound);
                             String value = trimQuotes(expr.getRightExpression().toString());
                             switch (operation) {
                                 case "=":
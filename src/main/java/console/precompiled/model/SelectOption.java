@@ -0,0 +1,35 @@
+package console.precompiled.model;
+
+/** The LIMIT, OFFSET and ORDER BY clauses of a select statement. */
+public class SelectOption {
+
+    public static final int NO_LIMIT = -1;
+
+    private int limit = NO_LIMIT;
+    private int offset = 0;
+    private String orderBy;
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public void setLimit(int limit) {
+        this.limit = limit;
+    }
+
+    public int getOffset() {
+        return offset;
+    }
+
+    public void setOffset(int offset) {
+        this.offset = offset;
+    }
+
+    public String getOrderBy() {
+        return orderBy;
+    }
+
+    public void setOrderBy(String orderBy) {
+        this.orderBy = orderBy;
+    }
+}
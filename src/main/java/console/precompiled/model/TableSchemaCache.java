@@ -0,0 +1,100 @@
+package console.precompiled.model;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.fisco.bcos.sdk.v3.model.PrecompiledConstant;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Per group cache of the table schemas returned by desc, the CRUD commands look the schema up here
+ * instead of querying the chain before every statement. The schemas of the table CRUD service and
+ * the kv table service have different shapes, so they are cached under different keys.
+ */
+public class TableSchemaCache {
+    private static final Logger logger = LoggerFactory.getLogger(TableSchemaCache.class);
+
+    public static final long DEFAULT_TTL_MILLIS = 60 * 1000L;
+    // the key prefix of the schemas loaded from the kv table service
+    private static final String KV_TABLE_PREFIX = "kv:";
+
+    private static final Map<String, Map<String, CachedSchema>> groupSchemas =
+            new ConcurrentHashMap<>();
+    private static volatile long ttlMillis = DEFAULT_TTL_MILLIS;
+
+    private TableSchemaCache() {}
+
+    public interface SchemaLoader {
+        List<Map<String, String>> load(String tableName) throws Exception;
+    }
+
+    /**
+     * get the schema of the table, load it by the loader if it is not cached or expired; the
+     * schema of a table that doesn't exist is never cached
+     */
+    public static List<Map<String, String>> get(
+            String group, String tableName, SchemaLoader loader) throws Exception {
+        return get(group, tableName, tableName, loader);
+    }
+
+    /** get the schema of the table loaded from the kv table service, like {@link #get} */
+    public static List<Map<String, String>> getKv(
+            String group, String tableName, SchemaLoader loader) throws Exception {
+        return get(group, KV_TABLE_PREFIX + tableName, tableName, loader);
+    }
+
+    private static List<Map<String, String>> get(
+            String group, String cacheKey, String tableName, SchemaLoader loader)
+            throws Exception {
+        Map<String, CachedSchema> schemas =
+                groupSchemas.computeIfAbsent(group, key -> new ConcurrentHashMap<>());
+        CachedSchema cached = schemas.get(cacheKey);
+        long now = System.currentTimeMillis();
+        if (cached != null && now - cached.loadTime < ttlMillis) {
+            return cached.schema;
+        }
+        List<Map<String, String>> schema = loader.load(tableName);
+        if (schema != null
+                && !schema.isEmpty()
+                && !"".equals(schema.get(0).get(PrecompiledConstant.KEY_FIELD_NAME))) {
+            schema = Collections.unmodifiableList(schema);
+            schemas.put(cacheKey, new CachedSchema(schema, now));
+            logger.debug("cache table schema, group: {}, table: {}", group, cacheKey);
+        } else {
+            schemas.remove(cacheKey);
+        }
+        return schema;
+    }
+
+    public static void invalidate(String group, String tableName) {
+        Map<String, CachedSchema> schemas = groupSchemas.get(group);
+        if (schemas != null && tableName != null) {
+            schemas.remove(tableName);
+            schemas.remove(KV_TABLE_PREFIX + tableName);
+        }
+    }
+
+    public static void invalidateGroup(String group) {
+        groupSchemas.remove(group);
+    }
+
+    public static long getTtlMillis() {
+        return ttlMillis;
+    }
+
+    public static void setTtlMillis(long ttlMillis) {
+        TableSchemaCache.ttlMillis = ttlMillis;
+    }
+
+    private static class CachedSchema {
+        private final List<Map<String, String>> schema;
+        private final long loadTime;
+
+        private CachedSchema(List<Map<String, String>> schema, long loadTime) {
+            this.schema = schema;
+            this.loadTime = loadTime;
+        }
+    }
+}
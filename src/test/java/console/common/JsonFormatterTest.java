@@ -0,0 +1,128 @@
+package console.common;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import org.junit.Test;
+
+public class JsonFormatterTest {
+
+    @Test
+    public void escapedLineBreak() {
+        String json = "{\"a\":\"line1\\nline2\",\"b\":1}";
+        assertEquals(legacyFormatJson(json), ConsoleUtils.formatJson(json));
+        assertEquals("{\n    \"a\":\"line1line2\",\n    \"b\":1\n}", ConsoleUtils.formatJson(json));
+    }
+
+    @Test
+    public void blankAfterComma() {
+        String json = "{\"a\": 1, \"b\": \"x, y\"}";
+        assertEquals(legacyFormatJson(json), ConsoleUtils.formatJson(json));
+        assertEquals("{\n    \"a\": 1,\n    \"b\": \"x,y\"\n}", ConsoleUtils.formatJson(json));
+    }
+
+    @Test
+    public void nestedArray() {
+        String json = "{\"a\": [1, 2, {\"c\": [3, 4]}], \"d\": []}";
+        assertEquals(legacyFormatJson(json), ConsoleUtils.formatJson(json));
+    }
+
+    @Test
+    public void escapedQuotes() {
+        String json = "{\"msg\":\"say \\\"hi, there\\\" {ok}\",\"path\":\"a\\\\b\"}";
+        assertEquals(legacyFormatJson(json), ConsoleUtils.formatJson(json));
+        assertEquals(
+                "{\n    \"msg\":\"say \\\"hi,there\\\" {ok}\",\n    \"path\":\"a\\\\b\"\n}",
+                ConsoleUtils.formatJson(json));
+    }
+
+    @Test
+    public void modelToString() {
+        String json = "Block{number=1, hash='0xab', list=[1, 2]}";
+        assertEquals(legacyFormatJson(json), ConsoleUtils.formatJson(json));
+    }
+
+    @Test
+    public void compact() throws IOException {
+        assertEquals(
+                "{\"a\":1,\"b\":[1,2,{\"c\":[3]}],\"d\":\"x, y\"}",
+                compact("{\"a\": 1, \"b\": [1, 2, {\"c\": [3]}],\n \"d\": \"x, y\"}"));
+        assertEquals(
+                "{\"msg\":\"say \\\"hi, there\\\" {ok}\"}",
+                compact("{\"msg\": \"say \\\"hi, there\\\" {ok}\"}"));
+        assertEquals("{\"a\":\"line1line2\"}", compact("{\"a\": \"line1\\nline2\"}"));
+    }
+
+    private static String compact(String json) throws IOException {
+        StringWriter out = new StringWriter();
+        JsonFormatter.write(json, out, true);
+        return out.toString();
+    }
+
+    /** the formatJson of ConsoleUtils before JsonFormatter, the pretty output must not change */
+    private static String legacyFormatJson(String jsonStr) {
+        if (null == jsonStr || "".equals(jsonStr)) return "";
+        jsonStr = jsonStr.replace("\\n", "");
+        StringBuilder sb = new StringBuilder();
+        char last = '\0';
+        char current = '\0';
+        int indent = 0;
+        boolean isInQuotationMarks = false;
+        for (int i = 0; i < jsonStr.length(); i++) {
+            last = current;
+            current = jsonStr.charAt(i);
+            switch (current) {
+                case '"':
+                    if (last != '\\') {
+                        isInQuotationMarks = !isInQuotationMarks;
+                    }
+                    sb.append(current);
+                    break;
+                case '{':
+                case '[':
+                    sb.append(current);
+                    if (!isInQuotationMarks) {
+                        sb.append('\n');
+                        indent++;
+                        addIndentBlank(sb, indent);
+                    }
+                    break;
+                case '}':
+                case ']':
+                    if (!isInQuotationMarks) {
+                        sb.append('\n');
+                        indent--;
+                        addIndentBlank(sb, indent);
+                    }
+                    sb.append(current);
+                    break;
+                case ',':
+                    sb.append(current);
+                    if (last != '\\' && !isInQuotationMarks) {
+                        sb.append('\n');
+                        addIndentBlank(sb, indent);
+                    }
+                    break;
+                case ' ':
+                    if (',' != jsonStr.charAt(i - 1)) {
+                        sb.append(current);
+                    }
+                    break;
+                case '\\':
+                    sb.append("\\");
+                    break;
+                default:
+                    if (!(current == " ".charAt(0))) sb.append(current);
+            }
+        }
+
+        return sb.toString();
+    }
+
+    private static void addIndentBlank(StringBuilder sb, int indent) {
+        for (int i = 0; i < indent; i++) {
+            sb.append("    ");
+        }
+    }
+}